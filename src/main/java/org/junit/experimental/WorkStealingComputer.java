@@ -0,0 +1,109 @@
+package org.junit.experimental;
+
+import org.junit.internal.runners.SharedWorkerPool;
+import org.junit.runner.Computer;
+import org.junit.runner.Runner;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerBuilder;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * A {@link Computer} that runs classes and/or methods in parallel on a single,
+ * bounded pool of worker threads.
+ *
+ * <p>Unlike {@link ParallelComputer}, which creates a new unbounded thread pool
+ * for every {@link ParentRunner}, all runners of a run share one pool, so the
+ * number of threads never exceeds the configured parallelism no matter how
+ * many classes the suite contains. Waiting for the children of a runner is
+ * done by running the children that have not yet been started on the waiting
+ * thread, so nested suites do not deadlock even when the pool is exhausted.
+ *
+ * @since 4.13.3
+ */
+public class WorkStealingComputer extends Computer {
+    private final boolean classes;
+
+    private final boolean methods;
+
+    private final SharedWorkerPool pool;
+
+    private final boolean parallelConstruction;
+
+    /**
+     * Creates a computer that uses the process-wide pool, whose parallelism is
+     * the number of available processors.
+     */
+    public WorkStealingComputer(boolean classes, boolean methods) {
+        this(classes, methods, SharedWorkerPool.getDefault());
+    }
+
+    /**
+     * Creates a computer that uses its own pool of at most {@code parallelism}
+     * worker threads.
+     *
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     */
+    public WorkStealingComputer(boolean classes, boolean methods, int parallelism) {
+        this(classes, methods, new SharedWorkerPool(parallelism));
+    }
+
+    private WorkStealingComputer(boolean classes, boolean methods, SharedWorkerPool pool) {
+        this(classes, methods, pool, false);
+    }
+
+    private WorkStealingComputer(boolean classes, boolean methods, SharedWorkerPool pool,
+            boolean parallelConstruction) {
+        this.classes = classes;
+        this.methods = methods;
+        this.pool = pool;
+        this.parallelConstruction = parallelConstruction;
+    }
+
+    public static Computer classes() {
+        return new WorkStealingComputer(true, false);
+    }
+
+    public static Computer methods() {
+        return new WorkStealingComputer(false, true);
+    }
+
+    /**
+     * Returns a computer that runs classes and methods like this one, but also
+     * constructs the runners of the classes concurrently on its pool. Use it
+     * for runs with many classes, whose start is dominated by scanning and
+     * validating the classes. {@code new WorkStealingComputer(false, false)
+     * .withParallelConstruction()} runs the tests one after the other.
+     *
+     * @since 4.13.3
+     */
+    public WorkStealingComputer withParallelConstruction() {
+        return new WorkStealingComputer(classes, methods, pool, true);
+    }
+
+    @Override
+    protected RunnerScheduler getConstructionScheduler() {
+        return parallelConstruction ? pool.newScheduler() : null;
+    }
+
+    private Runner parallelize(Runner runner) {
+        if (runner instanceof ParentRunner) {
+            ((ParentRunner<?>) runner).setScheduler(pool.newScheduler());
+        }
+        return runner;
+    }
+
+    @Override
+    public Runner getSuite(RunnerBuilder builder, Class<?>[] classes)
+            throws InitializationError {
+        Runner suite = super.getSuite(builder, classes);
+        return this.classes ? parallelize(suite) : suite;
+    }
+
+    @Override
+    protected Runner getRunner(RunnerBuilder builder, Class<?> testClass)
+            throws Throwable {
+        Runner runner = super.getRunner(builder, testClass);
+        return methods ? parallelize(runner) : runner;
+    }
+}
@@ -2,10 +2,15 @@ package org.junit.experimental.categories;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.junit.runner.Description;
@@ -113,11 +118,34 @@ public class Categories extends Suite {
     }
 
     public static class CategoryFilter extends Filter {
+        private static final BitSet NO_CATEGORIES = new BitSet();
+
         private final Set<Class<?>> included;
         private final Set<Class<?>> excluded;
         private final boolean includedAny;
         private final boolean excludedAny;
 
+        // The included and excluded categories, numbered in this order. The
+        // categories of a test are represented by the bits of the included
+        // and excluded categories they are assignable to.
+        private final List<Class<?>> parentCategories;
+        private final BitSet includedBits;
+        private final BitSet excludedBits;
+
+        // Guarded by this: the bits of the categories of each @Category
+        // annotation that has been seen, or null if it has no categories.
+        // The annotations of a method or class are the same instances for
+        // all its descriptions.
+        private final Map<Category, BitSet> annotationBits = new IdentityHashMap<Category, BitSet>();
+
+        // Guarded by this: the bits of the categories of each test class, or
+        // NO_CATEGORIES
+        private final Map<Class<?>, BitSet> classBits = new HashMap<Class<?>, BitSet>();
+
+        // Guarded by this: whether a description or any of its descendants
+        // should run
+        private final Map<Description, Boolean> verdicts = new IdentityHashMap<Description, Boolean>();
+
         public static CategoryFilter include(boolean matchAny, Class<?>... categories) {
             return new CategoryFilter(matchAny, categories, true, null);
         }
@@ -153,6 +181,9 @@ public class Categories extends Suite {
             excludedAny = true;
             included = nullableClassToSet(includedCategory);
             excluded = nullableClassToSet(excludedCategory);
+            parentCategories = parentCategories(included, excluded);
+            includedBits = range(0, included.size());
+            excludedBits = range(included.size(), parentCategories.size());
         }
 
         protected CategoryFilter(boolean matchAnyIncludes, Set<Class<?>> includes,
@@ -161,6 +192,9 @@ public class Categories extends Suite {
             excludedAny = matchAnyExcludes;
             included = copyAndRefine(includes);
             excluded = copyAndRefine(excludes);
+            parentCategories = parentCategories(included, excluded);
+            includedBits = range(0, included.size());
+            excludedBits = range(included.size(), parentCategories.size());
         }
 
         private CategoryFilter(boolean matchAnyIncludes, Class<?>[] inclusions,
@@ -169,6 +203,21 @@ public class Categories extends Suite {
             excludedAny = matchAnyExcludes;
             included = createSet(inclusions);
             excluded = createSet(exclusions);
+            parentCategories = parentCategories(included, excluded);
+            includedBits = range(0, included.size());
+            excludedBits = range(included.size(), parentCategories.size());
+        }
+
+        private static List<Class<?>> parentCategories(Set<Class<?>> included, Set<Class<?>> excluded) {
+            List<Class<?>> categories = new ArrayList<Class<?>>(included);
+            categories.addAll(excluded);
+            return categories;
+        }
+
+        private static BitSet range(int from, int to) {
+            BitSet bits = new BitSet();
+            bits.set(from, to);
+            return bits;
         }
 
         /**
@@ -201,98 +250,129 @@ public class Categories extends Suite {
             return description.toString();
         }
 
+        /**
+         * Returns whether {@code description} or any of its descendants
+         * should run. The verdict of each suite is computed once and
+         * remembered, so filtering the runners of a suite level by level does
+         * not walk the same subtree again.
+         */
         @Override
-        public boolean shouldRun(Description description) {
-            if (hasCorrectCategoryAnnotation(description)) {
-                return true;
+        public synchronized boolean shouldRun(Description description) {
+            if (description.isTest()) {
+                return hasCorrectCategoryAnnotation(description);
             }
+            Boolean verdict = verdicts.get(description);
+            if (verdict == null) {
+                verdict = hasCorrectCategoryAnnotation(description)
+                        || anyChildShouldRun(description);
+                verdicts.put(description, verdict);
+            }
+            return verdict;
+        }
 
+        private boolean anyChildShouldRun(Description description) {
             for (Description each : description.getChildren()) {
                 if (shouldRun(each)) {
                     return true;
                 }
             }
-
             return false;
         }
 
         private boolean hasCorrectCategoryAnnotation(Description description) {
-            final Set<Class<?>> childCategories= categories(description);
+            final BitSet childCategories= categories(description);
 
             // If a child has no categories, immediately return.
-            if (childCategories.isEmpty()) {
-                return included.isEmpty();
+            if (childCategories == null) {
+                return includedBits.isEmpty();
             }
 
-            if (!excluded.isEmpty()) {
+            if (!excludedBits.isEmpty()) {
                 if (excludedAny) {
-                    if (matchesAnyParentCategories(childCategories, excluded)) {
+                    if (childCategories.intersects(excludedBits)) {
                         return false;
                     }
                 } else {
-                    if (matchesAllParentCategories(childCategories, excluded)) {
+                    if (containsAll(childCategories, excludedBits)) {
                         return false;
                     }
                 }
             }
 
-            if (included.isEmpty()) {
+            if (includedBits.isEmpty()) {
                 // Couldn't be excluded, and with no suite's included categories treated as should run.
                 return true;
             } else {
                 if (includedAny) {
-                    return matchesAnyParentCategories(childCategories, included);
+                    return childCategories.intersects(includedBits);
                 } else {
-                    return matchesAllParentCategories(childCategories, included);
+                    return containsAll(childCategories, includedBits);
                 }
             }
         }
 
-        /**
-         * @return <tt>true</tt> if at least one (any) parent category match a child, otherwise <tt>false</tt>.
-         * If empty <tt>parentCategories</tt>, returns <tt>false</tt>.
-         */
-        private boolean matchesAnyParentCategories(Set<Class<?>> childCategories, Set<Class<?>> parentCategories) {
-            for (Class<?> parentCategory : parentCategories) {
-                if (hasAssignableTo(childCategories, parentCategory)) {
-                    return true;
-                }
-            }
-            return false;
+        private static boolean containsAll(BitSet bits, BitSet subset) {
+            BitSet missing = (BitSet) subset.clone();
+            missing.andNot(bits);
+            return missing.isEmpty();
         }
 
         /**
-         * @return <tt>false</tt> if at least one parent category does not match children, otherwise <tt>true</tt>.
-         * If empty <tt>parentCategories</tt>, returns <tt>true</tt>.
+         * @return the bits of the included and excluded categories that the
+         * categories of {@code description} and of its test class are
+         * assignable to, or <tt>null</tt> if neither has categories
          */
-        private boolean matchesAllParentCategories(Set<Class<?>> childCategories, Set<Class<?>> parentCategories) {
-            for (Class<?> parentCategory : parentCategories) {
-                if (!hasAssignableTo(childCategories, parentCategory)) {
-                    return false;
-                }
+        private BitSet categories(Description description) {
+            Category annotation = description.getAnnotation(Category.class);
+            BitSet directBits = annotation == null ? null : annotationBits(annotation);
+            Class<?> testClass = description.getTestClass();
+            BitSet parentBits = testClass == null ? null : classBits(testClass);
+            if (directBits == null || parentBits == null) {
+                return directBits == null ? parentBits : directBits;
             }
-            return true;
+            BitSet bits = (BitSet) directBits.clone();
+            bits.or(parentBits);
+            return bits;
         }
 
-        private static Set<Class<?>> categories(Description description) {
-            Set<Class<?>> categories= new HashSet<Class<?>>();
-            Collections.addAll(categories, directCategories(description));
-            Collections.addAll(categories, directCategories(parentDescription(description)));
-            return categories;
+        private BitSet classBits(Class<?> testClass) {
+            BitSet bits = classBits.get(testClass);
+            if (bits == null) {
+                Category annotation = testClass.getAnnotation(Category.class);
+                bits = annotation == null ? null : annotationBits(annotation);
+                classBits.put(testClass, bits == null ? NO_CATEGORIES : bits);
+            }
+            return bits == NO_CATEGORIES ? null : bits;
         }
 
-        private static Description parentDescription(Description description) {
-            Class<?> testClass= description.getTestClass();
-            return testClass == null ? null : Description.createSuiteDescription(testClass);
+        /**
+         * @return the bits of the categories of {@code annotation}, or
+         * <tt>null</tt> if it has no categories
+         */
+        private BitSet annotationBits(Category annotation) {
+            if (annotationBits.containsKey(annotation)) {
+                return annotationBits.get(annotation);
+            }
+            Class<?>[] categories = annotation.value();
+            BitSet bits = null;
+            if (categories.length > 0) {
+                bits = new BitSet();
+                for (Class<?> each : categories) {
+                    bits.or(categoryBits(each));
+                }
+            }
+            annotationBits.put(annotation, bits);
+            return bits;
         }
 
-        private static Class<?>[] directCategories(Description description) {
-            if (description == null) {
-                return new Class<?>[0];
+        private BitSet categoryBits(Class<?> category) {
+            BitSet bits = new BitSet();
+            for (int i = 0; i < parentCategories.size(); i++) {
+                if (parentCategories.get(i).isAssignableFrom(category)) {
+                    bits.set(i);
+                }
             }
-
-            Category annotation= description.getAnnotation(Category.class);
-            return annotation == null ? new Class<?>[0] : annotation.value();
+            return bits;
         }
 
         private static Set<Class<?>> copyAndRefine(Set<Class<?>> classes) {
@@ -339,15 +419,6 @@ public class Categories extends Suite {
         return annotation == null || annotation.matchAny();
     }
 
-    private static boolean hasAssignableTo(Set<Class<?>> assigns, Class<?> to) {
-        for (final Class<?> from : assigns) {
-            if (to.isAssignableFrom(from)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private static Set<Class<?>> createSet(Class<?>[] classes) {
         // Not throwing a NPE if t is null is a bad idea, but it's the behavior from JUnit 4.12
         // for include(boolean, Class<?>...) and exclude(boolean, Class<?>...)
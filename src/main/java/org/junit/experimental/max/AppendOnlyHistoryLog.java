@@ -0,0 +1,547 @@
+package org.junit.experimental.max;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.CRC32;
+
+/**
+ * A {@link HistoryStore} that appends the records of a test run to a binary
+ * log file while the tests run.
+ *
+ * <p>Every record carries a checksum, so a record that was torn because the
+ * JVM died while writing it is skipped when the log is read, and reading
+ * resynchronizes on the next intact record. Records are buffered and written
+ * in batches at least once a second, so a killed run loses at most the last
+ * batch rather than the whole history.
+ *
+ * <p>All access to the log is guarded by a lock on a separate lock file next
+ * to it (shared for reading, exclusive for writing), so several JVMs, e.g.
+ * forked test processes, can use the same log. The log itself is not locked,
+ * because it is replaced when it is compacted: once it has grown well beyond
+ * the size of its live records, the latest records of each test, the live
+ * records are written to a new file that replaces the log. Where a file
+ * cannot be renamed onto an existing one, e.g. on Windows, the log is deleted
+ * first; if the JVM dies in between, the new file is read instead and the
+ * next process that writes to the log completes the compaction.
+ *
+ * <p>Files written by earlier versions of {@link MaxHistory}, which contain a
+ * serialized {@code MaxHistory}, are recognized by
+ * {@link #containsSerializedHistory()} and can be converted with
+ * {@link #importHistory(Map, Map)}.
+ */
+final class AppendOnlyHistoryLog implements HistoryStore {
+    private static final byte[] MAGIC = {'J', 'U', 'n', 'i', 't', 'M', 'a', 'x'};
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_LENGTH = MAGIC.length + 4;
+
+    private static final short SERIALIZATION_MAGIC = (short) 0xACED;
+
+    private static final byte SYNC = (byte) 0xA5;
+
+    private static final byte DURATION = 1;
+
+    private static final byte FAILURE = 2;
+
+    /*
+     * A record consists of the sync byte, the type, the value, the length of
+     * the key, the key in UTF-8 and a CRC-32 of everything but the sync byte.
+     */
+    private static final int RECORD_OVERHEAD = 1 + 1 + 8 + 4 + 4;
+
+    private static final int MAX_KEY_LENGTH = 1 << 20;
+
+    // Enough executions of a test to rebuild its statistics
+    private static final int RECORDS_PER_TEST = 64;
+
+    private static final int FLUSH_RECORDS = 64;
+
+    private static final long FLUSH_INTERVAL_NANOS = 1000L * 1000L * 1000L;
+
+    static final long DEFAULT_MIN_COMPACTION_LENGTH = 64 * 1024;
+
+    /*
+     * File locks are held on behalf of the whole JVM, so the threads of one
+     * JVM additionally synchronize on a monitor per file.
+     */
+    private static final ConcurrentMap<String, Object> MONITORS =
+            new ConcurrentHashMap<String, Object>();
+
+    private final File file;
+
+    private final File compactionFile;
+
+    private final File lockFile;
+
+    private final Object monitor;
+
+    private final long minCompactionLength;
+
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+
+    private int pendingRecords;
+
+    private long lastWrite = System.nanoTime();
+
+    private long liveLength = -1;
+
+    AppendOnlyHistoryLog(File file) {
+        this(file, DEFAULT_MIN_COMPACTION_LENGTH);
+    }
+
+    AppendOnlyHistoryLog(File file, long minCompactionLength) {
+        this.file = file;
+        this.compactionFile = new File(file.getPath() + ".compacting");
+        this.lockFile = new File(file.getPath() + ".lock");
+        this.monitor = monitorFor(file);
+        this.minCompactionLength = minCompactionLength;
+    }
+
+    private static Object monitorFor(File file) {
+        String path;
+        try {
+            path = file.getCanonicalPath();
+        } catch (IOException e) {
+            path = file.getAbsolutePath();
+        }
+        Object monitor = new Object();
+        Object existing = MONITORS.putIfAbsent(path, monitor);
+        return existing == null ? monitor : existing;
+    }
+
+    public void read(Visitor visitor) throws IOException {
+        LiveRecords live = new LiveRecords();
+        synchronized (monitor) {
+            FileLock lock = lock(false);
+            try {
+                RandomAccessFile log;
+                try {
+                    log = new RandomAccessFile(currentFile(), "r");
+                } catch (FileNotFoundException e) {
+                    log = null;
+                }
+                if (log != null) {
+                    try {
+                        parse(readFully(log), visitor, live);
+                    } finally {
+                        log.close();
+                    }
+                }
+            } finally {
+                release(lock);
+            }
+        }
+        synchronized (this) {
+            liveLength = live.length();
+        }
+    }
+
+    public void recordTestDuration(String test, long duration) throws IOException {
+        append(DURATION, test, duration);
+    }
+
+    public void recordTestFailure(String test, long timestamp) throws IOException {
+        append(FAILURE, test, timestamp);
+    }
+
+    public synchronized void flush() throws IOException {
+        writePending();
+        if (liveLength >= 0 && file.length() > 2 * liveLength + minCompactionLength) {
+            compact();
+        }
+    }
+
+    /**
+     * Returns {@code true} if the file of this log contains a serialized
+     * {@link MaxHistory} written by an earlier version.
+     */
+    boolean containsSerializedHistory() throws IOException {
+        synchronized (monitor) {
+            FileLock lock = lock(false);
+            try {
+                if (file.length() < 2) {
+                    return false;
+                }
+                RandomAccessFile log = new RandomAccessFile(file, "r");
+                try {
+                    return log.readShort() == SERIALIZATION_MAGIC;
+                } finally {
+                    log.close();
+                }
+            } finally {
+                release(lock);
+            }
+        }
+    }
+
+    /**
+     * Replaces the content of the file of this log by the given history.
+     */
+    synchronized void importHistory(Map<String, Long> durations, Map<String, Long> failureTimestamps)
+            throws IOException {
+        LiveRecords live = new LiveRecords();
+        for (Map.Entry<String, Long> each : durations.entrySet()) {
+            live.testDuration(each.getKey(), each.getValue());
+        }
+        for (Map.Entry<String, Long> each : failureTimestamps.entrySet()) {
+            live.testFailure(each.getKey(), each.getValue());
+        }
+        synchronized (monitor) {
+            FileLock lock = lock(true);
+            try {
+                replace(live);
+            } finally {
+                release(lock);
+            }
+        }
+    }
+
+    private synchronized void append(byte type, String test, long value) throws IOException {
+        pending.write(encode(type, test, value));
+        pendingRecords++;
+        if (pendingRecords >= FLUSH_RECORDS
+                || System.nanoTime() - lastWrite >= FLUSH_INTERVAL_NANOS) {
+            writePending();
+        }
+    }
+
+    private void writePending() throws IOException {
+        lastWrite = System.nanoTime();
+        if (pendingRecords == 0) {
+            return;
+        }
+        synchronized (monitor) {
+            FileLock lock = lock(true);
+            try {
+                RandomAccessFile log = openForWriting();
+                try {
+                    if (!hasHeader(log)) {
+                        log.setLength(0);
+                        log.write(header());
+                    }
+                    log.seek(log.length());
+                    log.write(pending.toByteArray());
+                } finally {
+                    log.close();
+                }
+            } finally {
+                release(lock);
+            }
+        }
+        pending.reset();
+        pendingRecords = 0;
+    }
+
+    private void compact() throws IOException {
+        LiveRecords live = new LiveRecords();
+        synchronized (monitor) {
+            FileLock lock = lock(true);
+            try {
+                RandomAccessFile log = openForWriting();
+                try {
+                    parse(readFully(log), null, live);
+                } finally {
+                    log.close();
+                }
+                replace(live);
+            } finally {
+                release(lock);
+            }
+        }
+        liveLength = live.length();
+    }
+
+    /**
+     * Locks the lock file of this log, shared for reading or exclusively for
+     * writing. The lock file is never replaced, unlike the log.
+     */
+    private FileLock lock(boolean exclusive) throws IOException {
+        RandomAccessFile lock = new RandomAccessFile(lockFile, "rw");
+        boolean locked = false;
+        try {
+            FileLock result = lock.getChannel().lock(0L, Long.MAX_VALUE, !exclusive);
+            locked = true;
+            return result;
+        } finally {
+            if (!locked) {
+                lock.close();
+            }
+        }
+    }
+
+    private static void release(FileLock lock) throws IOException {
+        // closing the channel releases the lock
+        lock.channel().close();
+    }
+
+    /**
+     * Returns the file that holds the log: the new file of a compaction that
+     * was interrupted after the log had been deleted, or else the log.
+     */
+    private File currentFile() {
+        return !file.exists() && compactionFile.exists() ? compactionFile : file;
+    }
+
+    /**
+     * Opens the log for writing while the lock file is locked exclusively,
+     * after completing an interrupted compaction.
+     */
+    private RandomAccessFile openForWriting() throws IOException {
+        if (currentFile() == compactionFile && !compactionFile.renameTo(file)) {
+            throw new IOException("Could not complete the compaction of " + file);
+        }
+        return new RandomAccessFile(file, "rw");
+    }
+
+    /**
+     * Replaces the log by a new log that contains the given records while the
+     * lock file is locked exclusively.
+     */
+    private void replace(LiveRecords live) throws IOException {
+        FileOutputStream out = new FileOutputStream(compactionFile);
+        try {
+            out.write(header());
+            live.writeTo(out);
+            out.getFD().sync();
+        } finally {
+            out.close();
+        }
+        if (compactionFile.renameTo(file)) {
+            return;
+        }
+        // File.renameTo does not replace an existing file on some platforms,
+        // e.g. on Windows. The new file is complete, so once the log has been
+        // deleted, the new file is the log even if the rename never happens.
+        if (!file.delete()) {
+            compactionFile.delete();
+            throw new IOException("Could not replace " + file);
+        }
+        if (!compactionFile.renameTo(file)) {
+            throw new IOException("Could not rename " + compactionFile + " to " + file);
+        }
+    }
+
+    private static boolean hasHeader(RandomAccessFile log) throws IOException {
+        if (log.length() < HEADER_LENGTH) {
+            return false;
+        }
+        byte[] header = new byte[HEADER_LENGTH];
+        log.seek(0);
+        log.readFully(header);
+        return hasHeader(ByteBuffer.wrap(header));
+    }
+
+    private static boolean hasHeader(ByteBuffer buffer) {
+        if (buffer.limit() < HEADER_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return buffer.getInt(MAGIC.length) == VERSION;
+    }
+
+    private static byte[] header() {
+        return ByteBuffer.allocate(HEADER_LENGTH).put(MAGIC).putInt(VERSION).array();
+    }
+
+    /**
+     * Reads the whole log into a heap buffer. The log is not memory-mapped:
+     * a mapping stays open until it is garbage collected, and while it is
+     * open the log can neither be replaced nor deleted on some platforms,
+     * e.g. on Windows.
+     */
+    private static ByteBuffer readFully(RandomAccessFile log) throws IOException {
+        FileChannel channel = log.getChannel();
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+            // keep reading
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Passes the intact records of {@code buffer} to {@code live} and, unless
+     * it is {@code null}, to {@code visitor}. Torn or corrupt records are
+     * skipped.
+     */
+    private static void parse(ByteBuffer buffer, Visitor visitor, LiveRecords live)
+            throws IOException {
+        if (!hasHeader(buffer)) {
+            return;
+        }
+        CRC32 crc = new CRC32();
+        int position = HEADER_LENGTH;
+        int limit = buffer.limit();
+        while (position + RECORD_OVERHEAD <= limit) {
+            int length = recordLength(buffer, position, crc);
+            if (length < 0) {
+                position++; // resynchronize on the next intact record
+                continue;
+            }
+            byte type = buffer.get(position + 1);
+            long value = buffer.getLong(position + 2);
+            int keyLength = length - RECORD_OVERHEAD;
+            byte[] key = new byte[keyLength];
+            buffer.position(position + 14);
+            buffer.get(key);
+            String test = new String(key, "UTF-8");
+            if (type == DURATION) {
+                live.testDuration(test, value);
+                if (visitor != null) {
+                    visitor.testDuration(test, value);
+                }
+            } else if (type == FAILURE) {
+                live.testFailure(test, value);
+                if (visitor != null) {
+                    visitor.testFailure(test, value);
+                }
+            }
+            position += length;
+        }
+    }
+
+    /**
+     * Returns the length of the intact record at {@code position} or
+     * {@code -1} if there is none.
+     */
+    private static int recordLength(ByteBuffer buffer, int position, CRC32 crc) {
+        if (buffer.get(position) != SYNC) {
+            return -1;
+        }
+        int keyLength = buffer.getInt(position + 10);
+        if (keyLength < 0 || keyLength > MAX_KEY_LENGTH
+                || position + RECORD_OVERHEAD + keyLength > buffer.limit()) {
+            return -1;
+        }
+        int checked = RECORD_OVERHEAD - 5 + keyLength;
+        byte[] bytes = new byte[checked];
+        buffer.position(position + 1);
+        buffer.get(bytes);
+        crc.reset();
+        crc.update(bytes, 0, checked);
+        if (buffer.getInt(position + 1 + checked) != (int) crc.getValue()) {
+            return -1;
+        }
+        return RECORD_OVERHEAD + keyLength;
+    }
+
+    private static byte[] encode(byte type, String test, long value) throws IOException {
+        byte[] key = test.getBytes("UTF-8");
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_OVERHEAD + key.length);
+        buffer.put(SYNC).put(type).putLong(value).putInt(key.length).put(key);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 1, buffer.position() - 1);
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    /**
+     * The latest records of each test. Older records are dropped, except for
+     * the latest failure of a test.
+     */
+    private static final class LiveRecords implements Visitor {
+        private final Map<String, TestRecords> tests = new LinkedHashMap<String, TestRecords>();
+
+        public void testDuration(String test, long duration) {
+            recordsOf(test).add(DURATION, duration);
+        }
+
+        public void testFailure(String test, long timestamp) {
+            recordsOf(test).add(FAILURE, timestamp);
+        }
+
+        private TestRecords recordsOf(String test) {
+            TestRecords records = tests.get(test);
+            if (records == null) {
+                records = new TestRecords();
+                tests.put(test, records);
+            }
+            return records;
+        }
+
+        long length() throws IOException {
+            long length = HEADER_LENGTH;
+            for (Map.Entry<String, TestRecords> each : tests.entrySet()) {
+                int recordLength = RECORD_OVERHEAD + each.getKey().getBytes("UTF-8").length;
+                length += (long) recordLength * each.getValue().count();
+            }
+            return length;
+        }
+
+        void writeTo(FileOutputStream out) throws IOException {
+            ByteArrayOutputStream records = new ByteArrayOutputStream();
+            for (Map.Entry<String, TestRecords> each : tests.entrySet()) {
+                each.getValue().writeTo(each.getKey(), records);
+            }
+            records.writeTo(out);
+        }
+    }
+
+    private static final class TestRecords {
+        private final byte[] types = new byte[RECORDS_PER_TEST];
+
+        private final long[] values = new long[RECORDS_PER_TEST];
+
+        private int size;
+
+        private int next;
+
+        private Long droppedFailure;
+
+        void add(byte type, long value) {
+            if (size == RECORDS_PER_TEST) {
+                if (types[next] == FAILURE) {
+                    droppedFailure = values[next];
+                }
+            } else {
+                size++;
+            }
+            types[next] = type;
+            values[next] = value;
+            next = (next + 1) % RECORDS_PER_TEST;
+        }
+
+        int count() {
+            return keepsDroppedFailure() ? size + 1 : size;
+        }
+
+        private boolean keepsDroppedFailure() {
+            if (droppedFailure == null) {
+                return false;
+            }
+            for (int i = 0; i < size; i++) {
+                if (types[i] == FAILURE) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void writeTo(String test, ByteArrayOutputStream out) throws IOException {
+            if (keepsDroppedFailure()) {
+                out.write(encode(FAILURE, test, droppedFailure));
+            }
+            int first = (next - size + RECORDS_PER_TEST) % RECORDS_PER_TEST;
+            for (int i = 0; i < size; i++) {
+                int index = (first + i) % RECORDS_PER_TEST;
+                out.write(encode(types[index], test, values[index]));
+            }
+        }
+    }
+}
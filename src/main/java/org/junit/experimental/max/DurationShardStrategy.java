@@ -0,0 +1,99 @@
+package org.junit.experimental.max;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.runner.Description;
+import org.junit.runner.manipulation.ShardStrategy;
+
+/**
+ * Distributes test classes across shards such that the predicted durations of
+ * the shards are as equal as possible.
+ *
+ * <p>The classes are assigned greedily, longest first, each to the shard with
+ * the smallest total duration so far. Classes of equal duration are ordered by
+ * their names and ties between shards are broken by the lower index, so the
+ * assignment only depends on the history. The duration of a test that has never
+ * been run is assumed to be the mean duration of the known tests.
+ */
+final class DurationShardStrategy extends ShardStrategy {
+    private final MaxHistory history;
+
+    DurationShardStrategy(MaxHistory history) {
+        this.history = history;
+    }
+
+    @Override
+    protected int[] assignShards(final List<Description> units, int total) {
+        final long[] durations = predictDurations(units);
+        Integer[] longestFirst = new Integer[units.size()];
+        for (int i = 0; i < longestFirst.length; i++) {
+            longestFirst[i] = i;
+        }
+        Arrays.sort(longestFirst, new Comparator<Integer>() {
+            public int compare(Integer o1, Integer o2) {
+                if (durations[o1] != durations[o2]) {
+                    return durations[o1] > durations[o2] ? -1 : 1;
+                }
+                int result = units.get(o1).getDisplayName().compareTo(units.get(o2).getDisplayName());
+                return result != 0 ? result : o1.compareTo(o2);
+            }
+        });
+
+        long[] loads = new long[total];
+        int[] shards = new int[units.size()];
+        for (Integer each : longestFirst) {
+            int shard = 0;
+            for (int i = 1; i < total; i++) {
+                if (loads[i] < loads[shard]) {
+                    shard = i;
+                }
+            }
+            shards[each] = shard;
+            loads[shard] += durations[each];
+        }
+        return shards;
+    }
+
+    private long[] predictDurations(List<Description> units) {
+        long knownDuration = 0;
+        int knownTests = 0;
+        int[] newTests = new int[units.size()];
+        long[] durations = new long[units.size()];
+        for (int i = 0; i < durations.length; i++) {
+            for (Description each : leaves(units.get(i))) {
+                if (history.isNewTest(each)) {
+                    newTests[i]++;
+                } else {
+                    long duration = history.getStatistics(each).getMeanDuration();
+                    durations[i] += duration;
+                    knownDuration += duration;
+                    knownTests++;
+                }
+            }
+        }
+        long assumedDuration = knownTests == 0 ? 1 : Math.max(1, knownDuration / knownTests);
+        for (int i = 0; i < durations.length; i++) {
+            durations[i] += newTests[i] * assumedDuration;
+        }
+        return durations;
+    }
+
+    private static List<Description> leaves(Description description) {
+        List<Description> leaves = new ArrayList<Description>();
+        collectLeaves(description, leaves);
+        return leaves;
+    }
+
+    private static void collectLeaves(Description description, List<Description> leaves) {
+        if (description.isTest()) {
+            leaves.add(description);
+        } else {
+            for (Description each : description.getChildren()) {
+                collectLeaves(each, leaves);
+            }
+        }
+    }
+}
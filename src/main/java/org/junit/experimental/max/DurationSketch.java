@@ -0,0 +1,137 @@
+package org.junit.experimental.max;
+
+/**
+ * A compact, approximate distribution of the recent durations of a test.
+ *
+ * <p>Durations are counted in logarithmically sized buckets, so every quantile
+ * is estimated with a relative error of at most {@link #RELATIVE_ACCURACY},
+ * and a test whose duration is stable occupies only a few buckets. Once the
+ * total count reaches {@link #MAX_COUNT} all counts are halved, which lets
+ * the sketch follow changes of the duration and drops rare outliers such as a
+ * run that was hit by a long garbage collection.
+ */
+final class DurationSketch {
+    static final double RELATIVE_ACCURACY = 0.02;
+
+    static final int MAX_COUNT = 64;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+
+    private int[] buckets = new int[4];
+
+    private int[] counts = new int[4];
+
+    private int size;
+
+    private int totalCount;
+
+    void add(long duration) {
+        int bucket = bucketOf(duration);
+        int index = indexOf(bucket);
+        if (index >= 0) {
+            counts[index]++;
+        } else {
+            insert(-index - 1, bucket);
+        }
+        if (++totalCount >= MAX_COUNT) {
+            halve();
+        }
+    }
+
+    /**
+     * Returns the estimated {@code quantile} of the durations, or {@code 0}
+     * if no duration has been added.
+     */
+    long quantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException("quantile must be between 0 and 1 but was " + quantile);
+        }
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = (long) (quantile * (totalCount - 1));
+        long seen = 0;
+        for (int i = 0; i < size; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return valueOf(buckets[i]);
+            }
+        }
+        return valueOf(buckets[size - 1]);
+    }
+
+    /**
+     * Returns the index of {@code bucket} or, if there is no such bucket,
+     * {@code -(insertion point) - 1}.
+     */
+    private int indexOf(int bucket) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (buckets[middle] < bucket) {
+                low = middle + 1;
+            } else if (buckets[middle] > bucket) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -low - 1;
+    }
+
+    private static int bucketOf(long duration) {
+        if (duration <= 1) {
+            return 0;
+        }
+        return (int) Math.ceil(Math.log(duration) / LOG_GAMMA);
+    }
+
+    private static long valueOf(int bucket) {
+        return Math.round(2 * Math.pow(GAMMA, bucket) / (GAMMA + 1));
+    }
+
+    private void insert(int index, int bucket) {
+        if (size == buckets.length) {
+            buckets = grow(buckets);
+            counts = grow(counts);
+        }
+        System.arraycopy(buckets, index, buckets, index + 1, size - index);
+        System.arraycopy(counts, index, counts, index + 1, size - index);
+        buckets[index] = bucket;
+        counts[index] = 1;
+        size++;
+    }
+
+    private static int[] grow(int[] array) {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private void halve() {
+        // Buckets that were hit only once are dropped, unless that would
+        // leave the sketch empty.
+        int roundUp = 1;
+        for (int i = 0; i < size; i++) {
+            if (counts[i] > 1) {
+                roundUp = 0;
+                break;
+            }
+        }
+        int kept = 0;
+        totalCount = 0;
+        for (int i = 0; i < size; i++) {
+            int count = (counts[i] + roundUp) / 2;
+            if (count > 0) {
+                buckets[kept] = buckets[i];
+                counts[kept] = count;
+                totalCount += count;
+                kept++;
+            }
+        }
+        size = kept;
+    }
+}
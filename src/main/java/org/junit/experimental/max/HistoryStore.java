@@ -0,0 +1,63 @@
+package org.junit.experimental.max;
+
+import java.io.IOException;
+
+/**
+ * Persists the history kept by a {@link MaxHistory}.
+ *
+ * <p>A store receives the observations of a test run as they happen and is
+ * {@link #flush() flushed} when the run has finished. When a
+ * {@code MaxHistory} is created, it replays everything the store has recorded
+ * so far.
+ *
+ * @see MaxHistory#forStore(HistoryStore)
+ * @see MaxCore#storedIn(HistoryStore)
+ * @since 4.13.3
+ */
+public interface HistoryStore {
+
+    /**
+     * Receives the records of a {@link HistoryStore}.
+     */
+    interface Visitor {
+        /**
+         * Called for each recorded execution of the test with the given key.
+         *
+         * @param duration the duration of the execution in nanoseconds
+         */
+        void testDuration(String test, long duration);
+
+        /**
+         * Called for each recorded failure of the test with the given key.
+         *
+         * @param timestamp the start of the failing run in milliseconds since
+         * the epoch
+         */
+        void testFailure(String test, long timestamp);
+    }
+
+    /**
+     * Passes all records of this store to {@code visitor}, in the order in which
+     * they were recorded. A store may drop old records of a test as long as it
+     * keeps the most recent ones and the latest failure of the test.
+     */
+    void read(Visitor visitor) throws IOException;
+
+    /**
+     * Records that the test with the given key took {@code duration}
+     * nanoseconds. The record may be buffered until the next {@link #flush()}.
+     */
+    void recordTestDuration(String test, long duration) throws IOException;
+
+    /**
+     * Records that the test with the given key failed in the run that started
+     * at {@code timestamp}. The record may be buffered until the next
+     * {@link #flush()}.
+     */
+    void recordTestFailure(String test, long timestamp) throws IOException;
+
+    /**
+     * Persists all buffered records.
+     */
+    void flush() throws IOException;
+}
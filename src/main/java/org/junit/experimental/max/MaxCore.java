@@ -28,6 +28,8 @@ import org.junit.runners.model.InitializationError;
  * <li> Sort groups such that the most recent failure date is first, and never-failing tests are at the end.
  * <li> Within a group, run the fastest tests first.
  * </ol>
+ *
+ * Other orders can be chosen with a {@link SchedulingStrategy}.
  */
 public class MaxCore {
     private static final String MALFORMED_JUNIT_3_TEST_CLASS_PREFIX = "malformed JUnit 3 test class: ";
@@ -43,16 +45,25 @@ public class MaxCore {
     }
 
     /**
-     * Create a new MaxCore from a serialized file stored at storedResults
+     * Create a new MaxCore from a history log stored at storedResults
      */
     public static MaxCore storedLocally(File storedResults) {
-        return new MaxCore(storedResults);
+        return new MaxCore(MaxHistory.forFolder(storedResults));
+    }
+
+    /**
+     * Create a new MaxCore that keeps its history in {@code store}
+     *
+     * @since 4.13.3
+     */
+    public static MaxCore storedIn(HistoryStore store) {
+        return new MaxCore(MaxHistory.forStore(store));
     }
 
     private final MaxHistory history;
 
-    private MaxCore(File storedResults) {
-        history = MaxHistory.forFolder(storedResults);
+    private MaxCore(MaxHistory history) {
+        this.history = history;
     }
 
     /**
@@ -85,23 +96,54 @@ public class MaxCore {
      * @return a {@link Result} describing the details of the test run and the failed tests.
      */
     public Result run(Request request, JUnitCore core) {
+        return run(request, core, SchedulingStrategy.FAILURES_FIRST);
+    }
+
+    /**
+     * Run all the tests contained in <code>request</code> in the order given by
+     * <code>strategy</code>.
+     *
+     * @param request the request describing tests
+     * @param core a JUnitCore to delegate to.
+     * @param strategy the strategy for ordering the tests
+     * @return a {@link Result} describing the details of the test run and the failed tests.
+     * @since 4.13.3
+     */
+    public Result run(Request request, JUnitCore core, SchedulingStrategy strategy) {
         core.addListener(history.listener());
-        return core.run(sortRequest(request).getRunner());
+        return core.run(sortRequest(request, strategy).getRunner());
     }
 
     /**
      * @return a new Request, which contains all of the same tests, but in a new order.
      */
     public Request sortRequest(Request request) {
+        return sortRequest(request, SchedulingStrategy.FAILURES_FIRST);
+    }
+
+    /**
+     * @return a new Request, which contains all of the same tests, but in the
+     *         order given by {@code strategy}.
+     * @since 4.13.3
+     */
+    public Request sortRequest(Request request, SchedulingStrategy strategy) {
         if (request instanceof SortingRequest) {
             // We'll pay big karma points for this
             return request;
         }
         List<Description> leaves = findLeaves(request);
-        Collections.sort(leaves, history.testComparator());
+        Collections.sort(leaves, strategy.comparator(history));
         return constructLeafRequest(leaves);
     }
 
+    /**
+     * @return the history that this MaxCore uses to order tests
+     * @since 4.13.3
+     */
+    public MaxHistory getHistory() {
+        return history;
+    }
+
     private Request constructLeafRequest(List<Description> leaves) {
         final List<Runner> runners = new ArrayList<Runner>();
         for (Description each : leaves) {
@@ -2,7 +2,6 @@ package org.junit.experimental.max;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
@@ -13,6 +12,7 @@ import java.util.Map;
 
 import org.junit.runner.Description;
 import org.junit.runner.Result;
+import org.junit.runner.manipulation.ShardStrategy;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
 
@@ -21,25 +21,85 @@ import org.junit.runner.notification.RunListener;
  * <ul>
  * <li>Last failure timestamp
  * <li>Duration of last execution
+ * <li>Moving averages of the duration and the failure rate
+ * <li>Distribution of the recent durations
  * </ul>
+ *
+ * @see TestStatistics
  */
 public class MaxHistory implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    private static final HistoryStore NO_STORE = new HistoryStore() {
+        public void read(Visitor visitor) {
+        }
+
+        public void recordTestDuration(String test, long duration) {
+        }
+
+        public void recordTestFailure(String test, long timestamp) {
+        }
+
+        public void flush() {
+        }
+    };
+
     /**
      * Loads a {@link MaxHistory} from {@code file}, or generates a new one that
      * will be saved to {@code file}.
+     *
+     * <p>The history is kept in an append-only log, which is updated while the
+     * tests run. A file that was written by an earlier version of JUnit is
+     * converted to the new format.
      */
     public static MaxHistory forFolder(File file) {
-        if (file.exists()) {
-            try {
-                return readHistory(file);
-            } catch (CouldNotReadCoreException e) {
-                e.printStackTrace();
-                file.delete();
+        AppendOnlyHistoryLog log = new AppendOnlyHistoryLog(file);
+        try {
+            if (log.containsSerializedHistory()) {
+                importSerializedHistory(log, file);
             }
+        } catch (IOException e) {
+            e.printStackTrace();
         }
-        return new MaxHistory(file);
+        return forStore(log);
+    }
+
+    /**
+     * Loads a {@link MaxHistory} from {@code store}. The history will be
+     * recorded to {@code store} when the tests are run with its
+     * {@link #listener()}.
+     *
+     * @since 4.13.3
+     */
+    public static MaxHistory forStore(HistoryStore store) {
+        final MaxHistory history = new MaxHistory(store);
+        try {
+            store.read(new HistoryStore.Visitor() {
+                public void testDuration(String test, long duration) {
+                    history.statisticsFor(test).addDuration(duration);
+                }
+
+                public void testFailure(String test, long timestamp) {
+                    history.statisticsFor(test).addFailure(timestamp);
+                }
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return history;
+    }
+
+    private static void importSerializedHistory(AppendOnlyHistoryLog log, File file)
+            throws IOException {
+        MaxHistory history;
+        try {
+            history = readHistory(file);
+        } catch (CouldNotReadCoreException e) {
+            e.printStackTrace();
+            file.delete();
+            return;
+        }
+        log.importHistory(history.fDurations, history.fFailureTimestamps);
     }
 
     private static MaxHistory readHistory(File storedResults)
@@ -68,42 +128,75 @@ public class MaxHistory implements Serializable {
      */
     private final Map<String, Long> fDurations = new HashMap<String, Long>();
     private final Map<String, Long> fFailureTimestamps = new HashMap<String, Long>();
+    // Only read from histories that were serialized by earlier versions
     private final File fHistoryStore;
+    private final transient HistoryStore store;
+    private final transient Map<String, TestStatistics> statistics =
+            new HashMap<String, TestStatistics>();
 
-    private MaxHistory(File storedResults) {
-        fHistoryStore = storedResults;
+    private MaxHistory(HistoryStore store) {
+        fHistoryStore = null;
+        this.store = store;
     }
 
-    private void save() throws IOException {
-        ObjectOutputStream stream = null;
-        try {
-            stream = new ObjectOutputStream(new FileOutputStream(fHistoryStore));
-            stream.writeObject(this);
-        } finally {
-            if (stream != null) {
-                stream.close();
-            }
+    /**
+     * A deserialized history lacks the transient store and statistics, so it is
+     * replaced by a history with the statistics of the serialized durations and
+     * failures. It is not backed by a store: its {@link #listener()} only
+     * updates the statistics in memory.
+     */
+    private Object readResolve() {
+        MaxHistory history = new MaxHistory(NO_STORE);
+        history.fDurations.putAll(fDurations);
+        history.fFailureTimestamps.putAll(fFailureTimestamps);
+        for (Map.Entry<String, Long> each : fDurations.entrySet()) {
+            history.statisticsFor(each.getKey()).addDuration(each.getValue());
         }
+        for (Map.Entry<String, Long> each : fFailureTimestamps.entrySet()) {
+            history.statisticsFor(each.getKey()).addFailure(each.getValue());
+        }
+        return history;
     }
 
-    Long getFailureTimestamp(Description key) {
-        return fFailureTimestamps.get(key.toString());
-    }
-
-    void putTestFailureTimestamp(Description key, long end) {
-        fFailureTimestamps.put(key.toString(), end);
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        // Keep the format that earlier versions read
+        fDurations.clear();
+        fFailureTimestamps.clear();
+        for (Map.Entry<String, TestStatistics> each : statistics.entrySet()) {
+            TestStatistics testStatistics = each.getValue();
+            if (testStatistics.getExecutionCount() > 0) {
+                fDurations.put(each.getKey(), testStatistics.getLastDuration());
+            }
+            if (testStatistics.getFailureCount() > 0) {
+                fFailureTimestamps.put(each.getKey(), testStatistics.getLastFailureTimestamp());
+            }
+        }
+        stream.defaultWriteObject();
     }
 
-    boolean isNewTest(Description key) {
-        return !fDurations.containsKey(key.toString());
+    /**
+     * Returns the statistics of the test described by {@code description}. A
+     * test that has never been run has no executions.
+     *
+     * @since 4.13.3
+     */
+    public TestStatistics getStatistics(Description description) {
+        TestStatistics result = statistics.get(description.toString());
+        return result == null ? new TestStatistics() : result;
     }
 
-    Long getTestDuration(Description key) {
-        return fDurations.get(key.toString());
+    private TestStatistics statisticsFor(String test) {
+        TestStatistics result = statistics.get(test);
+        if (result == null) {
+            result = new TestStatistics();
+            statistics.put(test, result);
+        }
+        return result;
     }
 
-    void putTestDuration(Description description, long duration) {
-        fDurations.put(description.toString(), duration);
+    boolean isNewTest(Description key) {
+        TestStatistics result = statistics.get(key.toString());
+        return result == null || result.getExecutionCount() == 0;
     }
 
     private final class RememberingListener extends RunListener {
@@ -121,42 +214,21 @@ public class MaxHistory implements Serializable {
         public void testFinished(Description description) throws Exception {
             long end = System.nanoTime();
             long start = starts.get(description);
-            putTestDuration(description, end - start);
+            String test = description.toString();
+            statisticsFor(test).addDuration(end - start);
+            store.recordTestDuration(test, end - start);
         }
 
         @Override
         public void testFailure(Failure failure) throws Exception {
-            putTestFailureTimestamp(failure.getDescription(), overallStart);
+            String test = failure.getDescription().toString();
+            statisticsFor(test).addFailure(overallStart);
+            store.recordTestFailure(test, overallStart);
         }
 
         @Override
         public void testRunFinished(Result result) throws Exception {
-            save();
-        }
-    }
-
-    private class TestComparator implements Comparator<Description> {
-        public int compare(Description o1, Description o2) {
-            // Always prefer new tests
-            if (isNewTest(o1)) {
-                return -1;
-            }
-            if (isNewTest(o2)) {
-                return 1;
-            }
-            // Then most recently failed first
-            int result = getFailure(o2).compareTo(getFailure(o1));
-            return result != 0 ? result
-                    // Then shorter tests first
-                    : getTestDuration(o1).compareTo(getTestDuration(o2));
-        }
-
-        private Long getFailure(Description key) {
-            Long result = getFailureTimestamp(key);
-            if (result == null) {
-                return 0L; // 0 = "never failed (that I know about)"
-            }
-            return result;
+            store.flush();
         }
     }
 
@@ -168,11 +240,22 @@ public class MaxHistory implements Serializable {
         return new RememberingListener();
     }
 
+    /**
+     * @return a strategy that distributes test classes across shards such that
+     *         the shards take about the same time, based on the predicted
+     *         durations of the tests
+     * @see org.junit.runner.Request#shard(int, int, ShardStrategy)
+     * @since 4.13.3
+     */
+    public ShardStrategy shardStrategy() {
+        return new DurationShardStrategy(this);
+    }
+
     /**
      * @return a comparator that ranks tests based on the JUnit Max sorting
      *         rules, as described in the {@link MaxCore} class comment.
      */
     public Comparator<Description> testComparator() {
-        return new TestComparator();
+        return SchedulingStrategy.FAILURES_FIRST.comparator(this);
     }
 }
@@ -0,0 +1,80 @@
+package org.junit.experimental.max;
+
+import java.util.Comparator;
+
+import org.junit.runner.Description;
+
+/**
+ * Strategies for ordering tests based on their {@link MaxHistory}. Tests that
+ * have never been run come first with every strategy, because nothing is known
+ * about them.
+ *
+ * @see MaxCore#sortRequest(org.junit.runner.Request, SchedulingStrategy)
+ * @since 4.13.3
+ */
+public enum SchedulingStrategy {
+    /**
+     * Runs the tests that failed most recently first and, among tests that
+     * failed in the same run, the fastest tests first. This finds a failure as
+     * early as possible and is the order described in the {@link MaxCore}
+     * class comment.
+     */
+    FAILURES_FIRST {
+        @Override
+        int compareKnown(TestStatistics first, TestStatistics second) {
+            int result = compare(second.getLastFailureTimestamp(), first.getLastFailureTimestamp());
+            return result != 0 ? result
+                    : compare(first.getMeanDuration(), second.getMeanDuration());
+        }
+    },
+
+    /**
+     * Runs the tests that fail most often first and, among tests that fail
+     * equally often, the fastest tests first. Unlike {@link #FAILURES_FIRST},
+     * this does not put a test that failed once at the front for good.
+     */
+    FREQUENT_FAILURES_FIRST {
+        @Override
+        int compareKnown(TestStatistics first, TestStatistics second) {
+            int result = Double.compare(second.getFailureRate(), first.getFailureRate());
+            return result != 0 ? result
+                    : compare(first.getMeanDuration(), second.getMeanDuration());
+        }
+    },
+
+    /**
+     * Runs the tests with the longest predicted duration first. When the tests
+     * are run in parallel, this keeps a long test from being started last,
+     * which minimizes the total duration of the run ("longest processing time
+     * first").
+     */
+    LONGEST_FIRST {
+        @Override
+        int compareKnown(TestStatistics first, TestStatistics second) {
+            return compare(second.getMeanDuration(), first.getMeanDuration());
+        }
+    };
+
+    /**
+     * Returns a comparator that orders tests according to this strategy and
+     * the given {@code history}.
+     */
+    public Comparator<Description> comparator(final MaxHistory history) {
+        return new Comparator<Description>() {
+            public int compare(Description o1, Description o2) {
+                boolean new1 = history.isNewTest(o1);
+                boolean new2 = history.isNewTest(o2);
+                if (new1 || new2) {
+                    return new1 == new2 ? 0 : (new1 ? -1 : 1);
+                }
+                return compareKnown(history.getStatistics(o1), history.getStatistics(o2));
+            }
+        };
+    }
+
+    abstract int compareKnown(TestStatistics first, TestStatistics second);
+
+    private static int compare(long first, long second) {
+        return first < second ? -1 : (first == second ? 0 : 1);
+    }
+}
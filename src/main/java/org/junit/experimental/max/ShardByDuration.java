@@ -0,0 +1,44 @@
+package org.junit.experimental.max;
+
+import java.io.File;
+
+import org.junit.runner.FilterFactory;
+import org.junit.runner.FilterFactoryParams;
+import org.junit.runner.manipulation.Filter;
+
+/**
+ * {@link FilterFactory} that selects one shard of a suite, using the
+ * {@link MaxHistory#shardStrategy() duration-based strategy} of the history
+ * stored in a file.
+ *
+ * <p>The arguments are the index of the shard (starting with {@code 0}), the
+ * number of shards and the history file. Usage from command line:
+ * <code>
+ *     --filter=org.junit.experimental.max.ShardByDuration=0/4,build/max-history
+ * </code>
+ *
+ * <p>The history is only read, so it should be collected by a separate run,
+ * e.g. with {@link MaxCore#storedLocally(File)}.
+ *
+ * @since 4.13.3
+ */
+public final class ShardByDuration implements FilterFactory {
+    public Filter createFilter(FilterFactoryParams params) throws FilterNotCreatedException {
+        String args = params.getArgs();
+        int comma = args.indexOf(',');
+        int slash = args.indexOf('/');
+        if (comma < 0 || slash < 0 || slash > comma) {
+            throw new FilterNotCreatedException(new IllegalArgumentException(
+                    "Expected index/total,historyFile but was " + args));
+        }
+        try {
+            int index = Integer.parseInt(args.substring(0, slash).trim());
+            int total = Integer.parseInt(args.substring(slash + 1, comma).trim());
+            MaxHistory history = MaxHistory.forFolder(new File(args.substring(comma + 1).trim()));
+            return history.shardStrategy().createFilter(
+                    params.getTopLevelDescription(), index, total);
+        } catch (IllegalArgumentException e) {
+            throw new FilterNotCreatedException(e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.junit.experimental.max;
+
+/**
+ * The statistics that a {@link MaxHistory} keeps about the executions of a
+ * test.
+ *
+ * <p>Durations are smoothed with an exponentially weighted moving average, so
+ * a single slow execution, e.g. because of a long garbage collection, changes
+ * the predicted duration only moderately, and a lasting change of the duration
+ * is picked up after a few executions. The distribution of the recent
+ * durations is kept in a compact sketch from which quantiles can be estimated.
+ *
+ * <p>The statistics reflect the history at the time they are queried; they are
+ * updated while tests are run with the {@link MaxHistory#listener() listener}
+ * of the history.
+ *
+ * @see MaxHistory#getStatistics(org.junit.runner.Description)
+ * @since 4.13.3
+ */
+public final class TestStatistics {
+    /**
+     * The weight of the latest observation in the moving averages.
+     */
+    public static final double SMOOTHING_FACTOR = 0.25;
+
+    private final DurationSketch durations = new DurationSketch();
+
+    private int executionCount;
+
+    private int failureCount;
+
+    private long lastDuration;
+
+    private double meanDuration;
+
+    private double failureRate;
+
+    private long lastFailureTimestamp;
+
+    private boolean failedSinceLastExecution;
+
+    TestStatistics() {
+    }
+
+    void addDuration(long duration) {
+        durations.add(duration);
+        lastDuration = duration;
+        double failed = failedSinceLastExecution ? 1 : 0;
+        if (executionCount == 0) {
+            meanDuration = duration;
+            failureRate = failed;
+        } else {
+            meanDuration += SMOOTHING_FACTOR * (duration - meanDuration);
+            failureRate += SMOOTHING_FACTOR * (failed - failureRate);
+        }
+        failedSinceLastExecution = false;
+        executionCount++;
+    }
+
+    void addFailure(long timestamp) {
+        failureCount++;
+        lastFailureTimestamp = Math.max(lastFailureTimestamp, timestamp);
+        failedSinceLastExecution = true;
+    }
+
+    /**
+     * Returns the number of recorded executions of the test.
+     */
+    public int getExecutionCount() {
+        return executionCount;
+    }
+
+    /**
+     * Returns the number of recorded failures of the test.
+     */
+    public int getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Returns the exponentially weighted rate at which recent executions of the
+     * test failed, between {@code 0} (none failed) and {@code 1} (all failed).
+     */
+    public double getFailureRate() {
+        return failureRate;
+    }
+
+    /**
+     * Returns the start of the latest run in which the test failed, in
+     * milliseconds since the epoch, or {@code 0} if it never failed.
+     */
+    public long getLastFailureTimestamp() {
+        return lastFailureTimestamp;
+    }
+
+    /**
+     * Returns the duration of the latest execution in nanoseconds.
+     */
+    public long getLastDuration() {
+        return lastDuration;
+    }
+
+    /**
+     * Returns the exponentially weighted mean of the durations in nanoseconds.
+     * This is the best prediction for the duration of the next execution.
+     */
+    public long getMeanDuration() {
+        return Math.round(meanDuration);
+    }
+
+    /**
+     * Returns an estimate of the given quantile of the recent durations in
+     * nanoseconds, e.g. {@code getDurationQuantile(0.9)} for the 90th
+     * percentile. Returns {@code 0} if the test was never executed.
+     *
+     * @param quantile a value between {@code 0} and {@code 1}
+     */
+    public long getDurationQuantile(double quantile) {
+        return durations.quantile(quantile);
+    }
+
+    @Override
+    public String toString() {
+        return executionCount + " executions, mean duration " + getMeanDuration()
+                + "ns, " + failureCount + " failures";
+    }
+}
@@ -6,15 +6,21 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Assert;
 import org.junit.Assume;
 import org.junit.experimental.theories.internal.Assignments;
 import org.junit.experimental.theories.internal.ParameterizedAssertionError;
 import org.junit.internal.AssumptionViolatedException;
+import org.junit.internal.runners.SharedWorkerPool;
+import org.junit.internal.runners.statements.TimeoutScope;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
 import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestClass;
 
@@ -61,6 +67,18 @@ import org.junit.runners.model.TestClass;
  * allows automated tools to search for new, unexpected data points that expose bugs.
  * </p>
  * <p>
+ * A theory with many combinations of data points can be tried in parallel with
+ * <b>&#064;Theory(parallel = true)</b>. The combinations are then split into
+ * subtrees that are tried concurrently, and the first failing combination
+ * cancels the subtrees that have not been tried yet.
+ * </p>
+ * <p>
+ * If trying all combinations takes too long, <b>&#064;Theory(samples = 1000)</b>
+ * or <b>&#064;Theory(sampleMillis = 2000)</b> tries combinations drawn at random
+ * instead. A failure reports the seed of the random combinations; setting it
+ * with <b>&#064;Theory(seed = ...)</b> tries the same combinations again.
+ * </p>
+ * <p>
  * The support for Theories has been absorbed from the Popper project, and more complete documentation can be found
  * from that projects archived documentation.
  * </p>
@@ -125,9 +143,11 @@ public class Theories extends BlockJUnit4ClassRunner {
     @Override
     protected void validateTestMethods(List<Throwable> errors) {
         for (FrameworkMethod each : computeTestMethods()) {
-            if (each.getAnnotation(Theory.class) != null) {
+            Theory theory = each.getAnnotation(Theory.class);
+            if (theory != null) {
                 each.validatePublicVoid(false, errors);
                 each.validateNoTypeParametersOnArgs(errors);
+                validateSampling(each, theory, errors);
             } else {
                 each.validatePublicVoidNoArg(false, errors);
             }
@@ -141,6 +161,15 @@ public class Theories extends BlockJUnit4ClassRunner {
         }
     }
 
+    private void validateSampling(FrameworkMethod method, Theory theory, List<Throwable> errors) {
+        if (theory.samples() < 0) {
+            errors.add(new Error("Theory " + method.getName() + " must not draw a negative number of samples"));
+        }
+        if (theory.sampleMillis() < 0) {
+            errors.add(new Error("Theory " + method.getName() + " must not have a negative sampling time"));
+        }
+    }
+
     private void validateParameterSupplier(Class<? extends ParameterSupplier> supplierClass, List<Throwable> errors) {
         Constructor<?>[] constructors = supplierClass.getConstructors();
         
@@ -171,13 +200,31 @@ public class Theories extends BlockJUnit4ClassRunner {
     }
 
     public static class TheoryAnchor extends Statement {
+        // The number of subtrees of the assignment tree per thread when a
+        // theory is tried in parallel, so that threads which finish early
+        // find more work.
+        private static final int SUBTREES_PER_THREAD = 4;
+
+        // Guarded by this
         private int successes = 0;
 
         private final FrameworkMethod testMethod;
         private final TestClass testClass;
 
+        // Guarded by this
         private List<AssumptionViolatedException> fInvalidParameters = new ArrayList<AssumptionViolatedException>();
 
+        // Guarded by this
+        private AssignmentRunner assignmentRunner;
+
+        private final AtomicReference<Throwable> parallelFailure = new AtomicReference<Throwable>();
+
+        private volatile boolean cancelled;
+
+        // The seed of the combinations drawn at random, or null if all
+        // combinations are tried
+        private Long seed;
+
         public TheoryAnchor(FrameworkMethod testMethod, TestClass testClass) {
             this.testMethod = testMethod;
             this.testClass = testClass;
@@ -189,20 +236,32 @@ public class Theories extends BlockJUnit4ClassRunner {
 
         @Override
         public void evaluate() throws Throwable {
-            runWithAssignment(Assignments.allUnassigned(
-                    testMethod.getMethod(), getTestClass()));
+            Assignments allUnassigned = Assignments.allUnassigned(
+                    testMethod.getMethod(), getTestClass());
+            if (isSampled()) {
+                runWithSamples(allUnassigned);
+            } else if (isParallel()) {
+                runInParallel(allUnassigned);
+            } else {
+                runWithAssignment(allUnassigned);
+            }
             
             //if this test method is not annotated with Theory, then no successes is a valid case
             boolean hasTheoryAnnotation = testMethod.getAnnotation(Theory.class) != null;
-            if (successes == 0 && hasTheoryAnnotation) {
-                Assert
-                        .fail("Never found parameters that satisfied method assumptions.  Violated assumptions: "
-                                + fInvalidParameters);
+            synchronized (this) {
+                if (successes == 0 && hasTheoryAnnotation) {
+                    Assert
+                            .fail("Never found parameters that satisfied method assumptions.  Violated assumptions: "
+                                    + fInvalidParameters);
+                }
             }
         }
 
         protected void runWithAssignment(Assignments parameterAssignment)
                 throws Throwable {
+            if (cancelled) {
+                return;
+            }
             if (!parameterAssignment.isComplete()) {
                 runWithIncompleteAssignment(parameterAssignment);
             } else {
@@ -220,49 +279,208 @@ public class Theories extends BlockJUnit4ClassRunner {
 
         protected void runWithCompleteAssignment(final Assignments complete)
                 throws Throwable {
-            new BlockJUnit4ClassRunner(getTestClass()) {
-                @Override
-                protected void collectInitializationErrors(
-                        List<Throwable> errors) {
-                    // do nothing
+            getAssignmentRunner().assignmentBlock(testMethod, complete).evaluate();
+        }
+
+        private synchronized AssignmentRunner getAssignmentRunner() throws InitializationError {
+            if (assignmentRunner == null) {
+                assignmentRunner = new AssignmentRunner(getTestClass());
+            }
+            return assignmentRunner;
+        }
+
+        private boolean isSampled() {
+            Theory annotation = testMethod.getAnnotation(Theory.class);
+            return annotation != null
+                    && (annotation.samples() > 0 || annotation.sampleMillis() > 0);
+        }
+
+        /**
+         * Tries combinations of data points that are drawn at random, until
+         * the number of samples or the sampling time of the theory is used
+         * up. The combinations only depend on the seed and on the value
+         * sources, so a failure can be replayed with the seed it reports.
+         */
+        private void runWithSamples(Assignments allUnassigned) throws Throwable {
+            Theory annotation = testMethod.getAnnotation(Theory.class);
+            seed = annotation.seed() != 0 ? annotation.seed() : newSeed();
+            Random random = new Random(seed);
+            int samples = annotation.samples();
+            long sampleNanos = TimeUnit.MILLISECONDS.toNanos(annotation.sampleMillis());
+            long start = System.nanoTime();
+            for (int i = 0; samples == 0 || i < samples; i++) {
+                if (sampleNanos > 0 && System.nanoTime() - start >= sampleNanos) {
+                    return;
                 }
+                Assignments sample = drawSample(allUnassigned, random);
+                if (sample == null) {
+                    return;
+                }
+                runWithCompleteAssignment(sample);
+            }
+        }
 
-                @Override
-                public Statement methodBlock(FrameworkMethod method) {
-                    final Statement statement = super.methodBlock(method);
-                    return new Statement() {
-                        @Override
-                        public void evaluate() throws Throwable {
-                            try {
-                                statement.evaluate();
-                                handleDataPointSuccess();
-                            } catch (AssumptionViolatedException e) {
-                                handleAssumptionViolation(e);
-                            } catch (Throwable e) {
-                                reportParameterizedError(e, complete
-                                        .getArgumentStrings(nullsOk()));
-                            }
-                        }
+        private static long newSeed() {
+            long seed;
+            do {
+                seed = new Random().nextLong();
+            } while (seed == 0);
+            return seed;
+        }
 
-                    };
+        /**
+         * Assigns a value drawn at random to each parameter, or returns
+         * {@code null} if there is no value for one of them.
+         */
+        private static Assignments drawSample(Assignments assignments, Random random) throws Throwable {
+            while (!assignments.isComplete()) {
+                List<PotentialAssignment> sources = assignments.potentialsForNextUnassigned();
+                if (sources.isEmpty()) {
+                    return null;
                 }
+                assignments = assignments.assignNext(sources.get(random.nextInt(sources.size())));
+            }
+            return assignments;
+        }
 
-                @Override
-                protected Statement methodInvoker(FrameworkMethod method, Object test) {
-                    return methodCompletesWithParameters(method, complete, test);
+        private boolean isParallel() {
+            Theory annotation = testMethod.getAnnotation(Theory.class);
+            return annotation != null && annotation.parallel();
+        }
+
+        /**
+         * Splits the assignment tree into subtrees and tries each of them
+         * depth-first on the shared worker pool. The first subtree that fails
+         * cancels the others.
+         */
+        private void runInParallel(Assignments allUnassigned) throws Throwable {
+            SharedWorkerPool pool = SharedWorkerPool.getDefault();
+            List<Assignments> subtrees = split(allUnassigned,
+                    SUBTREES_PER_THREAD * (pool.getParallelism() + 1));
+            TimeoutScope timeouts = TimeoutScope.current();
+            RunnerScheduler scheduler = pool.newScheduler();
+            try {
+                for (Assignments each : subtrees) {
+                    scheduler.schedule(new Subtree(each, timeouts));
                 }
+            } finally {
+                scheduler.finished();
+            }
+            Throwable failure = parallelFailure.get();
+            if (failure != null) {
+                throw failure;
+            }
+        }
 
-                @Override
-                public Object createTest() throws Exception {
-                    Object[] params = complete.getConstructorArguments();
-                    
-                    if (!nullsOk()) {
-                        Assume.assumeNotNull(params);
+        /**
+         * Assigns the next parameters of all assignments, level by level,
+         * until there are at least {@code count} assignments or all of them
+         * are complete.
+         */
+        private static List<Assignments> split(Assignments root, int count) throws Throwable {
+            List<Assignments> subtrees = new ArrayList<Assignments>();
+            subtrees.add(root);
+            // all assignments of a level have the same number of parameters
+            while (!subtrees.isEmpty() && subtrees.size() < count
+                    && !subtrees.get(0).isComplete()) {
+                List<Assignments> next = new ArrayList<Assignments>();
+                for (Assignments each : subtrees) {
+                    for (PotentialAssignment source : each.potentialsForNextUnassigned()) {
+                        next.add(each.assignNext(source));
                     }
-                    
-                    return getTestClass().getOnlyConstructor().newInstance(params);
                 }
-            }.methodBlock(testMethod).evaluate();
+                subtrees = next;
+            }
+            return subtrees;
+        }
+
+        private class Subtree implements Runnable {
+            private final Assignments root;
+            private final TimeoutScope timeouts;
+
+            Subtree(Assignments root, TimeoutScope timeouts) {
+                this.root = root;
+                this.timeouts = timeouts;
+            }
+
+            public void run() {
+                if (timeouts.hasExpired()) {
+                    cancelled = true;
+                    return;
+                }
+                try {
+                    runWithAssignment(root);
+                } catch (Throwable e) {
+                    parallelFailure.compareAndSet(null, e);
+                    cancelled = true;
+                }
+            }
+        }
+
+        /**
+         * Runs the theory for a single complete assignment. The anchor uses one
+         * runner for all assignments, so the runner is only constructed once
+         * per theory; each assignment still gets a fresh test instance, with
+         * its own befores, afters and rules.
+         */
+        private final class AssignmentRunner extends BlockJUnit4ClassRunner {
+            private final ThreadLocal<Assignments> complete = new ThreadLocal<Assignments>();
+
+            AssignmentRunner(TestClass testClass) throws InitializationError {
+                super(testClass);
+            }
+
+            Statement assignmentBlock(FrameworkMethod method, Assignments assignment) {
+                complete.set(assignment);
+                try {
+                    return methodBlock(method);
+                } finally {
+                    complete.remove();
+                }
+            }
+
+            @Override
+            protected void collectInitializationErrors(
+                    List<Throwable> errors) {
+                // do nothing
+            }
+
+            @Override
+            public Statement methodBlock(FrameworkMethod method) {
+                final Assignments complete = this.complete.get();
+                final Statement statement = super.methodBlock(method);
+                return new Statement() {
+                    @Override
+                    public void evaluate() throws Throwable {
+                        try {
+                            statement.evaluate();
+                            handleDataPointSuccess();
+                        } catch (AssumptionViolatedException e) {
+                            handleAssumptionViolation(e);
+                        } catch (Throwable e) {
+                            reportParameterizedError(e, complete
+                                    .getArgumentStrings(nullsOk()));
+                        }
+                    }
+
+                };
+            }
+
+            @Override
+            protected Statement methodInvoker(FrameworkMethod method, Object test) {
+                return methodCompletesWithParameters(method, complete.get(), test);
+            }
+
+            @Override
+            public Object createTest() throws Exception {
+                Object[] params = complete.get().getConstructorArguments();
+                
+                if (!nullsOk()) {
+                    Assume.assumeNotNull(params);
+                }
+                
+                return getTestClass().getOnlyConstructor().newInstance(params);
+            }
         }
 
         private Statement methodCompletesWithParameters(
@@ -281,7 +499,7 @@ public class Theories extends BlockJUnit4ClassRunner {
             };
         }
 
-        protected void handleAssumptionViolation(AssumptionViolatedException e) {
+        protected synchronized void handleAssumptionViolation(AssumptionViolatedException e) {
             fInvalidParameters.add(e);
         }
 
@@ -290,6 +508,10 @@ public class Theories extends BlockJUnit4ClassRunner {
             if (params.length == 0) {
                 throw e;
             }
+            if (seed != null) {
+                throw new ParameterizedAssertionError(e, testMethod.getName(),
+                        params, seed);
+            }
             throw new ParameterizedAssertionError(e, testMethod.getName(),
                     params);
         }
@@ -303,7 +525,7 @@ public class Theories extends BlockJUnit4ClassRunner {
             return annotation.nullsAccepted();
         }
 
-        protected void handleDataPointSuccess() {
+        protected synchronized void handleDataPointSuccess() {
             successes++;
         }
     }
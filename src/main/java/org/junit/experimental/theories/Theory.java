@@ -15,4 +15,48 @@ import java.lang.annotation.Target;
 @Target(METHOD)
 public @interface Theory {
     boolean nullsAccepted() default true;
-}
\ No newline at end of file
+
+    /**
+     * Whether the combinations of data points are tried concurrently, on the
+     * threads of {@link org.junit.internal.runners.SharedWorkerPool#getDefault()}
+     * and the thread that runs the theory. The theory, its constructor and its
+     * befores, afters and rules must then be thread-safe. The first
+     * combination that fails cancels the combinations that have not been
+     * tried yet; when several combinations fail at the same time, it is not
+     * defined which of them is reported.
+     *
+     * @since 4.13.3
+     */
+    boolean parallel() default false;
+
+    /**
+     * The number of combinations of data points to draw at random instead of
+     * trying all of them, or {@code 0} to try all combinations unless
+     * {@link #sampleMillis()} is set. Combinations are drawn with
+     * replacement, so a combination may be tried more than once. Sampled
+     * theories are always tried on a single thread; {@link #parallel()} is
+     * ignored.
+     *
+     * @since 4.13.3
+     */
+    int samples() default 0;
+
+    /**
+     * The time in milliseconds after which no further combinations of data
+     * points are drawn at random, or {@code 0} for no time limit. If it is
+     * set, combinations are drawn instead of trying all of them, up to
+     * {@link #samples()} combinations if that is set, too.
+     *
+     * @since 4.13.3
+     */
+    long sampleMillis() default 0;
+
+    /**
+     * The seed of the random combinations of data points, or {@code 0} to use
+     * a new seed for each run. A failure reports the seed it was drawn with,
+     * so setting it here tries the same combinations again.
+     *
+     * @since 4.13.3
+     */
+    long seed() default 0;
+}
@@ -5,7 +5,11 @@ import static java.util.Collections.emptyList;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.experimental.theories.ParameterSignature;
 import org.junit.experimental.theories.ParameterSupplier;
@@ -17,6 +21,14 @@ import org.junit.runners.model.TestClass;
 /**
  * A potentially incomplete list of value assignments for a method's formal
  * parameters
+ *
+ * <p>All assignments that are derived from the same
+ * {@link #allUnassigned(Method, TestClass)} share the value sources of the
+ * parameters: the sources of a parameter are resolved when they are needed for
+ * the first time and are reused for every combination of the values of the
+ * parameters before it. Parameters with the same type and the same annotations
+ * share their sources, too, so e.g. the {@code @DataPoints} methods of the
+ * test class are invoked only once for all {@code int} parameters of a theory.
  */
 public class Assignments {
     private final List<PotentialAssignment> assigned;
@@ -25,11 +37,18 @@ public class Assignments {
 
     private final TestClass clazz;
 
+    private final int constructorParameterCount;
+
+    private final ValueSources valueSources;
+
     private Assignments(List<PotentialAssignment> assigned,
-            List<ParameterSignature> unassigned, TestClass clazz) {
+            List<ParameterSignature> unassigned, TestClass clazz,
+            int constructorParameterCount, ValueSources valueSources) {
         this.unassigned = unassigned;
         this.assigned = assigned;
         this.clazz = clazz;
+        this.constructorParameterCount = constructorParameterCount;
+        this.valueSources = valueSources;
     }
 
     /**
@@ -41,9 +60,11 @@ public class Assignments {
         List<ParameterSignature> signatures;
         signatures = ParameterSignature.signatures(testClass
                 .getOnlyConstructor());
+        int constructorParameterCount = signatures.size();
         signatures.addAll(ParameterSignature.signatures(testMethod));
         return new Assignments(new ArrayList<PotentialAssignment>(),
-                signatures, testClass);
+                signatures, testClass, constructorParameterCount,
+                new ValueSources(signatures.size()));
     }
 
     public boolean isComplete() {
@@ -59,7 +80,8 @@ public class Assignments {
         potentialAssignments.add(source);
 
         return new Assignments(potentialAssignments, unassigned.subList(1,
-                unassigned.size()), clazz);
+                unassigned.size()), clazz, constructorParameterCount,
+                valueSources);
     }
 
     public Object[] getActualValues(int start, int stop) 
@@ -71,9 +93,35 @@ public class Assignments {
         return values;
     }
 
+    /**
+     * Returns the value sources of the next unassigned parameter. The sources
+     * are resolved once and the same unmodifiable list is returned for every
+     * assignment that is derived from the same
+     * {@link #allUnassigned(Method, TestClass)}.
+     */
     public List<PotentialAssignment> potentialsForNextUnassigned()
             throws Throwable {
-        ParameterSignature unassigned = nextUnassigned();
+        int index = assigned.size();
+        synchronized (valueSources) {
+            List<PotentialAssignment> assignments = valueSources.byIndex.get(index);
+            if (assignments == null) {
+                ParameterSignature unassigned = nextUnassigned();
+                List<Object> key = Arrays.<Object>asList(unassigned.getType(),
+                        unassigned.getAnnotations());
+                assignments = valueSources.bySignature.get(key);
+                if (assignments == null) {
+                    assignments = Collections.unmodifiableList(
+                            resolveValueSources(unassigned));
+                    valueSources.bySignature.put(key, assignments);
+                }
+                valueSources.byIndex.set(index, assignments);
+            }
+            return assignments;
+        }
+    }
+
+    private List<PotentialAssignment> resolveValueSources(ParameterSignature unassigned)
+            throws Throwable {
         List<PotentialAssignment> assignments = getSupplier(unassigned).getValueSources(unassigned);
         
         if (assignments.isEmpty()) {
@@ -124,24 +172,17 @@ public class Assignments {
 
     public Object[] getConstructorArguments()
             throws CouldNotGenerateValueException {
-        return getActualValues(0, getConstructorParameterCount());
+        return getActualValues(0, constructorParameterCount);
     }
 
     public Object[] getMethodArguments() throws CouldNotGenerateValueException {
-        return getActualValues(getConstructorParameterCount(), assigned.size());
+        return getActualValues(constructorParameterCount, assigned.size());
     }
 
     public Object[] getAllArguments() throws CouldNotGenerateValueException {
         return getActualValues(0, assigned.size());
     }
 
-    private int getConstructorParameterCount() {
-        List<ParameterSignature> signatures = ParameterSignature
-                .signatures(clazz.getOnlyConstructor());
-        int constructorParameterCount = signatures.size();
-        return constructorParameterCount;
-    }
-
     public Object[] getArgumentStrings(boolean nullsOk)
             throws CouldNotGenerateValueException {
         Object[] values = new Object[assigned.size()];
@@ -150,4 +191,23 @@ public class Assignments {
         }
         return values;
     }
-}
\ No newline at end of file
+
+    /**
+     * The resolved value sources of the parameters of a theory. Guarded by
+     * itself, because a theory may be tried on several threads.
+     */
+    private static final class ValueSources {
+        // The entry at index i holds the sources of parameter i, or null if
+        // they have not been looked up yet.
+        final List<List<PotentialAssignment>> byIndex;
+
+        // Keyed by the type and the annotations of the parameter
+        final Map<List<Object>, List<PotentialAssignment>> bySignature
+                = new HashMap<List<Object>, List<PotentialAssignment>>();
+
+        ValueSources(int parameterCount) {
+            byIndex = new ArrayList<List<PotentialAssignment>>(
+                    Collections.<List<PotentialAssignment>>nCopies(parameterCount, null));
+        }
+    }
+}
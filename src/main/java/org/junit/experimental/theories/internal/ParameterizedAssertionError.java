@@ -7,10 +7,37 @@ import java.util.Iterator;
 public class ParameterizedAssertionError extends AssertionError {
     private static final long serialVersionUID = 1L;
 
+    private final Long seed;
+
     public ParameterizedAssertionError(Throwable targetException,
             String methodName, Object... params) {
         super(String.format("%s(%s)", methodName, join(", ", params)));
         this.initCause(targetException);
+        this.seed = null;
+    }
+
+    /**
+     * Creates an error for parameters that were drawn at random. The message
+     * contains the seed, so that the same parameters can be drawn again with
+     * {@link org.junit.experimental.theories.Theory#seed()}.
+     *
+     * @since 4.13.3
+     */
+    public ParameterizedAssertionError(Throwable targetException,
+            String methodName, Object[] params, long seed) {
+        super(String.format("%s(%s) with seed %d", methodName, join(", ", params), seed));
+        this.initCause(targetException);
+        this.seed = seed;
+    }
+
+    /**
+     * Returns the seed the parameters were drawn with, or {@code null} if
+     * they were not drawn at random.
+     *
+     * @since 4.13.3
+     */
+    public Long getSeed() {
+        return seed;
     }
 
     @Override
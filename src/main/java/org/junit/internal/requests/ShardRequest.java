@@ -0,0 +1,46 @@
+package org.junit.internal.requests;
+
+import org.junit.runner.Request;
+import org.junit.runner.Runner;
+import org.junit.runner.manipulation.NoTestsRemainException;
+import org.junit.runner.manipulation.ShardStrategy;
+import org.junit.runners.Suite;
+
+/**
+ * A {@link Request} that runs one shard of another request.
+ *
+ * @since 4.13.3
+ */
+public final class ShardRequest extends MemoizingRequest {
+    private final Request request;
+    private final int index;
+    private final int total;
+    private final ShardStrategy strategy;
+
+    /**
+     * Creates a request that runs the tests of {@code request} that
+     * {@code strategy} assigns to the shard with the given index.
+     */
+    public ShardRequest(Request request, int index, int total, ShardStrategy strategy) {
+        ShardStrategy.validateShard(index, total);
+        if (strategy == null) {
+            throw new NullPointerException("strategy cannot be null");
+        }
+        this.request = request;
+        this.index = index;
+        this.total = total;
+        this.strategy = strategy;
+    }
+
+    @Override
+    protected Runner createRunner() {
+        Runner runner = request.getRunner();
+        try {
+            strategy.createFilter(runner.getDescription(), index, total).apply(runner);
+            return runner;
+        } catch (NoTestsRemainException e) {
+            // There may be more shards than test classes
+            return Suite.emptySuite();
+        }
+    }
+}
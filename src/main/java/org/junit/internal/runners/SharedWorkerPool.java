@@ -0,0 +1,234 @@
+package org.junit.internal.runners;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * A bounded pool of daemon worker threads that can be shared by any number of
+ * {@link RunnerScheduler}s.
+ *
+ * <p>Schedulers created by {@link #newScheduler()} never block a thread while
+ * there is work they could do themselves: {@link RunnerScheduler#finished()}
+ * first runs every child that no worker has picked up yet on the calling
+ * thread, and only then waits for the children that are already running
+ * elsewhere. Because a thread only ever waits for children that are making
+ * progress, nested suites sharing one pool cannot deadlock even when every
+ * worker is busy waiting for its own children.
+ *
+ * <p>Workers are started on demand, never exceed the configured parallelism,
+ * and terminate after being idle for a while, so an unused pool holds no
+ * threads.
+ *
+ * @since 4.13.3
+ */
+public final class SharedWorkerPool {
+    private static final long KEEP_ALIVE_MILLIS = 1000;
+
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+
+    private static volatile SharedWorkerPool defaultPool;
+
+    private final int parallelism;
+
+    private final String threadNamePrefix;
+
+    private final BlockingQueue<ForkedChild> queue = new LinkedBlockingQueue<ForkedChild>();
+
+    private final AtomicInteger workerCount = new AtomicInteger();
+
+    private final AtomicInteger threadNumber = new AtomicInteger();
+
+    /**
+     * Creates a pool running at most {@code parallelism} worker threads.
+     *
+     * @throws IllegalArgumentException if {@code parallelism} is not positive
+     */
+    public SharedWorkerPool(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+        threadNamePrefix = "junit-worker-" + POOL_NUMBER.incrementAndGet() + "-";
+    }
+
+    /**
+     * Returns the process-wide pool, whose parallelism is the number of
+     * available processors.
+     */
+    public static SharedWorkerPool getDefault() {
+        if (defaultPool == null) {
+            synchronized (SharedWorkerPool.class) {
+                if (defaultPool == null) {
+                    defaultPool = new SharedWorkerPool(Runtime.getRuntime().availableProcessors());
+                }
+            }
+        }
+        return defaultPool;
+    }
+
+    /**
+     * Returns the maximum number of worker threads of this pool.
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Returns the number of worker threads that are currently alive.
+     */
+    public int getWorkerCount() {
+        return workerCount.get();
+    }
+
+    /**
+     * Returns a new scheduler that submits children to this pool. A scheduler
+     * must not be used by two concurrent runs of the same runner.
+     */
+    public RunnerScheduler newScheduler() {
+        return new Scheduler();
+    }
+
+    private void submit(ForkedChild child) {
+        queue.add(child);
+        while (true) {
+            int current = workerCount.get();
+            if (current >= parallelism) {
+                return;
+            }
+            if (workerCount.compareAndSet(current, current + 1)) {
+                startWorker();
+                return;
+            }
+        }
+    }
+
+    private void startWorker() {
+        Thread worker = new Thread(new Runnable() {
+            public void run() {
+                work();
+            }
+        }, threadNamePrefix + threadNumber.incrementAndGet());
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void work() {
+        while (true) {
+            ForkedChild child;
+            try {
+                child = queue.poll(KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                child = null;
+            }
+            if (child != null) {
+                child.tryRun();
+                Thread.interrupted(); // clearing interrupted status for isolation
+            } else if (!keepWorking()) {
+                return;
+            }
+        }
+    }
+
+    private boolean keepWorking() {
+        workerCount.decrementAndGet();
+        // A child may have been queued after the poll timed out but before the
+        // count dropped; in that case nobody else has started a worker for it.
+        while (!queue.isEmpty()) {
+            int current = workerCount.get();
+            if (current >= parallelism) {
+                return false;
+            }
+            if (workerCount.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private final class Scheduler implements RunnerScheduler {
+        private List<ForkedChild> children = new ArrayList<ForkedChild>();
+
+        public void schedule(Runnable childStatement) {
+            ForkedChild child = new ForkedChild(childStatement);
+            children.add(child);
+            submit(child);
+        }
+
+        public void finished() {
+            List<ForkedChild> forked = children;
+            children = new ArrayList<ForkedChild>();
+
+            Throwable firstFailure = null;
+            for (ForkedChild each : forked) {
+                each.tryRun();
+            }
+            for (ForkedChild each : forked) {
+                each.join();
+                if (firstFailure == null) {
+                    firstFailure = each.failure;
+                }
+            }
+            if (firstFailure instanceof RuntimeException) {
+                throw (RuntimeException) firstFailure;
+            } else if (firstFailure instanceof Error) {
+                throw (Error) firstFailure;
+            }
+        }
+    }
+
+    private static final class ForkedChild {
+        private static final int NEW = 0;
+        private static final int CLAIMED = 1;
+
+        private final Runnable statement;
+
+        private final AtomicInteger state = new AtomicInteger(NEW);
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private volatile Throwable failure;
+
+        ForkedChild(Runnable statement) {
+            this.statement = statement;
+        }
+
+        /**
+         * Runs the child on the current thread unless another thread has
+         * already claimed it.
+         */
+        void tryRun() {
+            if (!state.compareAndSet(NEW, CLAIMED)) {
+                return;
+            }
+            try {
+                statement.run();
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                done.countDown();
+            }
+        }
+
+        void join() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
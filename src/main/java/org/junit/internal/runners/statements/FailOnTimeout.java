@@ -2,7 +2,9 @@ package org.junit.internal.runners.statements;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
@@ -12,6 +14,7 @@ import java.util.concurrent.TimeoutException;
 
 import org.junit.internal.management.ManagementFactory;
 import org.junit.internal.management.ThreadMXBean;
+import org.junit.rules.Timeout;
 import org.junit.runners.model.MultipleFailureException;
 import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestTimedOutException;
@@ -21,6 +24,7 @@ public class FailOnTimeout extends Statement {
     private final TimeUnit timeUnit;
     private final long timeout;
     private final boolean lookForStuckThread;
+    private final Timeout.Mode mode;
 
     /**
      * Returns a new builder for building an instance.
@@ -48,6 +52,7 @@ public class FailOnTimeout extends Statement {
         timeout = builder.timeout;
         timeUnit = builder.unit;
         lookForStuckThread = builder.lookForStuckThread;
+        mode = builder.mode;
     }
 
     /**
@@ -59,6 +64,7 @@ public class FailOnTimeout extends Statement {
         private boolean lookForStuckThread = false;
         private long timeout = 0;
         private TimeUnit unit = TimeUnit.SECONDS;
+        private Timeout.Mode mode = Timeout.Mode.THREAD_PER_TEST;
 
         private Builder() {
         }
@@ -102,6 +108,21 @@ public class FailOnTimeout extends Statement {
             return this;
         }
 
+        /**
+         * Specifies how the statement is run and stopped when it times out.
+         *
+         * @param mode the mode; {@link Timeout.Mode#THREAD_PER_TEST} by default
+         * @return {@code this} for method chaining.
+         * @since 4.13.3
+         */
+        public Builder withMode(Timeout.Mode mode) {
+            if (mode == null) {
+                throw new NullPointerException("mode cannot be null");
+            }
+            this.mode = mode;
+            return this;
+        }
+
         /**
          * Builds a {@link FailOnTimeout} instance using the values in this builder,
          * wrapping the given statement.
@@ -118,19 +139,53 @@ public class FailOnTimeout extends Statement {
 
     @Override
     public void evaluate() throws Throwable {
-        CallableStatement callable = new CallableStatement();
+        if (mode == Timeout.Mode.WATCHDOG) {
+            evaluateInCallingThread();
+            return;
+        }
+        CallableStatement callable = new CallableStatement(TimeoutScope.current().newChild());
         FutureTask<Throwable> task = new FutureTask<Throwable>(callable);
-        ThreadGroup threadGroup = threadGroupForNewThread();
-        Thread thread = new Thread(threadGroup, task, "Time-limited test");
-        thread.setDaemon(true);
-        thread.start();
+        if (mode == Timeout.Mode.POOLED) {
+            TimeLimitedThreads.execute(task);
+        } else {
+            ThreadGroup threadGroup = threadGroupForNewThread();
+            Thread thread = new Thread(threadGroup, task, "Time-limited test");
+            thread.setDaemon(true);
+            thread.start();
+        }
         callable.awaitStarted();
-        Throwable throwable = getResult(task, thread);
+        Throwable throwable = getResult(task, callable);
         if (throwable != null) {
             throw throwable;
         }
     }
 
+    private void evaluateInCallingThread() throws Throwable {
+        if (timeout == 0) {
+            originalStatement.evaluate();
+            return;
+        }
+        TimeoutScope scope = TimeoutScope.current().newChild();
+        Expiry expiry = new Expiry(Thread.currentThread(), scope);
+        TimeoutWatchdog.schedule(expiry, timeUnit.toNanos(timeout));
+        TimeoutScope previous = scope.enter();
+        Throwable failure = null;
+        try {
+            originalStatement.evaluate();
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            TimeoutScope.restore(previous);
+        }
+        if (!expiry.cancel()) {
+            Thread.interrupted(); // clear the interrupt of the watchdog
+            throw expiry.timeoutException;
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
     private ThreadGroup threadGroupForNewThread() {
         if (!lookForStuckThread) {
             // Use the default ThreadGroup (usually the one from the current
@@ -161,7 +216,7 @@ public class FailOnTimeout extends Statement {
      * test failed, an exception indicating a timeout if the test timed out, or
      * {@code null} if the test passed.
      */
-    private Throwable getResult(FutureTask<Throwable> task, Thread thread) {
+    private Throwable getResult(FutureTask<Throwable> task, CallableStatement callable) {
         try {
             if (timeout > 0) {
                 return task.get(timeout, timeUnit);
@@ -174,17 +229,27 @@ public class FailOnTimeout extends Statement {
             // test failed; have caller re-throw the exception thrown by the test
             return e.getCause();
         } catch (TimeoutException e) {
-            return createTimeoutException(thread);
+            Thread thread = callable.thread;
+            StackTraceElement[] stackTrace = thread.getStackTrace();
+            Thread stuckThread = lookForStuckThread
+                    ? getStuckThread(thread, callable.threadsBeforeTest) : null;
+            callable.scope.expire();
+            if (stackTrace != null) {
+                if (mode == Timeout.Mode.POOLED) {
+                    // only interrupts the thread if it still runs this test
+                    task.cancel(true);
+                } else {
+                    thread.interrupt();
+                }
+            }
+            return createTimeoutException(stackTrace, stuckThread);
         }
     }
 
-    private Exception createTimeoutException(Thread thread) {
-        StackTraceElement[] stackTrace = thread.getStackTrace();
-        final Thread stuckThread = lookForStuckThread ? getStuckThread(thread) : null;
+    private Exception createTimeoutException(StackTraceElement[] stackTrace, Thread stuckThread) {
         Exception currThreadException = new TestTimedOutException(timeout, timeUnit);
         if (stackTrace != null) {
             currThreadException.setStackTrace(stackTrace);
-            thread.interrupt();
         }
         if (stuckThread != null) {
             Exception stuckThreadException = 
@@ -217,12 +282,13 @@ public class FailOnTimeout extends Statement {
      * the "main thread" (the one created to run the test).  This feature is experimental.
      * Behavior may change after the 4.12 release in response to feedback.
      * @param mainThread The main thread created by {@code evaluate()}
+     * @param ignoredThreads Threads that existed before the test was started
      * @return The thread which appears to be causing the problem, if different from
      * {@code mainThread}, or {@code null} if the main thread appears to be the
      * problem or if the thread cannot be determined.  The return value is never equal 
      * to {@code mainThread}.
      */
-    private Thread getStuckThread(Thread mainThread) {
+    private Thread getStuckThread(Thread mainThread, Set<Thread> ignoredThreads) {
         List<Thread> threadsInGroup = getThreadsInGroup(mainThread.getThreadGroup());
         if (threadsInGroup.isEmpty()) {
             return null;
@@ -236,7 +302,7 @@ public class FailOnTimeout extends Statement {
         Thread stuckThread = null;
         long maxCpuTime = 0;
         for (Thread thread : threadsInGroup) {
-            if (thread.getState() == Thread.State.RUNNABLE) {
+            if (thread.getState() == Thread.State.RUNNABLE && !ignoredThreads.contains(thread)) {
                 long threadCpuTime = cpuTime(thread);
                 if (stuckThread == null || threadCpuTime > maxCpuTime) {
                     stuckThread = thread;
@@ -290,17 +356,68 @@ public class FailOnTimeout extends Statement {
         return 0;
     }
 
+    /**
+     * Expires the deadline of a test that runs in the calling thread.
+     */
+    private class Expiry extends TimeoutWatchdog.Deadline {
+        private final Thread thread;
+        private final TimeoutScope scope;
+        private final Set<Thread> threadsBeforeTest;
+        Exception timeoutException;
+
+        Expiry(Thread thread, TimeoutScope scope) {
+            this.thread = thread;
+            this.scope = scope;
+            if (lookForStuckThread) {
+                // The test runs in the thread group of the caller, which may
+                // contain threads that have nothing to do with the test.
+                threadsBeforeTest = new HashSet<Thread>(getThreadsInGroup(thread.getThreadGroup()));
+                threadsBeforeTest.remove(thread);
+            } else {
+                threadsBeforeTest = null;
+            }
+        }
+
+        @Override
+        protected void expired() {
+            StackTraceElement[] stackTrace = getStackTrace(thread);
+            Thread stuckThread = lookForStuckThread ? getStuckThread(thread, threadsBeforeTest) : null;
+            scope.expire();
+            thread.interrupt();
+            timeoutException = createTimeoutException(stackTrace, stuckThread);
+        }
+    }
+
     private class CallableStatement implements Callable<Throwable> {
         private final CountDownLatch startLatch = new CountDownLatch(1);
+        private final TimeoutScope scope;
+        private volatile Thread thread;
+        private volatile Set<Thread> threadsBeforeTest = Collections.emptySet();
+
+        CallableStatement(TimeoutScope scope) {
+            this.scope = scope;
+        }
 
         public Throwable call() throws Exception {
+            TimeoutScope previous = scope.enter();
             try {
+                thread = Thread.currentThread();
+                if (lookForStuckThread) {
+                    // A thread of the pool keeps its thread group, which may
+                    // still contain threads started by earlier tests.
+                    Set<Thread> threads = new HashSet<Thread>(
+                            getThreadsInGroup(thread.getThreadGroup()));
+                    threads.remove(thread);
+                    threadsBeforeTest = threads;
+                }
                 startLatch.countDown();
                 originalStatement.evaluate();
             } catch (Exception e) {
                 throw e;
             } catch (Throwable e) {
                 return e;
+            } finally {
+                TimeoutScope.restore(previous);
             }
             return null;
         }
@@ -0,0 +1,65 @@
+package org.junit.internal.runners.statements;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The pool of threads that run time-limited tests in
+ * {@link org.junit.rules.Timeout.Mode#POOLED} mode.
+ *
+ * <p>The pool never queues a test: a test is handed to an idle thread, or to a
+ * new thread if the pool is not yet full. If all threads are busy, e.g.
+ * because tests that timed out are stuck, the test runs in a new thread outside
+ * of the pool. Idle threads terminate after a while.
+ */
+final class TimeLimitedThreads {
+    private static final int MAX_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private static final ThreadFactory THREAD_FACTORY = new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+            return newTimeLimitedThread(runnable);
+        }
+    };
+
+    private static final ThreadPoolExecutor EXECUTOR = new ThreadPoolExecutor(
+            0, MAX_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(), THREAD_FACTORY,
+            new RejectedExecutionHandler() {
+                public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+                    newTimeLimitedThread(task).start();
+                }
+            });
+
+    private TimeLimitedThreads() {
+    }
+
+    /**
+     * Runs {@code task} in a thread of the pool. The pool clears the
+     * interrupted status of a thread before it runs the next task.
+     */
+    static void execute(Runnable task) {
+        EXECUTOR.execute(task);
+    }
+
+    /**
+     * Creates a thread in its own thread group, so that the threads started by
+     * the tests it runs can be told apart from other threads.
+     */
+    private static Thread newTimeLimitedThread(Runnable runnable) {
+        ThreadGroup threadGroup = new ThreadGroup("FailOnTimeoutGroup");
+        try {
+            // destroy the group when the thread terminates
+            threadGroup.setDaemon(true);
+        } catch (SecurityException e) {
+            // keep the group
+        }
+        Thread thread = new Thread(threadGroup, runnable, "Time-limited test");
+        thread.setDaemon(true);
+        return thread;
+    }
+}
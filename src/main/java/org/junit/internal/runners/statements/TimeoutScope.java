@@ -0,0 +1,78 @@
+package org.junit.internal.runners.statements;
+
+/**
+ * The {@link FailOnTimeout} statements that enclose the code running in a
+ * thread. A runner uses the scope to stop starting further children once an
+ * enclosing statement, e.g. a {@link org.junit.rules.Timeout} that is used as
+ * a {@link org.junit.ClassRule}, has timed out.
+ *
+ * @since 4.13.3
+ */
+public final class TimeoutScope {
+    private static final TimeoutScope NONE = new TimeoutScope(null);
+
+    private static final ThreadLocal<TimeoutScope> CURRENT = new ThreadLocal<TimeoutScope>() {
+        @Override
+        protected TimeoutScope initialValue() {
+            return NONE;
+        }
+    };
+
+    private final TimeoutScope parent;
+
+    private volatile boolean expired;
+
+    private TimeoutScope(TimeoutScope parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Returns the scope of the current thread. A runner that runs its children
+     * in other threads should capture the scope before it schedules them.
+     */
+    public static TimeoutScope current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns {@code true} if this scope or any of its enclosing scopes has
+     * timed out.
+     */
+    public boolean hasExpired() {
+        for (TimeoutScope scope = this; scope != null; scope = scope.parent) {
+            if (scope.expired) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    TimeoutScope newChild() {
+        return new TimeoutScope(this);
+    }
+
+    /**
+     * Makes this the scope of the current thread. A runner that runs a child
+     * in another thread enters the scope it captured before running it, so
+     * that the timeouts of the child are nested inside this scope.
+     *
+     * @return the previous scope, to be passed to {@link #restore(TimeoutScope)}
+     */
+    public TimeoutScope enter() {
+        TimeoutScope previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    /**
+     * Makes {@code previous}, as returned by {@link #enter()}, the scope of the
+     * current thread again.
+     */
+    public static void restore(TimeoutScope previous) {
+        CURRENT.set(previous);
+    }
+
+    void expire() {
+        expired = true;
+    }
+}
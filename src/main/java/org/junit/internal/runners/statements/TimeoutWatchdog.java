@@ -0,0 +1,253 @@
+package org.junit.internal.runners.statements;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A daemon thread that expires the deadlines of statements that run in
+ * {@link org.junit.rules.Timeout.Mode#WATCHDOG} mode. The thread is shared by
+ * all tests, test classes and suites of the JVM and started when the first
+ * deadline is scheduled.
+ *
+ * <p>Deadlines are kept in a hashed timing wheel: the time is divided into
+ * ticks of {@link #TICK_NANOS}, and a deadline is linked into the bucket of
+ * the first tick that begins after it is due, modulo the size of the wheel.
+ * Scheduling and cancelling a deadline take constant time, no matter how many
+ * deadlines are pending, and on every tick the watchdog only looks at a single
+ * bucket. A deadline therefore expires at most one tick late. While no
+ * deadline is pending the watchdog does not wake up at all.
+ */
+final class TimeoutWatchdog {
+    static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    static final int WHEEL_SIZE = 512;
+
+    private static final Object LOCK = new Object();
+
+    private static final long ORIGIN = System.nanoTime();
+
+    // Guarded by LOCK
+    private static final Deadline[] BUCKETS = new Deadline[WHEEL_SIZE];
+
+    // Guarded by LOCK: the latest tick whose bucket has been expired
+    private static long processedTick = -1;
+
+    // Guarded by LOCK
+    private static int pendingCount;
+
+    // Guarded by LOCK
+    private static boolean started;
+
+    private TimeoutWatchdog() {
+    }
+
+    /**
+     * Schedules {@code deadline} to expire after {@code delay} nanoseconds
+     * unless it is cancelled before. A deadline can only be scheduled once.
+     */
+    static void schedule(Deadline deadline, long delay) {
+        long due = System.nanoTime() - ORIGIN + delay;
+        synchronized (LOCK) {
+            if (pendingCount == 0) {
+                // All buckets are empty, so the watchdog can skip the ticks
+                // that passed while it was idle.
+                processedTick = Math.max(processedTick, tickAt(System.nanoTime() - ORIGIN) - 1);
+            }
+            deadline.tick = Math.max(ceilTick(due), processedTick + 1);
+            link(deadline);
+            if (!started) {
+                started = true;
+                startWatchdog();
+            }
+            if (pendingCount == 1) {
+                LOCK.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of deadlines that are neither cancelled nor expired.
+     */
+    static int pendingCount() {
+        synchronized (LOCK) {
+            return pendingCount;
+        }
+    }
+
+    private static long tickAt(long nanos) {
+        return nanos / TICK_NANOS;
+    }
+
+    private static long ceilTick(long nanos) {
+        return (nanos + TICK_NANOS - 1) / TICK_NANOS;
+    }
+
+    private static void link(Deadline deadline) {
+        int bucket = bucketOf(deadline.tick);
+        Deadline head = BUCKETS[bucket];
+        deadline.next = head;
+        if (head != null) {
+            head.previous = deadline;
+        }
+        BUCKETS[bucket] = deadline;
+        deadline.linked = true;
+        pendingCount++;
+    }
+
+    private static void unlink(Deadline deadline) {
+        if (deadline.previous == null) {
+            BUCKETS[bucketOf(deadline.tick)] = deadline.next;
+        } else {
+            deadline.previous.next = deadline.next;
+        }
+        if (deadline.next != null) {
+            deadline.next.previous = deadline.previous;
+        }
+        deadline.previous = null;
+        deadline.next = null;
+        deadline.linked = false;
+        pendingCount--;
+    }
+
+    private static int bucketOf(long tick) {
+        return (int) (tick & (WHEEL_SIZE - 1));
+    }
+
+    private static void startWatchdog() {
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                watch();
+            }
+        }, "junit-timeout-watchdog");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void watch() {
+        List<Deadline> due = new ArrayList<Deadline>();
+        while (true) {
+            try {
+                awaitNextTick(due);
+            } catch (InterruptedException e) {
+                // keep watching
+            }
+            for (Deadline deadline : due) {
+                try {
+                    deadline.expire();
+                } catch (RuntimeException e) {
+                    // a failure of one deadline must not stop the others
+                }
+            }
+            due.clear();
+        }
+    }
+
+    /**
+     * Waits until the next tick has begun and moves the deadlines that are
+     * due by then to {@code due}.
+     */
+    private static void awaitNextTick(List<Deadline> due) throws InterruptedException {
+        synchronized (LOCK) {
+            while (pendingCount == 0) {
+                LOCK.wait();
+            }
+            long tick = processedTick + 1;
+            long remaining = tick * TICK_NANOS - (System.nanoTime() - ORIGIN);
+            if (remaining > 0) {
+                // Scheduling a deadline does not move the next tick, so the
+                // wait can be cut short without missing anything.
+                TimeUnit.NANOSECONDS.timedWait(LOCK, remaining);
+                return;
+            }
+            Deadline deadline = BUCKETS[bucketOf(tick)];
+            while (deadline != null) {
+                Deadline next = deadline.next;
+                if (deadline.tick <= tick) {
+                    unlink(deadline);
+                    due.add(deadline);
+                }
+                deadline = next;
+            }
+            processedTick = tick;
+        }
+    }
+
+    /**
+     * A deadline that is either cancelled by the statement or expired by the
+     * watchdog, but never both.
+     */
+    abstract static class Deadline {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRING = 2;
+        private static final int EXPIRED = 3;
+
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // Guarded by LOCK
+        private long tick;
+
+        // Guarded by LOCK
+        private boolean linked;
+
+        // Guarded by LOCK
+        private Deadline previous;
+
+        // Guarded by LOCK
+        private Deadline next;
+
+        /**
+         * Called by the watchdog thread if the deadline has not been cancelled
+         * in time.
+         */
+        protected abstract void expired();
+
+        /**
+         * Cancels the deadline. If the deadline has already expired, waits
+         * until {@link #expired()} has returned.
+         *
+         * @return {@code true} if the deadline was cancelled, {@code false} if
+         * it has expired
+         */
+        final boolean cancel() {
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                synchronized (LOCK) {
+                    if (linked) {
+                        unlink(this);
+                    }
+                }
+                return true;
+            }
+            synchronized (this) {
+                boolean interrupted = false;
+                while (state.get() != EXPIRED) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return false;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRING)) {
+                return;
+            }
+            try {
+                expired();
+            } finally {
+                synchronized (this) {
+                    state.set(EXPIRED);
+                    notifyAll();
+                }
+            }
+        }
+    }
+}
@@ -34,6 +34,22 @@ import java.util.concurrent.TimeUnit;
  * A specified timeout of 0 will be interpreted as not set, however tests will
  * still launch from separate threads. This can be useful for disabling timeouts
  * in environments where they are dynamically set based on some property.
+ * <p>
+ * Starting a new thread per test can dominate the time of short tests. The
+ * {@link Mode} of a rule built with {@link #builder()} chooses a cheaper way of
+ * enforcing the timeout.
+ * <p>
+ * Used as a {@link org.junit.ClassRule}, a {@code Timeout} limits the time of a
+ * whole test class, or of a whole run when it is declared by a suite. Once it
+ * has expired, the running test is interrupted and the remaining tests are not
+ * started:
+ * <pre>
+ * &#064;ClassRule
+ * public static Timeout classTimeout = Timeout.builder()
+ *         .withTimeout(5, TimeUnit.MINUTES)
+ *         .withMode(Timeout.Mode.WATCHDOG)
+ *         .build();
+ * </pre>
  *
  * @since 4.7
  */
@@ -41,6 +57,43 @@ public class Timeout implements TestRule {
     private final long timeout;
     private final TimeUnit timeUnit;
     private final boolean lookForStuckThread;
+    private final Mode mode;
+
+    /**
+     * How a test is run and stopped when it times out.
+     *
+     * @since 4.13.3
+     */
+    public enum Mode {
+        /**
+         * Runs each test in a new thread. This is the default.
+         */
+        THREAD_PER_TEST,
+
+        /**
+         * Runs each test in a thread of a bounded pool of reused threads. A
+         * thread is interrupted when its test times out and its interrupted
+         * status is cleared before it runs the next test. Every thread of the
+         * pool has its own thread group, so stuck threads can still be found.
+         * If all threads of the pool are busy, a new thread is started.
+         */
+        POOLED,
+
+        /**
+         * Runs each test in the calling thread. A shared watchdog thread
+         * records the stack trace of a test that times out and interrupts it.
+         * Unlike with the other modes, a test that does not respond to the
+         * interrupt is not abandoned: the timeout is only reported once the
+         * test has finished. A timeout of {@code 0} runs the test without
+         * any overhead.
+         *
+         * <p>The watchdog keeps the deadlines of all tests, classes and suites
+         * in a timing wheel, so even many nested or concurrent deadlines cost
+         * next to nothing. A deadline expires at most about 10 milliseconds
+         * late.
+         */
+        WATCHDOG
+    }
 
     /**
      * Returns a new builder for building an instance.
@@ -81,6 +134,7 @@ public class Timeout implements TestRule {
         this.timeout = timeout;
         this.timeUnit = timeUnit;
         lookForStuckThread = false;
+        mode = Mode.THREAD_PER_TEST;
     }
 
     /**
@@ -93,6 +147,7 @@ public class Timeout implements TestRule {
         timeout = builder.getTimeout();
         timeUnit = builder.getTimeUnit();
         lookForStuckThread = builder.getLookingForStuckThread();
+        mode = builder.getMode();
     }
 
     /**
@@ -134,6 +189,15 @@ public class Timeout implements TestRule {
         return lookForStuckThread;
     }
 
+    /**
+     * Gets the {@link Mode} in which this {@code Timeout} runs tests.
+     *
+     * @since 4.13.3
+     */
+    protected final Mode getMode() {
+        return mode;
+    }
+
     /**
      * Creates a {@link Statement} that will run the given
      * {@code statement}, and timeout the operation based
@@ -147,6 +211,7 @@ public class Timeout implements TestRule {
         return FailOnTimeout.builder()
             .withTimeout(timeout, timeUnit)
             .withLookingForStuckThread(lookForStuckThread)
+            .withMode(mode)
             .build(statement);
     }
 
@@ -171,6 +236,7 @@ public class Timeout implements TestRule {
         private boolean lookForStuckThread = false;
         private long timeout = 0;
         private TimeUnit timeUnit = TimeUnit.SECONDS;
+        private Mode mode = Mode.THREAD_PER_TEST;
 
         protected Builder() {
         }
@@ -222,6 +288,28 @@ public class Timeout implements TestRule {
             return lookForStuckThread;
         }
 
+        /**
+         * Specifies how tests are run and stopped when they time out.
+         *
+         * @param mode the mode; {@link Mode#THREAD_PER_TEST} by default
+         * @return {@code this} for method chaining.
+         * @since 4.13.3
+         */
+        public Builder withMode(Mode mode) {
+            if (mode == null) {
+                throw new NullPointerException("mode cannot be null");
+            }
+            this.mode = mode;
+            return this;
+        }
+
+        /**
+         * @since 4.13.3
+         */
+        protected Mode getMode() {
+            return mode;
+        }
+
 
         /**
          * Builds a {@link Timeout} instance using the values in this builder.,
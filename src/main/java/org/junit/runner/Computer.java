@@ -1,8 +1,11 @@
 package org.junit.runner;
 
+import java.util.List;
+
 import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerBuilder;
+import org.junit.runners.model.RunnerScheduler;
 
 /**
  * Represents a strategy for computing runners and suites.
@@ -29,11 +32,21 @@ public class Computer {
     public Runner getSuite(final RunnerBuilder builder,
             Class<?>[] classes) throws InitializationError {
         // new一个匿名的RunnerBuilder runnerForClass方法回调传入的builder的对应方法
+        final RunnerScheduler constructionScheduler = getConstructionScheduler();
         return new Suite(new RunnerBuilder() {
             @Override
             public Runner runnerForClass(Class<?> testClass) throws Throwable {
                 return getRunner(builder, testClass);
             }
+
+            @Override
+            public List<Runner> runners(Class<?> parent, Class<?>[] children)
+                    throws InitializationError {
+                if (constructionScheduler == null) {
+                    return super.runners(parent, children);
+                }
+                return runnersInParallel(parent, children, constructionScheduler);
+            }
         }, classes) {
             @Override
             protected String getName() {
@@ -47,6 +60,17 @@ public class Computer {
         };
     }
 
+    /**
+     * Returns the scheduler with which {@link #getSuite(RunnerBuilder, Class[])}
+     * constructs the runners of the classes, or {@code null} to construct them
+     * one after the other. Returns {@code null} by default.
+     *
+     * @since 4.13.3
+     */
+    protected RunnerScheduler getConstructionScheduler() {
+        return null;
+    }
+
     /**
      * Create a single-class runner for {@code testClass}, using {@code builder}
      */
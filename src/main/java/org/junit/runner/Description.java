@@ -1,10 +1,16 @@
 package org.junit.runner;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -33,6 +39,8 @@ public class Description implements Serializable {
     private static final Pattern METHOD_AND_CLASS_NAME_PATTERN = Pattern
             .compile("([\\s\\S]*)\\((.*)\\)");
 
+    private static final Annotation[] NO_ANNOTATIONS = new Annotation[0];
+
     /**
      * Create a <code>Description</code> named <code>name</code>.
      * Generally, you will add children to this <code>Description</code>.
@@ -70,7 +78,7 @@ public class Description implements Serializable {
      * @return a <code>Description</code> named <code>name</code>
      */
     public static Description createTestDescription(String className, String name, Annotation... annotations) {
-        return new Description(null, formatDisplayName(name, className), annotations);
+        return newTestDescription(null, className, name, annotations);
     }
 
     /**
@@ -83,7 +91,7 @@ public class Description implements Serializable {
      * @return a <code>Description</code> named <code>name</code>
      */
     public static Description createTestDescription(Class<?> clazz, String name, Annotation... annotations) {
-        return new Description(clazz, formatDisplayName(name, clazz.getName()), annotations);
+        return newTestDescription(clazz, clazz.getName(), name, annotations);
     }
 
     /**
@@ -96,7 +104,7 @@ public class Description implements Serializable {
      * @return a <code>Description</code> named <code>name</code>
      */
     public static Description createTestDescription(Class<?> clazz, String name) {
-        return new Description(clazz, formatDisplayName(name, clazz.getName()));
+        return newTestDescription(clazz, clazz.getName(), name, NO_ANNOTATIONS);
     }
 
     /**
@@ -107,11 +115,19 @@ public class Description implements Serializable {
      * @return a <code>Description</code> named <code>name</code>
      */
     public static Description createTestDescription(String className, String name, Serializable uniqueId) {
-        return new Description(null, formatDisplayName(name, className), uniqueId);
+        return new Description(null, formatDisplayName(name, className), String.valueOf(className),
+                String.valueOf(name), uniqueId, NO_ANNOTATIONS);
+    }
+
+    private static Description newTestDescription(Class<?> clazz, String className, String name,
+            Annotation[] annotations) {
+        String displayName = formatDisplayName(name, className);
+        return new Description(clazz, displayName, String.valueOf(className), String.valueOf(name),
+                displayName, annotations);
     }
 
     private static String formatDisplayName(String name, String className) {
-        return String.format("%s(%s)", name, className);
+        return name + '(' + className + ')';
     }
 
     /**
@@ -121,7 +137,8 @@ public class Description implements Serializable {
      * @return a <code>Description</code> of <code>testClass</code>
      */
     public static Description createSuiteDescription(Class<?> testClass) {
-        return new Description(testClass, testClass.getName(), testClass.getAnnotations());
+        return new Description(testClass, testClass.getName(), testClass.getName(), null,
+                testClass.getName(), testClass.getAnnotations());
     }
 
     /**
@@ -132,7 +149,8 @@ public class Description implements Serializable {
      * @return a <code>Description</code> of <code>testClass</code>
      */
     public static Description createSuiteDescription(Class<?> testClass, Annotation... annotations) {
-        return new Description(testClass, testClass.getName(), annotations);
+        return new Description(testClass, testClass.getName(), testClass.getName(), null,
+                testClass.getName(), annotations);
     }
 
     /**
@@ -152,16 +170,50 @@ public class Description implements Serializable {
      * serialization compatibility. 
      * See https://github.com/junit-team/junit4/issues/976
      */
-    private final Collection<Description> fChildren = new ConcurrentLinkedQueue<Description>();
+    private volatile Collection<Description> fChildren;
     private final String fDisplayName;
     private final Serializable fUniqueId;
     private final Annotation[] fAnnotations;
     private volatile /* write-once */ Class<?> fTestClass;
 
+    /*
+     * Descriptions created from a class and method name keep them, so that
+     * they need not be parsed from the display name on every call of
+     * getClassName() and getMethodName(). Descriptions created from a display
+     * name only, and deserialized ones, parse them once when first needed.
+     * fClassName and fMethodName are published by the write to fNamesKnown.
+     */
+    private transient String fClassName;
+    private transient String fMethodName;
+    private transient volatile boolean fNamesKnown;
+
+    /*
+     * Only set for immutable descriptions created by a Builder: the number of
+     * atomic tests (0 if unknown) and, if requested, an index of all atomic
+     * tests in the tree.
+     */
+    private final transient boolean fImmutable;
+    private final transient int fTestCount;
+    private final transient Map<Description, Description> fTestIndex;
+
+    /*
+     * Only set for descriptions created by a Builder that was asked for a
+     * suite: the description is a suite even if it has no children.
+     */
+    private final transient boolean fSuite;
+
     private Description(Class<?> clazz, String displayName, Annotation... annotations) {
         this(clazz, displayName, displayName, annotations);
     }
 
+    private Description(Class<?> testClass, String displayName, String className,
+            String methodName, Serializable uniqueId, Annotation[] annotations) {
+        this(testClass, displayName, uniqueId, annotations);
+        this.fClassName = className;
+        this.fMethodName = methodName;
+        this.fNamesKnown = true;
+    }
+
     private Description(Class<?> testClass, String displayName, Serializable uniqueId, Annotation... annotations) {
         if ((displayName == null) || (displayName.length() == 0)) {
             throw new IllegalArgumentException(
@@ -171,10 +223,153 @@ public class Description implements Serializable {
             throw new IllegalArgumentException(
                     "The unique id must not be null.");
         }
+        this.fChildren = new ConcurrentLinkedQueue<Description>();
         this.fTestClass = testClass;
         this.fDisplayName = displayName;
         this.fUniqueId = uniqueId;
         this.fAnnotations = annotations;
+        this.fImmutable = false;
+        this.fTestCount = 0;
+        this.fTestIndex = null;
+        this.fSuite = false;
+    }
+
+    private Description(Description node, Description[] children, boolean suite,
+            boolean immutable, boolean indexTests) {
+        this.fChildren = children.length == 0 ? Collections.<Description>emptyList()
+                : Collections.unmodifiableList(Arrays.asList(children));
+        this.fTestClass = node.fTestClass;
+        this.fDisplayName = node.fDisplayName;
+        this.fUniqueId = node.fUniqueId;
+        this.fAnnotations = node.fAnnotations;
+        if (node.fNamesKnown) {
+            this.fClassName = node.fClassName;
+            this.fMethodName = node.fMethodName;
+            this.fNamesKnown = true;
+        }
+        this.fSuite = suite;
+        this.fImmutable = immutable;
+        this.fTestCount = immutable ? countTests(children, suite) : 0;
+        this.fTestIndex = immutable && indexTests ? indexTests(children) : null;
+    }
+
+    private static int countTests(Description[] children, boolean suite) {
+        if (children.length == 0) {
+            return suite ? 0 : 1;
+        }
+        int testCount = 0;
+        for (Description child : children) {
+            testCount += child.testCount();
+        }
+        return testCount;
+    }
+
+    private static Map<Description, Description> indexTests(Description[] children) {
+        Map<Description, Description> index = new HashMap<Description, Description>();
+        for (Description child : children) {
+            child.addTestsTo(index);
+        }
+        return index;
+    }
+
+    private void addTestsTo(Map<Description, Description> index) {
+        if (isTest()) {
+            if (!index.containsKey(this)) {
+                index.put(this, this);
+            }
+        } else {
+            for (Description child : fChildren) {
+                child.addTestsTo(index);
+            }
+        }
+    }
+
+    /**
+     * Returns a builder for a {@code Description} with the display name,
+     * unique id, annotations and test class of {@code description}, and with
+     * its children (if any).
+     *
+     * <p>Descriptions created by a builder store their children in an array
+     * until {@link #addChild(Description)} is called for the first time, so
+     * they need less memory. If {@link Builder#immutable()} is requested,
+     * {@code addChild} throws an {@link UnsupportedOperationException} instead,
+     * and {@link #testCount()} and {@link #findTest(Description)} are constant
+     * time operations.
+     *
+     * @param description the description that provides the name and other
+     * meta-data of the new description
+     * @since 4.13.3
+     */
+    public static Builder builder(Description description) {
+        return new Builder(description);
+    }
+
+    /**
+     * Creates {@link Description}s whose children are stored compactly.
+     *
+     * @see Description#builder(Description)
+     * @since 4.13.3
+     */
+    public static final class Builder {
+        private final Description node;
+        private final List<Description> children = new ArrayList<Description>();
+        private boolean suite;
+        private boolean immutable = false;
+        private boolean indexTests = false;
+
+        private Builder(Description node) {
+            this.node = node;
+            suite = node.fSuite;
+            children.addAll(node.fChildren);
+        }
+
+        /**
+         * Adds {@code child} as a child of the new description. The child must
+         * not be modified afterwards.
+         */
+        public Builder addChild(Description child) {
+            children.add(child);
+            return this;
+        }
+
+        /**
+         * Makes the new description a suite even if it has no children, so
+         * that it is neither an atomic test nor counted as one. This is meant
+         * for runners whose tests are not known before they run. Whether a
+         * description is a suite without children is not serialized.
+         */
+        public Builder suite() {
+            suite = true;
+            return this;
+        }
+
+        /**
+         * Makes the new description immutable: {@link Description#addChild(Description)}
+         * throws an {@link UnsupportedOperationException}, and the number of
+         * atomic tests is counted once. The children must not be modified
+         * either. A deserialized copy of the description is mutable again.
+         */
+        public Builder immutable() {
+            immutable = true;
+            return this;
+        }
+
+        /**
+         * Makes the new description {@link #immutable() immutable} and lets it
+         * keep an index of all atomic tests in its tree, so that
+         * {@link Description#findTest(Description)} does not have to walk the
+         * tree. The index is not serialized.
+         */
+        public Builder indexTests() {
+            immutable = true;
+            indexTests = true;
+            return this;
+        }
+
+        public Description build() {
+            return new Description(node, children.toArray(new Description[children.size()]),
+                    suite, immutable, indexTests);
+        }
     }
 
     /**
@@ -188,9 +383,33 @@ public class Description implements Serializable {
      * Add <code>Description</code> as a child of the receiver.
      *
      * @param description the soon-to-be child.
+     * @throws UnsupportedOperationException if the receiver was created by a
+     * {@link Builder} and is {@link Builder#immutable() immutable}
      */
     public void addChild(Description description) {
-        fChildren.add(description);
+        if (fImmutable) {
+            throw new UnsupportedOperationException(
+                    "The description " + fDisplayName + " is immutable.");
+        }
+        mutableChildren().add(description);
+    }
+
+    /**
+     * Descriptions created by a Builder copy their array of children to a
+     * queue when the first child is added.
+     */
+    private Collection<Description> mutableChildren() {
+        Collection<Description> children = fChildren;
+        if (!(children instanceof ConcurrentLinkedQueue)) {
+            synchronized (this) {
+                children = fChildren;
+                if (!(children instanceof ConcurrentLinkedQueue)) {
+                    children = new ConcurrentLinkedQueue<Description>(children);
+                    fChildren = children;
+                }
+            }
+        }
+        return children;
     }
 
     /**
@@ -212,13 +431,16 @@ public class Description implements Serializable {
      * @return <code>true</code> if the receiver is an atomic test
      */
     public boolean isTest() {
-        return fChildren.isEmpty();
+        return !fSuite && fChildren.isEmpty();
     }
 
     /**
      * @return the total number of atomic tests in the receiver
      */
     public int testCount() {
+        if (fTestCount > 0) {
+            return fTestCount;
+        }
         if (isTest()) {
             return 1;
         }
@@ -229,6 +451,28 @@ public class Description implements Serializable {
         return result;
     }
 
+    /**
+     * Returns the atomic test in the tree of the receiver that is equal to
+     * {@code test}, or {@code null} if there is none.
+     *
+     * @since 4.13.3
+     */
+    public Description findTest(Description test) {
+        if (fTestIndex != null) {
+            return fTestIndex.get(test);
+        }
+        if (isTest()) {
+            return equals(test) ? this : null;
+        }
+        for (Description child : fChildren) {
+            Description found = child.findTest(test);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
     @Override
     public int hashCode() {
         return fUniqueId.hashCode();
@@ -260,6 +504,10 @@ public class Description implements Serializable {
      *         children will be added back)
      */
     public Description childlessCopy() {
+        if (fNamesKnown) {
+            return new Description(fTestClass, fDisplayName, fClassName, fMethodName, fDisplayName,
+                    fAnnotations);
+        }
         return new Description(fTestClass, fDisplayName, fAnnotations);
     }
 
@@ -308,7 +556,11 @@ public class Description implements Serializable {
      *         the name of the class of the test instance
      */
     public String getClassName() {
-        return fTestClass != null ? fTestClass.getName() : methodAndClassNamePatternGroupOrDefault(2, toString());
+        if (fTestClass != null) {
+            return fTestClass.getName();
+        }
+        ensureNamesKnown();
+        return fClassName;
     }
 
     /**
@@ -316,12 +568,37 @@ public class Description implements Serializable {
      *         the name of the method (or null if not)
      */
     public String getMethodName() {
-        return methodAndClassNamePatternGroupOrDefault(1, null);
+        ensureNamesKnown();
+        return fMethodName;
     }
 
-    private String methodAndClassNamePatternGroupOrDefault(int group,
-            String defaultString) {
-        Matcher matcher = METHOD_AND_CLASS_NAME_PATTERN.matcher(toString());
-        return matcher.matches() ? matcher.group(group) : defaultString;
+    private void ensureNamesKnown() {
+        if (!fNamesKnown) {
+            Matcher matcher = METHOD_AND_CLASS_NAME_PATTERN.matcher(toString());
+            if (matcher.matches()) {
+                fMethodName = matcher.group(1);
+                fClassName = matcher.group(2);
+            } else {
+                fMethodName = null;
+                fClassName = toString();
+            }
+            fNamesKnown = true;
+        }
+    }
+    /**
+     * Writes the children of descriptions created by a Builder as a queue,
+     * like those of all other descriptions, so that the serialized form does
+     * not depend on how a description was created.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        Collection<Description> children = fChildren;
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("fChildren", children instanceof ConcurrentLinkedQueue
+                ? children : new ConcurrentLinkedQueue<Description>(children));
+        fields.put("fDisplayName", fDisplayName);
+        fields.put("fUniqueId", fUniqueId);
+        fields.put("fAnnotations", fAnnotations);
+        fields.put("fTestClass", fTestClass);
+        out.writeFields();
     }
 }
\ No newline at end of file
@@ -1,12 +1,20 @@
 package org.junit.runner;
 
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
 import org.junit.internal.Classes;
 import org.junit.runner.FilterFactory.FilterNotCreatedException;
+import org.junit.runner.discovery.DiscoveredTestClass;
+import org.junit.runner.discovery.TestClassScanner;
 import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.ShardStrategy;
 import org.junit.runners.model.InitializationError;
 
 /*
@@ -15,6 +23,12 @@ junit命令行解析结果
 class JUnitCommandLineParseResult {
     // 解析出来的过滤器参数
     private final List<String> filterSpecs = new ArrayList<String>();
+    // tests selected by --select-file
+    private final List<Description> selectedTests = new ArrayList<Description>();
+    private boolean hasSelectFile = false;
+    // shard selected by --shard=i/n, or -1
+    private int shardIndex = -1;
+    private int shardTotal = 0;
     // 解析出来的类
     private final List<Class<?>> classes = new ArrayList<Class<?>>();
     // 解析时的异常
@@ -32,6 +46,29 @@ class JUnitCommandLineParseResult {
         return Collections.unmodifiableList(filterSpecs);
     }
 
+    /**
+     * Returns the tests listed in the files given by {@code --select-file}.
+     */
+    public List<Description> getSelectedTests() {
+        return Collections.unmodifiableList(selectedTests);
+    }
+
+    /**
+     * Returns the index of the shard given by {@code --shard}, or {@code -1}
+     * if all tests should be run.
+     */
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    /**
+     * Returns the number of shards given by {@code --shard}, or {@code 0} if
+     * all tests should be run.
+     */
+    public int getShardTotal() {
+        return shardTotal;
+    }
+
     /**
      * Returns test classes parsed from command line.
      */
@@ -85,6 +122,54 @@ class JUnitCommandLineParseResult {
                     }
 
                     filterSpecs.add(filterSpec);
+                } else if (arg.startsWith("--select-file=") || arg.equals("--select-file")) {
+                    String selectFile;
+                    if (arg.equals("--select-file")) {
+                        ++i;
+
+                        if (i < args.length) {
+                            selectFile = args[i];
+                        } else {
+                            parserErrors.add(new CommandLineParserError(arg + " value not specified"));
+                            break;
+                        }
+                    } else {
+                        selectFile = arg.substring(arg.indexOf('=') + 1);
+                    }
+
+                    readSelectFile(selectFile);
+                } else if (arg.startsWith("--shard=") || arg.equals("--shard")) {
+                    String shard;
+                    if (arg.equals("--shard")) {
+                        ++i;
+
+                        if (i < args.length) {
+                            shard = args[i];
+                        } else {
+                            parserErrors.add(new CommandLineParserError(arg + " value not specified"));
+                            break;
+                        }
+                    } else {
+                        shard = arg.substring(arg.indexOf('=') + 1);
+                    }
+
+                    parseShard(shard);
+                } else if (arg.startsWith("--scan=") || arg.equals("--scan")) {
+                    String root;
+                    if (arg.equals("--scan")) {
+                        ++i;
+
+                        if (i < args.length) {
+                            root = args[i];
+                        } else {
+                            parserErrors.add(new CommandLineParserError(arg + " value not specified"));
+                            break;
+                        }
+                    } else {
+                        root = arg.substring(arg.indexOf('=') + 1);
+                    }
+
+                    scan(root);
                 } else {
                     parserErrors.add(new CommandLineParserError("JUnit knows nothing about the " + arg + " option"));
                 }
@@ -96,6 +181,94 @@ class JUnitCommandLineParseResult {
         return new String[]{};
     }
 
+    /**
+     * Reads the tests to run from {@code fileName}. Each line names one test
+     * in the form printed by JUnit, {@code methodName(className)}. Empty
+     * lines and lines starting with {@code #} are ignored.
+     */
+    private void readSelectFile(String fileName) {
+        hasSelectFile = true;
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(fileName), "UTF-8"));
+            try {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.length() != 0 && !line.startsWith("#")) {
+                        selectedTests.add(parseSelectedTest(fileName, line));
+                    }
+                }
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            parserErrors.add(new CommandLineParserError("Could not read --select-file " + fileName
+                    + ": " + e.getMessage()));
+        } catch (CommandLineParserError e) {
+            parserErrors.add(e);
+        }
+    }
+
+    private static Description parseSelectedTest(String fileName, String line)
+            throws CommandLineParserError {
+        int open = line.lastIndexOf('(');
+        if (open <= 0 || !line.endsWith(")")) {
+            throw new CommandLineParserError("Invalid test in --select-file " + fileName + ": " + line
+                    + " (expected methodName(className))");
+        }
+        return Description.createTestDescription(line.substring(open + 1, line.length() - 1),
+                line.substring(0, open));
+    }
+
+    /**
+     * Parses a shard given as {@code index/total}, e.g. {@code 0/4} for the
+     * first of four shards.
+     */
+    private void parseShard(String shard) {
+        int slash = shard.indexOf('/');
+        try {
+            if (slash < 0) {
+                throw new NumberFormatException();
+            }
+            int index = Integer.parseInt(shard.substring(0, slash).trim());
+            int total = Integer.parseInt(shard.substring(slash + 1).trim());
+            ShardStrategy.validateShard(index, total);
+            shardIndex = index;
+            shardTotal = total;
+        } catch (NumberFormatException e) {
+            parserErrors.add(new CommandLineParserError("Invalid --shard " + shard
+                    + " (expected index/total, e.g. 0/4)"));
+        } catch (IllegalArgumentException e) {
+            parserErrors.add(new CommandLineParserError("Invalid --shard " + shard + ": "
+                    + e.getMessage()));
+        }
+    }
+
+    /**
+     * Adds the test classes in {@code root}, a directory of class files or a
+     * jar file. Only the classes that turn out to be tests are loaded.
+     */
+    private void scan(String root) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = JUnitCommandLineParseResult.class.getClassLoader();
+        }
+        try {
+            for (DiscoveredTestClass each : new TestClassScanner(classLoader).scan(new File(root))) {
+                try {
+                    classes.add(each.load());
+                } catch (ClassNotFoundException e) {
+                    parserErrors.add(new IllegalArgumentException("Could not find class ["
+                            + each.getName() + "]", e));
+                }
+            }
+        } catch (IOException e) {
+            parserErrors.add(new CommandLineParserError("Could not scan " + root + ": "
+                    + e.getMessage()));
+        }
+    }
+
     private String[] copyArray(String[] args, int from, int to) {
         String[] result = new String[to - from];
         for (int j = from; j != to; ++j) {
@@ -134,6 +307,12 @@ class JUnitCommandLineParseResult {
             // 传入computer策略, 和 参数中解析来的 测试类...
             Request request = Request.classes(
                     computer, classes.toArray(new Class<?>[classes.size()]));
+            if (hasSelectFile) {
+                request = request.filterWith(Filter.matchAnyOf(selectedTests));
+            }
+            if (shardTotal > 0) {
+                request = request.shard(shardIndex, shardTotal, ShardStrategy.byHash());
+            }
             // 添加过滤功能
             return applyFilterSpecs(request);
         } else {
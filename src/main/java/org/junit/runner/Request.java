@@ -6,10 +6,12 @@ import org.junit.internal.builders.AllDefaultPossibilitiesBuilder;
 import org.junit.internal.requests.ClassRequest;
 import org.junit.internal.requests.FilterRequest;
 import org.junit.internal.requests.OrderingRequest;
+import org.junit.internal.requests.ShardRequest;
 import org.junit.internal.requests.SortingRequest;
 import org.junit.internal.runners.ErrorReportingRunner;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.manipulation.Ordering;
+import org.junit.runner.manipulation.ShardStrategy;
 import org.junit.runners.model.InitializationError;
 
 /**
@@ -247,4 +249,27 @@ public abstract class Request {
     public Request orderWith(Ordering ordering) {
         return new OrderingRequest(this, ordering);
     }
+
+    /**
+     * Returns a Request that only runs the tests that <code>strategy</code>
+     * assigns to one of <code>total</code> shards. Running every shard exactly
+     * once runs every test of this Request exactly once, so a suite can be
+     * split between several JVMs that each run one shard.
+     * <p>
+     * For example, the second of four JVMs would run:
+     * <pre>
+     * new JUnitCore().run(Request.aClass(AllTests.class).shard(1, 4, ShardStrategy.byHash()));
+     * </pre>
+     *
+     * @param index the index of the shard to run, starting with {@code 0}
+     * @param total the number of shards
+     * @param strategy assigns the tests to the shards
+     * @return a Request with the tests of the shard
+     * @throws IllegalArgumentException if {@code index} is not between
+     * {@code 0} and {@code total - 1}
+     * @since 4.13.3
+     */
+    public Request shard(int index, int total, ShardStrategy strategy) {
+        return new ShardRequest(this, index, total, strategy);
+    }
 }
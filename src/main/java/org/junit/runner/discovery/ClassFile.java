@@ -0,0 +1,400 @@
+package org.junit.runner.discovery;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What {@link TestClassScanner} needs to know about a single class, read
+ * directly from its class file. Only the constant pool, the access flags, the
+ * superclass, the signatures of the methods and the runtime visible
+ * annotations are looked at; everything else is skipped.
+ *
+ * @see <a href="https://docs.oracle.com/javase/specs/jvms/se8/html/jvms-4.html">The class file format</a>
+ */
+final class ClassFile {
+    static final String TEST_CASE = "junit.framework.TestCase";
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_INTERFACE = 0x0200;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_ENUM = 0x4000;
+    private static final int ACC_MODULE = 0x8000;
+
+    private static final String RUN_WITH = "Lorg/junit/runner/RunWith;";
+    private static final String IGNORE = "Lorg/junit/Ignore;";
+    private static final String CATEGORY = "Lorg/junit/experimental/categories/Category;";
+    private static final String TEST = "Lorg/junit/Test;";
+    private static final String SUITE_METHOD_DESCRIPTOR = "()Ljunit/framework/Test;";
+
+    final String name;
+
+    final String superName;
+
+    final boolean isAbstract;
+
+    /**
+     * {@code true} for interfaces, annotations, enums and module descriptors,
+     * and for classes that cannot be instantiated on their own: local,
+     * anonymous and non-static member classes.
+     */
+    final boolean isNeverATest;
+
+    /**
+     * The name of the class that declares this class as a static member, or
+     * {@code null} if it is not a static member class.
+     */
+    final String enclosingName;
+
+    final boolean hasRunWith;
+
+    final boolean isIgnored;
+
+    /**
+     * The names of the classes given by {@code @Category}, or {@code null} if
+     * the class is not annotated with it.
+     */
+    final List<String> categoryNames;
+
+    final boolean hasTestMethods;
+
+    final boolean hasSuiteMethod;
+
+    private ClassFile(Parser parser) {
+        name = parser.name;
+        superName = parser.superName;
+        isAbstract = (parser.access & ACC_ABSTRACT) != 0;
+        isNeverATest = (parser.access & (ACC_INTERFACE | ACC_ANNOTATION | ACC_ENUM | ACC_MODULE)) != 0
+                || parser.isLocalOrNonStaticMember;
+        enclosingName = parser.enclosingName;
+        hasRunWith = parser.hasRunWith;
+        isIgnored = parser.isIgnored;
+        categoryNames = parser.categoryNames == null
+                ? null : Collections.unmodifiableList(parser.categoryNames);
+        hasTestMethods = parser.hasTestMethods;
+        hasSuiteMethod = parser.hasSuiteMethod;
+    }
+
+    /**
+     * Reads the class file in {@code buffer}, starting at its position.
+     *
+     * @throws IOException if the buffer does not hold a valid class file
+     */
+    static ClassFile read(ByteBuffer buffer) throws IOException {
+        Parser parser = new Parser(buffer);
+        try {
+            parser.parse();
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated class file");
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Truncated class file");
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Invalid index into the constant pool");
+        }
+        return new ClassFile(parser);
+    }
+
+    private static final class Parser {
+        private final ByteBuffer buffer;
+
+        // The positions of the constant pool entries, just after their tags
+        private int[] constants;
+
+        private byte[] tags;
+
+        String name;
+
+        String superName;
+
+        int access;
+
+        boolean isLocalOrNonStaticMember;
+
+        String enclosingName;
+
+        boolean hasRunWith;
+
+        boolean isIgnored;
+
+        List<String> categoryNames;
+
+        boolean hasTestMethods;
+
+        boolean hasSuiteMethod;
+
+        Parser(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        void parse() throws IOException {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a class file");
+            }
+            skip(4); // minor and major version
+            readConstantPool();
+            access = u2();
+            int thisClass = u2();
+            name = className(thisClass);
+            int superClass = u2();
+            superName = superClass == 0 ? null : className(superClass);
+            skip(2 * u2()); // interfaces
+            skipMembers(); // fields
+            readMethods();
+            readClassAttributes(thisClass);
+        }
+
+        private void readConstantPool() throws IOException {
+            int count = u2();
+            constants = new int[count];
+            tags = new byte[count];
+            for (int i = 1; i < count; i++) {
+                byte tag = buffer.get();
+                tags[i] = tag;
+                constants[i] = buffer.position();
+                switch (tag) {
+                    case 1: // Utf8
+                        skip(u2());
+                        break;
+                    case 7: // Class
+                    case 8: // String
+                    case 16: // MethodType
+                    case 19: // Module
+                    case 20: // Package
+                        skip(2);
+                        break;
+                    case 15: // MethodHandle
+                        skip(3);
+                        break;
+                    case 3: // Integer
+                    case 4: // Float
+                    case 9: // Fieldref
+                    case 10: // Methodref
+                    case 11: // InterfaceMethodref
+                    case 12: // NameAndType
+                    case 17: // Dynamic
+                    case 18: // InvokeDynamic
+                        skip(4);
+                        break;
+                    case 5: // Long
+                    case 6: // Double
+                        skip(8);
+                        i++; // takes two entries
+                        break;
+                    default:
+                        throw new IOException("Unknown constant pool tag " + tag);
+                }
+            }
+        }
+
+        private void skipMembers() {
+            int count = u2();
+            for (int i = 0; i < count; i++) {
+                skip(6); // access flags, name and descriptor
+                skipAttributes();
+            }
+        }
+
+        private void readMethods() throws IOException {
+            int count = u2();
+            for (int i = 0; i < count; i++) {
+                int methodAccess = u2();
+                int nameIndex = u2();
+                int descriptorIndex = u2();
+                if ((methodAccess & (ACC_PUBLIC | ACC_STATIC)) == (ACC_PUBLIC | ACC_STATIC)
+                        && utf8(nameIndex).equals("suite")
+                        && utf8(descriptorIndex).equals(SUITE_METHOD_DESCRIPTOR)) {
+                    hasSuiteMethod = true;
+                }
+                int attributeCount = u2();
+                for (int j = 0; j < attributeCount; j++) {
+                    String attributeName = utf8(u2());
+                    int end = u4() + buffer.position();
+                    if (attributeName.equals("RuntimeVisibleAnnotations")) {
+                        int annotationCount = u2();
+                        for (int k = 0; k < annotationCount; k++) {
+                            if (utf8(u2()).equals(TEST)) {
+                                hasTestMethods = true;
+                            }
+                            skipElementValuePairs();
+                        }
+                    }
+                    buffer.position(end);
+                }
+            }
+        }
+
+        private void readClassAttributes(int thisClass) throws IOException {
+            int attributeCount = u2();
+            for (int i = 0; i < attributeCount; i++) {
+                String attributeName = utf8(u2());
+                int end = u4() + buffer.position();
+                if (attributeName.equals("RuntimeVisibleAnnotations")) {
+                    readClassAnnotations();
+                } else if (attributeName.equals("InnerClasses")) {
+                    readInnerClasses(thisClass);
+                }
+                buffer.position(end);
+            }
+        }
+
+        private void readClassAnnotations() throws IOException {
+            int count = u2();
+            for (int i = 0; i < count; i++) {
+                String type = utf8(u2());
+                if (type.equals(RUN_WITH)) {
+                    hasRunWith = true;
+                } else if (type.equals(IGNORE)) {
+                    isIgnored = true;
+                } else if (type.equals(CATEGORY)) {
+                    categoryNames = new ArrayList<String>();
+                    int pairCount = u2();
+                    for (int j = 0; j < pairCount; j++) {
+                        if (utf8(u2()).equals("value")) {
+                            readClassValues(categoryNames);
+                        } else {
+                            skipElementValue();
+                        }
+                    }
+                    continue;
+                }
+                skipElementValuePairs();
+            }
+        }
+
+        private void readClassValues(List<String> classNames) throws IOException {
+            byte tag = buffer.get();
+            if (tag == 'c') {
+                classNames.add(typeName(utf8(u2())));
+            } else if (tag == '[') {
+                int count = u2();
+                for (int i = 0; i < count; i++) {
+                    readClassValues(classNames);
+                }
+            } else {
+                buffer.position(buffer.position() - 1);
+                skipElementValue();
+            }
+        }
+
+        /**
+         * Finds the entry that describes this class. If the class is not a
+         * member of its enclosing class, it is local or anonymous.
+         */
+        private void readInnerClasses(int thisClass) throws IOException {
+            int count = u2();
+            for (int i = 0; i < count; i++) {
+                int innerClass = u2();
+                int outerClass = u2();
+                skip(2); // inner name
+                int innerAccess = u2();
+                if (innerClass == thisClass) {
+                    isLocalOrNonStaticMember = outerClass == 0 || (innerAccess & ACC_STATIC) == 0;
+                    if (!isLocalOrNonStaticMember) {
+                        enclosingName = className(outerClass);
+                    }
+                }
+            }
+        }
+
+        private void skipElementValuePairs() {
+            int count = u2();
+            for (int i = 0; i < count; i++) {
+                skip(2); // element name
+                skipElementValue();
+            }
+        }
+
+        private void skipElementValue() {
+            byte tag = buffer.get();
+            switch (tag) {
+                case 'e':
+                    skip(4);
+                    break;
+                case '@':
+                    skip(2);
+                    skipElementValuePairs();
+                    break;
+                case '[':
+                    int count = u2();
+                    for (int i = 0; i < count; i++) {
+                        skipElementValue();
+                    }
+                    break;
+                default:
+                    skip(2); // constant value or class
+            }
+        }
+
+        private void skipAttributes() {
+            int count = u2();
+            for (int i = 0; i < count; i++) {
+                skip(2);
+                skip(u4());
+            }
+        }
+
+        private String className(int index) throws IOException {
+            if (tags[index] != 7) {
+                throw new IOException("Constant " + index + " is not a class");
+            }
+            return utf8(buffer.getShort(constants[index]) & 0xFFFF).replace('/', '.');
+        }
+
+        /**
+         * Decodes the modified UTF-8 of a constant pool entry.
+         */
+        private String utf8(int index) throws IOException {
+            if (tags[index] != 1) {
+                throw new IOException("Constant " + index + " is not a string");
+            }
+            int position = constants[index];
+            int length = buffer.getShort(position) & 0xFFFF;
+            position += 2;
+            int end = position + length;
+            char[] chars = new char[length];
+            int count = 0;
+            while (position < end) {
+                int b = buffer.get(position++) & 0xFF;
+                if (b < 0x80) {
+                    chars[count++] = (char) b;
+                } else if ((b & 0xE0) == 0xC0) {
+                    chars[count++] = (char) (((b & 0x1F) << 6) | (buffer.get(position++) & 0x3F));
+                } else {
+                    int b2 = buffer.get(position++) & 0x3F;
+                    int b3 = buffer.get(position++) & 0x3F;
+                    chars[count++] = (char) (((b & 0x0F) << 12) | (b2 << 6) | b3);
+                }
+            }
+            return new String(chars, 0, count);
+        }
+
+        private int u2() {
+            return buffer.getShort() & 0xFFFF;
+        }
+
+        private int u4() {
+            return buffer.getInt();
+        }
+
+        private void skip(int count) {
+            buffer.position(buffer.position() + count);
+        }
+    }
+
+    /**
+     * Turns a field descriptor like {@code Lcom/acme/Slow;} into a class name.
+     */
+    private static String typeName(String descriptor) {
+        if (descriptor.startsWith("L") && descriptor.endsWith(";")) {
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        }
+        return descriptor;
+    }
+}
@@ -0,0 +1,67 @@
+package org.junit.runner.discovery;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A test class found by a {@link TestClassScanner}. Nothing but the class file
+ * has been read, so the class is neither loaded nor initialized until
+ * {@link #load()} is called.
+ *
+ * @since 4.13.3
+ */
+public final class DiscoveredTestClass {
+    private final String name;
+
+    private final boolean ignored;
+
+    private final List<String> categoryNames;
+
+    private final ClassLoader classLoader;
+
+    DiscoveredTestClass(String name, boolean ignored, List<String> categoryNames,
+            ClassLoader classLoader) {
+        this.name = name;
+        this.ignored = ignored;
+        this.categoryNames = categoryNames;
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Returns the binary name of the class, e.g.
+     * {@code com.acme.OuterTest$NestedTest}.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns {@code true} if the class is annotated with
+     * {@link org.junit.Ignore @Ignore}.
+     */
+    public boolean isIgnored() {
+        return ignored;
+    }
+
+    /**
+     * Returns the names of the categories given by the
+     * {@link org.junit.experimental.categories.Category @Category} of the
+     * class or, because the annotation is inherited, of its nearest superclass
+     * that has one. Categories of single methods are not included.
+     */
+    public List<String> getCategoryNames() {
+        return categoryNames == null ? Collections.<String>emptyList() : categoryNames;
+    }
+
+    /**
+     * Loads and initializes the class with the class loader of the scanner.
+     */
+    public Class<?> load() throws ClassNotFoundException {
+        return Class.forName(name, true, classLoader);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
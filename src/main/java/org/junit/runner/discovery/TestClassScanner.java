@@ -0,0 +1,355 @@
+package org.junit.runner.discovery;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.internal.runners.SharedWorkerPool;
+import org.junit.runners.model.RunnerScheduler;
+
+/**
+ * Finds the test classes in directories and jar files by reading their class
+ * files. No class is loaded, so neither the cost of loading thousands of
+ * classes nor their static initializers have to be paid for classes that turn
+ * out not to be tests. The class files are read and parsed in parallel on the
+ * {@link SharedWorkerPool#getDefault() shared worker pool}.
+ *
+ * <p>A class is a test class if it can be instantiated, i.e. it is neither an
+ * interface, an enum, a local, anonymous or non-static member class, and
+ * <ul>
+ * <li>it is annotated with {@link org.junit.runner.RunWith @RunWith} itself,
+ * even if it is abstract, or
+ * <li>it is not abstract, and it or one of its superclasses is annotated with
+ * {@code @RunWith}, has a method annotated with {@link org.junit.Test @Test},
+ * extends {@link junit.framework.TestCase} or has a
+ * {@code public static suite()} method.
+ * </ul>
+ * An abstract class that only inherits {@code @RunWith} is usually the base
+ * of test classes that are not meant to run on its own. A static member class
+ * of a test class is not a test class either: it is run by its enclosing
+ * class, e.g. with {@link org.junit.experimental.runners.Enclosed}, or it is a
+ * fixture of the tests of its enclosing class.
+ * Superclasses that are not in the scanned directories and jar files are read
+ * from the class loader of the scanner, again without loading them.
+ *
+ * <p>Usage from command line:
+ * <code>
+ *     --scan=build/test-classes
+ * </code>
+ *
+ * @since 4.13.3
+ */
+public final class TestClassScanner {
+    private static final int CLASS_FILES_PER_TASK = 64;
+
+    private static final Traits NO_TRAITS = new Traits(false, false, false, false, null);
+
+    private static final Comparator<DiscoveredTestClass> BY_NAME = new Comparator<DiscoveredTestClass>() {
+        public int compare(DiscoveredTestClass left, DiscoveredTestClass right) {
+            return left.getName().compareTo(right.getName());
+        }
+    };
+
+    private final ClassLoader classLoader;
+
+    /**
+     * Creates a scanner that reads superclasses that are not scanned from
+     * {@code classLoader}, which also loads the discovered test classes.
+     */
+    public TestClassScanner(ClassLoader classLoader) {
+        if (classLoader == null) {
+            throw new NullPointerException("classLoader cannot be null");
+        }
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Returns the test classes in {@code roots}, sorted by name. Each root is
+     * either a directory of class files, organized by package, or a jar file.
+     * If a class is found in more than one root, the first one is used, as on
+     * a class path.
+     *
+     * @throws IOException if a root or a class file cannot be read
+     */
+    public List<DiscoveredTestClass> scan(File... roots) throws IOException {
+        List<ZipFile> jars = new ArrayList<ZipFile>();
+        try {
+            List<ClassFileSource> sources = new ArrayList<ClassFileSource>();
+            for (File root : roots) {
+                if (root.isDirectory()) {
+                    collectClassFiles(root, sources);
+                } else if (root.isFile()) {
+                    ZipFile jar = new ZipFile(root);
+                    jars.add(jar);
+                    collectClassFiles(jar, sources);
+                } else {
+                    throw new FileNotFoundException(root.getPath());
+                }
+            }
+            return findTestClasses(readInParallel(sources));
+        } finally {
+            for (ZipFile jar : jars) {
+                jar.close();
+            }
+        }
+    }
+
+    private static void collectClassFiles(File directory, List<ClassFileSource> sources) {
+        File[] files = directory.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        for (File each : files) {
+            if (each.isDirectory()) {
+                collectClassFiles(each, sources);
+            } else if (isClassFile(each.getName())) {
+                sources.add(new FileSource(each));
+            }
+        }
+    }
+
+    private static void collectClassFiles(ZipFile jar, List<ClassFileSource> sources) {
+        Enumeration<? extends ZipEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry each = entries.nextElement();
+            // Multi-release jars keep alternative class files below META-INF
+            if (!each.isDirectory() && !each.getName().startsWith("META-INF/")
+                    && isClassFile(each.getName())) {
+                sources.add(new ZipEntrySource(jar, each));
+            }
+        }
+    }
+
+    /**
+     * Class files of module and package descriptors are named with a hyphen,
+     * which no class name may contain.
+     */
+    private static boolean isClassFile(String fileName) {
+        return fileName.endsWith(".class") && fileName.indexOf('-') < 0;
+    }
+
+    /**
+     * Reads the class files in batches on the shared worker pool.
+     *
+     * @return the class files by class name, the first one of each name
+     */
+    private static Map<String, ClassFile> readInParallel(final List<ClassFileSource> sources)
+            throws IOException {
+        final ClassFile[] classFiles = new ClassFile[sources.size()];
+        final AtomicReference<IOException> failure = new AtomicReference<IOException>();
+        RunnerScheduler scheduler = SharedWorkerPool.getDefault().newScheduler();
+        for (int from = 0; from < sources.size(); from += CLASS_FILES_PER_TASK) {
+            final int start = from;
+            final int end = Math.min(sources.size(), from + CLASS_FILES_PER_TASK);
+            scheduler.schedule(new Runnable() {
+                public void run() {
+                    for (int i = start; i < end && failure.get() == null; i++) {
+                        try {
+                            classFiles[i] = sources.get(i).readClassFile();
+                        } catch (IOException e) {
+                            failure.compareAndSet(null, e);
+                        }
+                    }
+                }
+            });
+        }
+        scheduler.finished();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        Map<String, ClassFile> byName = new LinkedHashMap<String, ClassFile>();
+        for (ClassFile each : classFiles) {
+            if (!byName.containsKey(each.name)) {
+                byName.put(each.name, each);
+            }
+        }
+        return byName;
+    }
+
+    private List<DiscoveredTestClass> findTestClasses(Map<String, ClassFile> classFiles)
+            throws IOException {
+        Map<String, Traits> traitsByName = new HashMap<String, Traits>();
+        Map<String, ClassFile> candidates = new LinkedHashMap<String, ClassFile>();
+        for (ClassFile each : classFiles.values()) {
+            if (each.isNeverATest) {
+                continue;
+            }
+            Traits traits = traitsOf(each.name, classFiles, traitsByName);
+            if (each.hasRunWith || (!each.isAbstract && (traits.hasRunWith
+                    || traits.hasTestMethods || traits.hasSuiteMethod || traits.isTestCase))) {
+                candidates.put(each.name, each);
+            }
+        }
+        List<DiscoveredTestClass> testClasses = new ArrayList<DiscoveredTestClass>();
+        for (ClassFile each : candidates.values()) {
+            if (!candidates.containsKey(each.enclosingName)) {
+                testClasses.add(new DiscoveredTestClass(each.name, each.isIgnored,
+                        traitsByName.get(each.name).categoryNames, classLoader));
+            }
+        }
+        Collections.sort(testClasses, BY_NAME);
+        return testClasses;
+    }
+
+    /**
+     * Combines the traits of the class {@code name} with those it inherits
+     * from its superclasses.
+     */
+    private Traits traitsOf(String name, Map<String, ClassFile> classFiles,
+            Map<String, Traits> traitsByName) throws IOException {
+        if (name == null || name.startsWith("java.")) {
+            return NO_TRAITS;
+        }
+        Traits traits = traitsByName.get(name);
+        if (traits == null) {
+            ClassFile classFile = classFiles.get(name);
+            if (classFile == null) {
+                classFile = readFromClassLoader(name);
+            }
+            if (classFile == null) {
+                traits = NO_TRAITS;
+            } else {
+                Traits inherited = traitsOf(classFile.superName, classFiles, traitsByName);
+                traits = new Traits(
+                        classFile.hasRunWith || inherited.hasRunWith,
+                        classFile.hasTestMethods || inherited.hasTestMethods,
+                        classFile.hasSuiteMethod || inherited.hasSuiteMethod,
+                        name.equals(ClassFile.TEST_CASE) || inherited.isTestCase,
+                        classFile.categoryNames != null
+                                ? classFile.categoryNames : inherited.categoryNames);
+            }
+            traitsByName.put(name, traits);
+        }
+        return traits;
+    }
+
+    private ClassFile readFromClassLoader(String name) throws IOException {
+        String resourceName = name.replace('.', '/') + ".class";
+        InputStream in = classLoader.getResourceAsStream(resourceName);
+        if (in == null) {
+            return null;
+        }
+        try {
+            return readClassFile(resourceName, readFully(in, -1));
+        } finally {
+            in.close();
+        }
+    }
+
+    private static ClassFile readClassFile(String path, ByteBuffer buffer) throws IOException {
+        try {
+            return ClassFile.read(buffer);
+        } catch (IOException e) {
+            IOException withPath = new IOException("Could not read class file " + path + ": "
+                    + e.getMessage());
+            withPath.initCause(e);
+            throw withPath;
+        }
+    }
+
+    private static ByteBuffer readFully(InputStream in, long size) throws IOException {
+        byte[] bytes = new byte[size >= 0 ? (int) size : 4096];
+        int length = 0;
+        int read;
+        while ((read = in.read(bytes, length, bytes.length - length)) >= 0) {
+            length += read;
+            if (length == bytes.length) {
+                if (size >= 0) {
+                    break;
+                }
+                byte[] larger = new byte[2 * length];
+                System.arraycopy(bytes, 0, larger, 0, length);
+                bytes = larger;
+            }
+        }
+        return ByteBuffer.wrap(bytes, 0, length);
+    }
+
+    /**
+     * The traits of a class that make it a test class, including those that
+     * it inherits.
+     */
+    private static final class Traits {
+        final boolean hasRunWith;
+        final boolean hasTestMethods;
+        final boolean hasSuiteMethod;
+        final boolean isTestCase;
+        final List<String> categoryNames;
+
+        Traits(boolean hasRunWith, boolean hasTestMethods, boolean hasSuiteMethod,
+                boolean isTestCase, List<String> categoryNames) {
+            this.hasRunWith = hasRunWith;
+            this.hasTestMethods = hasTestMethods;
+            this.hasSuiteMethod = hasSuiteMethod;
+            this.isTestCase = isTestCase;
+            this.categoryNames = categoryNames;
+        }
+    }
+
+    private abstract static class ClassFileSource {
+        abstract ClassFile readClassFile() throws IOException;
+    }
+
+    private static final class FileSource extends ClassFileSource {
+        private final File file;
+
+        FileSource(File file) {
+            this.file = file;
+        }
+
+        @Override
+        ClassFile readClassFile() throws IOException {
+            FileInputStream in = new FileInputStream(file);
+            try {
+                FileChannel channel = in.getChannel();
+                ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // keep reading
+                }
+                buffer.flip();
+                return TestClassScanner.readClassFile(file.getPath(), buffer);
+            } finally {
+                in.close();
+            }
+        }
+    }
+
+    private static final class ZipEntrySource extends ClassFileSource {
+        private final ZipFile jar;
+
+        private final ZipEntry entry;
+
+        ZipEntrySource(ZipFile jar, ZipEntry entry) {
+            this.jar = jar;
+            this.entry = entry;
+        }
+
+        @Override
+        ClassFile readClassFile() throws IOException {
+            InputStream in = jar.getInputStream(entry);
+            try {
+                return TestClassScanner.readClassFile(jar.getName() + "!/" + entry.getName(),
+                        readFully(in, entry.getSize()));
+            } finally {
+                in.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * Provides classes to find test classes by reading their class files, without
+ * loading them.
+ *
+ * @since 4.13.3
+ * @see org.junit.runner.Request
+ */
+package org.junit.runner.discovery;
\ No newline at end of file
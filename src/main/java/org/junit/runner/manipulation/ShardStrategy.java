@@ -0,0 +1,150 @@
+package org.junit.runner.manipulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.runner.Description;
+
+/**
+ * Distributes the tests of a suite across a number of shards, so that the
+ * suite can be split between several JVMs or machines, each running one shard.
+ *
+ * <p>Tests are assigned in units: all tests of a test class are assigned to the
+ * same shard, so the class-level setup of a class runs only once. The
+ * assignment must be deterministic: as long as the suite (and any data the
+ * strategy relies on) does not change, every test is assigned to the same
+ * shard in every JVM.
+ *
+ * <p>In general you will not need to use a <code>ShardStrategy</code> directly.
+ * Instead, use {@link org.junit.runner.Request#shard(int, int, ShardStrategy)}.
+ *
+ * @since 4.13.3
+ */
+public abstract class ShardStrategy {
+
+    /**
+     * Creates a {@link ShardStrategy} that assigns each test class to the shard
+     * given by the hash code of its display name. It needs no information
+     * besides the names of the classes, but the shards may differ in
+     * duration.
+     */
+    public static ShardStrategy byHash() {
+        return new ShardStrategy() {
+            @Override
+            protected int[] assignShards(List<Description> units, int total) {
+                int[] shards = new int[units.size()];
+                for (int i = 0; i < shards.length; i++) {
+                    int hash = units.get(i).getDisplayName().hashCode();
+                    shards[i] = (hash & Integer.MAX_VALUE) % total;
+                }
+                return shards;
+            }
+        };
+    }
+
+    /**
+     * Creates a {@link Filter} that only passes the tests below {@code suite}
+     * that this strategy assigns to the shard with the given index.
+     *
+     * @param suite the description of the whole suite that is sharded
+     * @param index the index of the shard, starting with {@code 0}
+     * @param total the number of shards
+     * @throws IllegalArgumentException if {@code index} is not between
+     * {@code 0} and {@code total - 1}
+     */
+    public final Filter createFilter(Description suite, int index, int total) {
+        validateShard(index, total);
+        List<Description> units = new ArrayList<Description>();
+        collectUnits(suite, units);
+        int[] shards = assignShards(Collections.unmodifiableList(units), total);
+        if (shards.length != units.size()) {
+            throw new IllegalStateException(getClass().getName() + " assigned " + shards.length
+                    + " units, but there are " + units.size());
+        }
+        List<Description> tests = new ArrayList<Description>();
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i] == index) {
+                collectTests(units.get(i), tests);
+            }
+        }
+        final Filter filter = Filter.matchAnyOf(tests);
+        final String description = "shard " + index + "/" + total;
+        return new Filter() {
+            @Override
+            public boolean shouldRun(Description description) {
+                return filter.shouldRun(description);
+            }
+
+            @Override
+            public String describe() {
+                return description;
+            }
+        };
+    }
+
+    /**
+     * Checks that {@code index} denotes one of {@code total} shards.
+     *
+     * @throws IllegalArgumentException if it does not
+     */
+    public static void validateShard(int index, int total) {
+        if (total < 1) {
+            throw new IllegalArgumentException("The number of shards must be positive but was " + total);
+        }
+        if (index < 0 || index >= total) {
+            throw new IllegalArgumentException("The shard index must be between 0 and " + (total - 1)
+                    + " but was " + index);
+        }
+    }
+
+    /**
+     * Assigns each unit to a shard. A unit is either a test class, with all its
+     * tests, or a single test that does not belong to a test class.
+     *
+     * @param units the units to assign, in the order of the suite
+     * @param total the number of shards
+     * @return for each unit the index of its shard, which must be between
+     * {@code 0} and {@code total - 1}
+     */
+    protected abstract int[] assignShards(List<Description> units, int total);
+
+    /**
+     * Collects the highest descriptions whose tests all belong to the same
+     * test class. Suites of several classes are split into their classes.
+     */
+    private static void collectUnits(Description description, List<Description> units) {
+        if (description.isTest() || isSingleClass(description, description.getTestClass())) {
+            units.add(description);
+        } else {
+            for (Description each : description.getChildren()) {
+                collectUnits(each, units);
+            }
+        }
+    }
+
+    private static boolean isSingleClass(Description description, Class<?> testClass) {
+        if (testClass == null) {
+            return false;
+        }
+        if (description.isTest()) {
+            return testClass.equals(description.getTestClass());
+        }
+        for (Description each : description.getChildren()) {
+            if (!isSingleClass(each, testClass)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void collectTests(Description description, List<Description> tests) {
+        if (description.isTest()) {
+            tests.add(description);
+        } else {
+            for (Description each : description.getChildren()) {
+                collectTests(each, tests);
+            }
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.junit.runner.notification;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+
+/**
+ * Decorator for {@link RunListener} implementations annotated with
+ * {@link RunListener.Async} that delivers events on a dedicated thread.
+ *
+ * <p>Events are put into a bounded buffer by the threads running the tests
+ * and are taken out by a single delivery thread, which preserves the order of
+ * the events and never calls the delegate concurrently. The delivery thread is
+ * started when an event is published and terminates once it has been idle for
+ * a while.
+ *
+ * @since 4.13.3
+ * @see RunNotifier
+ */
+@RunListener.ThreadSafe
+final class AsynchronousRunListener extends RunListener {
+    private static final long KEEP_ALIVE_MILLIS = 1000;
+
+    private final RunListener listener;
+    private final RunNotifier notifier;
+    private final BlockingQueue<Event> events;
+    private final AtomicBoolean delivering = new AtomicBoolean(false);
+
+    AsynchronousRunListener(RunListener listener, RunNotifier notifier, int bufferSize) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be positive but was " + bufferSize);
+        }
+        this.listener = listener;
+        this.notifier = notifier;
+        this.events = new ArrayBlockingQueue<Event>(bufferSize);
+    }
+
+    @Override
+    public void testRunStarted(Description description) {
+        publish(new Event(EventType.TEST_RUN_STARTED, description));
+    }
+
+    @Override
+    public void testRunFinished(Result result) {
+        publish(new Event(EventType.TEST_RUN_FINISHED, result));
+    }
+
+    @Override
+    public void testSuiteStarted(Description description) {
+        publish(new Event(EventType.TEST_SUITE_STARTED, description));
+    }
+
+    @Override
+    public void testSuiteFinished(Description description) {
+        publish(new Event(EventType.TEST_SUITE_FINISHED, description));
+    }
+
+    @Override
+    public void testStarted(Description description) {
+        publish(new Event(EventType.TEST_STARTED, description));
+    }
+
+    @Override
+    public void testFinished(Description description) {
+        publish(new Event(EventType.TEST_FINISHED, description));
+    }
+
+    @Override
+    public void testFailure(Failure failure) {
+        publish(new Event(EventType.TEST_FAILURE, failure));
+    }
+
+    @Override
+    public void testAssumptionFailure(Failure failure) {
+        publish(new Event(EventType.TEST_ASSUMPTION_FAILURE, failure));
+    }
+
+    @Override
+    public void testIgnored(Description description) {
+        publish(new Event(EventType.TEST_IGNORED, description));
+    }
+
+    /**
+     * Waits until all events published so far have been delivered.
+     */
+    void awaitDelivery() {
+        CountDownLatch delivered = new CountDownLatch(1);
+        publish(new Event(EventType.FLUSH, delivered));
+        boolean interrupted = false;
+        while (true) {
+            try {
+                delivered.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publish(Event event) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                events.put(event);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (!delivering.get() && delivering.compareAndSet(false, true)) {
+            startDelivery();
+        }
+    }
+
+    private void startDelivery() {
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                deliver();
+            }
+        }, "junit-listener-" + listener.getClass().getSimpleName());
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void deliver() {
+        while (true) {
+            Event event;
+            try {
+                event = events.poll(KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                event = null;
+            }
+            if (event != null) {
+                deliver(event);
+            } else if (!keepDelivering()) {
+                return;
+            }
+        }
+    }
+
+    private boolean keepDelivering() {
+        delivering.set(false);
+        // An event may have been published after the poll timed out but
+        // before the flag was cleared; nobody else will deliver it then.
+        return !events.isEmpty() && delivering.compareAndSet(false, true);
+    }
+
+    private void deliver(Event event) {
+        try {
+            event.type.deliver(listener, event.payload);
+        } catch (Exception e) {
+            notifier.fireListenerFailure(this, new Failure(Description.TEST_MECHANISM, e));
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return listener.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof AsynchronousRunListener)) {
+            return false;
+        }
+        AsynchronousRunListener that = (AsynchronousRunListener) other;
+
+        return listener.equals(that.listener);
+    }
+
+    @Override
+    public String toString() {
+        return listener.toString() + " (with asynchronous delivery)";
+    }
+
+    private static final class Event {
+        final EventType type;
+        final Object payload;
+
+        Event(EventType type, Object payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+    }
+
+    private enum EventType {
+        TEST_RUN_STARTED {
+            @Override
+            void deliver(RunListener listener, Object payload) throws Exception {
+                listener.testRunStarted((Description) payload);
+            }
+        },
+        TEST_RUN_FINISHED {
+            @Override
+            void deliver(RunListener listener, Object payload) throws Exception {
+                listener.testRunFinished((Result) payload);
+            }
+        },
+        TEST_SUITE_STARTED {
+            @Override
+            void deliver(RunListener listener, Object payload) throws Exception {
+                listener.testSuiteStarted((Description) payload);
+            }
+        },
+        TEST_SUITE_FINISHED {
+            @Override
+            void deliver(RunListener listener, Object payload) throws Exception {
+                listener.testSuiteFinished((Description) payload);
+            }
+        },
+        TEST_STARTED {
+            @Override
+            void deliver(RunListener listener, Object payload) throws Exception {
+                listener.testStarted((Description) payload);
+            }
+        },
+        TEST_FINISHED {
+            @Override
+            void deliver(RunListener listener, Object payload) throws Exception {
+                listener.testFinished((Description) payload);
+            }
+        },
+        TEST_FAILURE {
+            @Override
+            void deliver(RunListener listener, Object payload) throws Exception {
+                listener.testFailure((Failure) payload);
+            }
+        },
+        TEST_ASSUMPTION_FAILURE {
+            @Override
+            void deliver(RunListener listener, Object payload) {
+                listener.testAssumptionFailure((Failure) payload);
+            }
+        },
+        TEST_IGNORED {
+            @Override
+            void deliver(RunListener listener, Object payload) throws Exception {
+                listener.testIgnored((Description) payload);
+            }
+        },
+        FLUSH {
+            @Override
+            void deliver(RunListener listener, Object payload) {
+                ((CountDownLatch) payload).countDown();
+            }
+        };
+
+        abstract void deliver(RunListener listener, Object payload) throws Exception;
+    }
+}
@@ -56,6 +56,10 @@ import org.junit.runner.Result;
  * Listener methods will be called from the same thread as is running
  * the test, unless otherwise indicated by the method Javadoc
  * 监听器方法会用当前做测试的线程进行调用
+ * <p>
+ * Listeners that do slow work such as I/O can be annotated with
+ * {@link RunListener.Async}. Their methods are then called on a dedicated
+ * thread, so that they do not add to the time it takes to run the tests.
  *
  * @see org.junit.runner.JUnitCore
  * @since 4.0
@@ -189,4 +193,30 @@ public class RunListener {
     @Retention(RetentionPolicy.RUNTIME)
     public @interface ThreadSafe {
     }
+
+    /**
+     * Indicates a {@code RunListener} whose methods are called asynchronously.
+     * Events are published into a bounded buffer and delivered, in the order in
+     * which they were fired, by a single thread dedicated to the listener. The
+     * listener is therefore never called concurrently, and does not need to be
+     * thread-safe.
+     *
+     * <p>When the buffer is full, the thread firing an event waits until the
+     * listener has caught up. All events are delivered before
+     * {@link RunNotifier#fireTestRunFinished(org.junit.runner.Result)} returns.
+     * If the listener throws an exception, the other listeners are notified
+     * about the failure from the delivery thread.
+     *
+     * @since 4.13.3
+     */
+    @Documented
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Async {
+        /**
+         * The maximum number of events that have been fired but not yet
+         * delivered to the listener.
+         */
+        int bufferSize() default 1024;
+    }
 }
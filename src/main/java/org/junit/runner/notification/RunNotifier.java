@@ -4,7 +4,6 @@ import static java.util.Arrays.asList;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.junit.runner.Description;
 import org.junit.runner.Result;
@@ -19,7 +18,12 @@ import org.junit.runner.Result;
  * @since 4.0
  */
 public class RunNotifier {
-    private final List<RunListener> listeners = new CopyOnWriteArrayList<RunListener>();
+    private static final RunListener[] NO_LISTENERS = new RunListener[0];
+
+    private final Object listenersLock = new Object();
+
+    // Copy-on-write; guarded by listenersLock for writes
+    private volatile RunListener[] listeners = NO_LISTENERS;
     private volatile boolean pleaseStop = false;
 
     /**
@@ -29,7 +33,7 @@ public class RunNotifier {
         if (listener == null) {
             throw new NullPointerException("Cannot add a null listener");
         }
-        listeners.add(wrapIfNotThreadSafe(listener));
+        addListener(listeners.length, wrapIfNotThreadSafe(listener));
     }
 
     /**
@@ -39,70 +43,182 @@ public class RunNotifier {
         if (listener == null) {
             throw new NullPointerException("Cannot remove a null listener");
         }
-        listeners.remove(wrapIfNotThreadSafe(listener));
+        RunListener wrapped = wrapIfNotThreadSafe(listener);
+        RunListener removed = null;
+        synchronized (listenersLock) {
+            RunListener[] current = listeners;
+            for (int i = 0; i < current.length; i++) {
+                if (wrapped.equals(current[i])) {
+                    RunListener[] updated = new RunListener[current.length - 1];
+                    System.arraycopy(current, 0, updated, 0, i);
+                    System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                    listeners = updated;
+                    removed = current[i];
+                    break;
+                }
+            }
+        }
+        if (removed instanceof AsynchronousRunListener) {
+            ((AsynchronousRunListener) removed).awaitDelivery();
+        }
+    }
+
+    private void addListener(int index, RunListener listener) {
+        synchronized (listenersLock) {
+            RunListener[] current = listeners;
+            int position = Math.min(index, current.length);
+            RunListener[] updated = new RunListener[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, position);
+            updated[position] = listener;
+            System.arraycopy(current, position, updated, position + 1, current.length - position);
+            listeners = updated;
+        }
     }
 
     /**
-     * Wraps the given listener with {@link SynchronizedRunListener} if
-     * it is not annotated with {@link RunListener.ThreadSafe}.
+     * Wraps the given listener with {@link AsynchronousRunListener} if it is
+     * annotated with {@link RunListener.Async}, or with
+     * {@link SynchronizedRunListener} if it is not annotated with
+     * {@link RunListener.ThreadSafe}.
      */
     RunListener wrapIfNotThreadSafe(RunListener listener) {
+        RunListener.Async async = listener.getClass().getAnnotation(RunListener.Async.class);
+        if (async != null) {
+            return new AsynchronousRunListener(listener, this, async.bufferSize());
+        }
         return listener.getClass().isAnnotationPresent(RunListener.ThreadSafe.class) ?
-                listener : new SynchronizedRunListener(listener, this);
+                listener : new SynchronizedRunListener(listener, listener);
+    }
+
+    /**
+     * Delivers one type of event to a listener. There is a single, stateless
+     * instance per event type, so that firing an event does not allocate
+     * anything unless a listener throws.
+     */
+    private abstract static class EventDispatcher<T> {
+        abstract void notifyListener(RunListener listener, T event) throws Exception;
     }
 
+    private static final EventDispatcher<Description> TEST_RUN_STARTED = new EventDispatcher<Description>() {
+        @Override
+        void notifyListener(RunListener listener, Description description) throws Exception {
+            listener.testRunStarted(description);
+        }
+    };
+
+    private static final EventDispatcher<Result> TEST_RUN_FINISHED = new EventDispatcher<Result>() {
+        @Override
+        void notifyListener(RunListener listener, Result result) throws Exception {
+            listener.testRunFinished(result);
+        }
+    };
+
+    private static final EventDispatcher<Description> TEST_SUITE_STARTED = new EventDispatcher<Description>() {
+        @Override
+        void notifyListener(RunListener listener, Description description) throws Exception {
+            listener.testSuiteStarted(description);
+        }
+    };
+
+    private static final EventDispatcher<Description> TEST_SUITE_FINISHED = new EventDispatcher<Description>() {
+        @Override
+        void notifyListener(RunListener listener, Description description) throws Exception {
+            listener.testSuiteFinished(description);
+        }
+    };
 
-    private abstract class SafeNotifier {
-        private final List<RunListener> currentListeners;
+    private static final EventDispatcher<Description> TEST_STARTED = new EventDispatcher<Description>() {
+        @Override
+        void notifyListener(RunListener listener, Description description) throws Exception {
+            listener.testStarted(description);
+        }
+    };
 
-        SafeNotifier() {
-            this(listeners);
+    private static final EventDispatcher<Failure> TEST_FAILURE = new EventDispatcher<Failure>() {
+        @Override
+        void notifyListener(RunListener listener, Failure failure) throws Exception {
+            listener.testFailure(failure);
         }
+    };
 
-        SafeNotifier(List<RunListener> currentListeners) {
-            this.currentListeners = currentListeners;
+    private static final EventDispatcher<List<Failure>> TEST_FAILURES = new EventDispatcher<List<Failure>>() {
+        @Override
+        void notifyListener(RunListener listener, List<Failure> failures) throws Exception {
+            for (Failure each : failures) {
+                listener.testFailure(each);
+            }
         }
+    };
 
-        void run() {
-            int capacity = currentListeners.size();
-            List<RunListener> safeListeners = new ArrayList<RunListener>(capacity);
-            List<Failure> failures = new ArrayList<Failure>(capacity);
-            for (RunListener listener : currentListeners) {
-                try {
-                    notifyListener(listener);
+    private static final EventDispatcher<Failure> TEST_ASSUMPTION_FAILED = new EventDispatcher<Failure>() {
+        @Override
+        void notifyListener(RunListener listener, Failure failure) throws Exception {
+            listener.testAssumptionFailure(failure);
+        }
+    };
+
+    private static final EventDispatcher<Description> TEST_IGNORED = new EventDispatcher<Description>() {
+        @Override
+        void notifyListener(RunListener listener, Description description) throws Exception {
+            listener.testIgnored(description);
+        }
+    };
+
+    private static final EventDispatcher<Description> TEST_FINISHED = new EventDispatcher<Description>() {
+        @Override
+        void notifyListener(RunListener listener, Description description) throws Exception {
+            listener.testFinished(description);
+        }
+    };
+
+    /**
+     * Notifies all {@code currentListeners}. Listeners that throw are removed
+     * from the run's perspective: the remaining listeners are told about the
+     * failure. The bookkeeping for that is only allocated once a listener
+     * throws.
+     */
+    private <T> void fire(RunListener[] currentListeners, EventDispatcher<T> dispatcher, T event) {
+        List<RunListener> safeListeners = null;
+        List<Failure> failures = null;
+        for (int i = 0; i < currentListeners.length; i++) {
+            RunListener listener = currentListeners[i];
+            try {
+                dispatcher.notifyListener(listener, event);
+                if (safeListeners != null) {
                     safeListeners.add(listener);
-                } catch (Exception e) {
-                    failures.add(new Failure(Description.TEST_MECHANISM, e));
                 }
+            } catch (Exception e) {
+                if (failures == null) {
+                    safeListeners = new ArrayList<RunListener>(currentListeners.length);
+                    safeListeners.addAll(asList(currentListeners).subList(0, i));
+                    failures = new ArrayList<Failure>(currentListeners.length - i);
+                }
+                failures.add(new Failure(Description.TEST_MECHANISM, e));
             }
+        }
+        if (failures != null) {
             fireTestFailures(safeListeners, failures);
         }
-
-        protected abstract void notifyListener(RunListener each) throws Exception;
     }
 
     /**
      * Do not invoke.
      */
     public void fireTestRunStarted(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testRunStarted(description);
-            }
-        }.run();
+        fire(listeners, TEST_RUN_STARTED, description);
     }
 
     /**
      * Do not invoke.
      */
     public void fireTestRunFinished(final Result result) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testRunFinished(result);
+        RunListener[] currentListeners = listeners;
+        fire(currentListeners, TEST_RUN_FINISHED, result);
+        for (RunListener each : currentListeners) {
+            if (each instanceof AsynchronousRunListener) {
+                ((AsynchronousRunListener) each).awaitDelivery();
             }
-        }.run();
+        }
     }
 
     /**
@@ -115,12 +231,7 @@ public class RunNotifier {
      * @since 4.13
      */
     public void fireTestSuiteStarted(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testSuiteStarted(description);
-            }
-        }.run();
+        fire(listeners, TEST_SUITE_STARTED, description);
     }
 
     /**
@@ -132,12 +243,7 @@ public class RunNotifier {
      * @since 4.13
      */
     public void fireTestSuiteFinished(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testSuiteFinished(description);
-            }
-        }.run();
+        fire(listeners, TEST_SUITE_FINISHED, description);
     }
 
     /**
@@ -150,12 +256,7 @@ public class RunNotifier {
         if (pleaseStop) {
             throw new StoppedByUserException();
         }
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testStarted(description);
-            }
-        }.run();
+        fire(listeners, TEST_STARTED, description);
     }
 
     /**
@@ -164,23 +265,26 @@ public class RunNotifier {
      * @param failure the description of the test that failed and the exception thrown
      */
     public void fireTestFailure(Failure failure) {
-        fireTestFailures(listeners, asList(failure));
+        fire(listeners, TEST_FAILURE, failure);
     }
 
     private void fireTestFailures(List<RunListener> listeners,
             final List<Failure> failures) {
         if (!failures.isEmpty()) {
-            new SafeNotifier(listeners) {
-                @Override
-                protected void notifyListener(RunListener listener) throws Exception {
-                    for (Failure each : failures) {
-                        listener.testFailure(each);
-                    }
-                }
-            }.run();
+            fire(listeners.toArray(NO_LISTENERS), TEST_FAILURES, failures);
         }
     }
 
+    /**
+     * Tells all listeners but {@code failedListener} that it threw an
+     * exception outside of a call made by this notifier.
+     */
+    void fireListenerFailure(RunListener failedListener, Failure failure) {
+        List<RunListener> otherListeners = new ArrayList<RunListener>(asList(listeners));
+        otherListeners.remove(failedListener);
+        fireTestFailures(otherListeners, asList(failure));
+    }
+
     /**
      * Invoke to tell listeners that an atomic test flagged that it assumed
      * something false.
@@ -189,12 +293,7 @@ public class RunNotifier {
      * {@link org.junit.AssumptionViolatedException} thrown
      */
     public void fireTestAssumptionFailed(final Failure failure) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testAssumptionFailure(failure);
-            }
-        }.run();
+        fire(listeners, TEST_ASSUMPTION_FAILED, failure);
     }
 
     /**
@@ -203,12 +302,7 @@ public class RunNotifier {
      * @param description the description of the ignored test
      */
     public void fireTestIgnored(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testIgnored(description);
-            }
-        }.run();
+        fire(listeners, TEST_IGNORED, description);
     }
 
     /**
@@ -219,12 +313,7 @@ public class RunNotifier {
      * @param description the description of the test that finished
      */
     public void fireTestFinished(final Description description) {
-        new SafeNotifier() {
-            @Override
-            protected void notifyListener(RunListener each) throws Exception {
-                each.testFinished(description);
-            }
-        }.run();
+        fire(listeners, TEST_FINISHED, description);
     }
 
     /**
@@ -244,6 +333,6 @@ public class RunNotifier {
         if (listener == null) {
             throw new NullPointerException("Cannot add a null listener");
         }
-        listeners.add(0, wrapIfNotThreadSafe(listener));
+        addListener(0, wrapIfNotThreadSafe(listener));
     }
 }
@@ -7,11 +7,14 @@ import org.junit.runner.Result;
  * Thread-safe decorator for {@link RunListener} implementations that synchronizes
  * calls to the delegate.
  *
- * <p>This class synchronizes all listener calls on a RunNotifier instance. This is done because
- * prior to JUnit 4.12, all listeners were called in a synchronized block in RunNotifier,
- * so no two listeners were ever called concurrently. If we instead made the methods here
- * synchronized, clients that added multiple listeners that called common code might see
- * issues due to the reduced synchronization.
+ * <p>Prior to JUnit 4.12, all listeners were called in a synchronized block in RunNotifier,
+ * so no two listeners were ever called concurrently. JUnit 4.12 kept that behaviour by
+ * synchronizing all wrapped listeners on the RunNotifier instance, which serializes every
+ * test thread of a parallel run on a single monitor. {@link RunNotifier} now synchronizes
+ * each wrapped listener on the listener itself: a listener is never called concurrently
+ * with itself, even if it was added to more than one notifier, but different listeners
+ * may be called concurrently. Listeners that share state with other listeners must
+ * synchronize access to that state themselves.
  *
  * @author Tibor Digana (tibor17)
  * @author Kevin Cooney (kcooney)
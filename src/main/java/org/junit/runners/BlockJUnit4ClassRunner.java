@@ -133,8 +133,8 @@ public class BlockJUnit4ClassRunner extends ParentRunner<FrameworkMethod> {
         Description description = methodDescriptions.get(method);
 
         if (description == null) {
-            description = Description.createTestDescription(getTestClass().getJavaClass(),
-                    testName(method), method.getAnnotations());
+            description = Description.builder(Description.createTestDescription(
+                    getTestClass().getJavaClass(), testName(method), method.getAnnotations())).build();
             methodDescriptions.putIfAbsent(method, description);
         }
 
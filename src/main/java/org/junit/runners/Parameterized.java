@@ -6,21 +6,37 @@ import java.lang.annotation.Inherited;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.text.DateFormat;
 import java.text.MessageFormat;
+import java.text.NumberFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 
 import org.junit.internal.AssumptionViolatedException;
+import org.junit.internal.runners.SharedWorkerPool;
+import org.junit.internal.runners.statements.TimeoutScope;
+import org.junit.rules.RunRules;
+import org.junit.rules.TestRule;
 import org.junit.runner.Description;
 import org.junit.runner.Result;
 import org.junit.runner.Runner;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.NoTestsRemainException;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InvalidTestClassError;
+import org.junit.runners.model.RunnerScheduler;
+import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestClass;
 import org.junit.runners.parameterized.BlockJUnit4ClassRunnerWithParametersFactory;
 import org.junit.runners.parameterized.ParametersRunnerFactory;
@@ -155,6 +171,33 @@ import org.junit.runners.parameterized.TestWithParameters;
  * }
  * </pre>
  *
+ * <h3>Streaming parameters</h3>
+ * <p>
+ * By default all parameters and a runner for each of them are created before
+ * the first test is run. If there are too many parameters for that, e.g.
+ * because they are read from a large data set, set
+ * {@link Parameters#streaming() streaming} and return an {@code Iterable} or
+ * an {@code Iterator} that creates them on demand:
+ * <pre>
+ * &#064;Parameters(streaming = true)
+ * public static Iterator&lt;Object[]&gt; data() throws IOException {
+ *     return new CsvReader(&quot;huge-data-set.csv&quot;).rows();
+ * }
+ * </pre>
+ *
+ * <h3>Running sets of parameters in parallel</h3>
+ * <p>
+ * The tests for different sets of parameters can be run concurrently by
+ * annotating the class with {@link Parallel}. Listeners are still notified
+ * of the tests in the order of the parameters.
+ * <pre>
+ * &#064;RunWith(Parameterized.class)
+ * &#064;Parameterized.Parallel(threads = 4)
+ * public class SlowTest {
+ *     ...
+ * }
+ * </pre>
+ *
  * <h3>Create different runners</h3>
  * <p>
  * By default the {@code Parameterized} runner creates a slightly modified
@@ -230,6 +273,24 @@ public class Parameterized extends Suite {
          * @see MessageFormat
          */
         String name() default "{index}";
+
+        /**
+         * Optional flag to run the tests without creating all parameters up
+         * front. The parameters method is then called when the class is run,
+         * and each set of parameters is taken from the returned
+         * {@code Iterable}, {@code Iterator} or array only when the previous
+         * set has been tested. The runner for a set of parameters is created
+         * right before it is run and discarded afterwards, so the memory used
+         * by the runner does not grow with the number of parameters.
+         * <p>
+         * The {@link Description} of the class does not contain the tests;
+         * they are reported as they are run. Filters are applied to the tests
+         * of each set of parameters, but the tests are not sorted and they
+         * are run sequentially.
+         *
+         * @since 4.13.3
+         */
+        boolean streaming() default false;
     }
 
     /**
@@ -270,6 +331,36 @@ public class Parameterized extends Suite {
         Class<? extends ParametersRunnerFactory> value() default BlockJUnit4ClassRunnerWithParametersFactory.class;
     }
 
+    /**
+     * Add this annotation to your test class to run the tests for different
+     * sets of parameters concurrently. The tests for a single set of
+     * parameters, including its {@link BeforeParam} and {@link AfterParam}
+     * methods, are run sequentially by one thread.
+     * <p>
+     * Listeners are notified of the tests of one set of parameters after the
+     * other, in the order of the parameters: the tests of a set of parameters
+     * are reported while they run if all sets before it have been tested;
+     * otherwise they are reported as soon as that is the case. The order of
+     * the failures in the {@link Result} is therefore the same as when the
+     * tests are run sequentially.
+     * <p>
+     * The annotation has no effect on
+     * {@link Parameters#streaming() streaming} parameters.
+     *
+     * @since 4.13.3
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Inherited
+    @Target(ElementType.TYPE)
+    public @interface Parallel {
+        /**
+         * @return the maximum number of threads that run tests, including the
+         *         thread that runs the class, or {@code 0} for the number of
+         *         available processors
+         */
+        int threads() default 0;
+    }
+
     /**
      * Annotation for {@code public static void} methods which should be executed before
      * evaluating tests with particular parameters.
@@ -303,11 +394,429 @@ public class Parameterized extends Suite {
         this(klass, new RunnersFactory(klass));
     }
 
+    private final RunnersFactory streamingRunnersFactory;
+
+    private volatile Filter streamingFilter;
+
+    // 0 unless the sets of parameters are tested in parallel
+    private final int parallelThreads;
+
+    /*
+     * The rows of the runs that are in progress, by the notifier of the run.
+     * While the children are run, runChild() passes each set of parameters
+     * to the pool instead of running it.
+     */
+    private final Map<RunNotifier, ParallelRows> parallelRuns = Collections.synchronizedMap(
+            new IdentityHashMap<RunNotifier, ParallelRows>());
+
     private Parameterized(Class<?> klass, RunnersFactory runnersFactory) throws Exception {
         super(klass, runnersFactory.createRunners());
         validateBeforeParamAndAfterParamMethods(runnersFactory.parameterCount);
+        streamingRunnersFactory = runnersFactory.streaming ? runnersFactory : null;
+        parallelThreads = runnersFactory.streaming ? 0 : parallelThreads();
+    }
+
+    private int parallelThreads() throws InvalidTestClassError {
+        Parallel parallel = getTestClass().getAnnotation(Parallel.class);
+        if (parallel == null) {
+            return 0;
+        }
+        int threads = parallel.threads();
+        if (threads < 0) {
+            throw new InvalidTestClassError(getTestClass().getJavaClass(),
+                    Collections.<Throwable>singletonList(new Exception(
+                            "@Parallel(threads) must not be negative but was " + threads)));
+        }
+        if (threads == 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+        return threads == 1 ? 0 : threads;
     }
 
+    @Override
+    public void filter(Filter filter) throws NoTestsRemainException {
+        if (streamingRunnersFactory == null) {
+            super.filter(filter);
+        } else {
+            // The tests are not known yet, so the filter is applied to the
+            // runner of each set of parameters when it is created.
+            Filter previous = streamingFilter;
+            streamingFilter = previous == null ? filter : previous.intersect(filter);
+        }
+    }
+
+    @Override
+    protected Description createDescription() {
+        Description description = super.createDescription();
+        if (streamingRunnersFactory == null) {
+            return description;
+        }
+        // Without children, the description would be taken for a single test
+        return Description.builder(description).suite().build();
+    }
+
+    @Override
+    protected Statement classBlock(RunNotifier notifier) {
+        if (streamingRunnersFactory == null) {
+            return super.classBlock(notifier);
+        }
+        // The sets of parameters are not known yet, so unlike the children
+        // of other runners, they cannot all be known to be ignored.
+        Statement statement = childrenInvoker(notifier);
+        statement = withBeforeClasses(statement);
+        statement = withAfterClasses(statement);
+        List<TestRule> classRules = classRules();
+        if (!classRules.isEmpty()) {
+            statement = new RunRules(statement, classRules, getDescription());
+        }
+        return withInterruptIsolation(statement);
+    }
+
+    @Override
+    protected Statement childrenInvoker(RunNotifier notifier) {
+        if (parallelThreads > 0) {
+            final RunNotifier parallelNotifier = notifier;
+            final Statement children = super.childrenInvoker(notifier);
+            return new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    runInParallel(children, parallelNotifier);
+                }
+            };
+        }
+        if (streamingRunnersFactory == null) {
+            return super.childrenInvoker(notifier);
+        }
+        final RunNotifier streamingNotifier = notifier;
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                runStreaming(streamingNotifier);
+            }
+        };
+    }
+
+    /**
+     * Evaluates {@code children}, which calls {@link #runChild(Runner, RunNotifier)}
+     * for each set of parameters, while {@code runChild} passes them to a
+     * pool. The pool's workers terminate when they are idle.
+     */
+    private void runInParallel(Statement children, RunNotifier notifier) throws Throwable {
+        // the thread that runs the class tests sets of parameters, too
+        SharedWorkerPool pool = new SharedWorkerPool(parallelThreads - 1);
+        ParallelRows rows = new ParallelRows(new OrderedNotifications(notifier),
+                pool.newScheduler(), TimeoutScope.current());
+        parallelRuns.put(notifier, rows);
+        try {
+            children.evaluate();
+        } finally {
+            parallelRuns.remove(notifier);
+            rows.scheduler.finished();
+        }
+    }
+
+    @Override
+    protected void runChild(Runner runner, RunNotifier notifier) {
+        ParallelRows rows = parallelRuns.get(notifier);
+        if (rows == null) {
+            super.runChild(runner, notifier);
+        } else {
+            // The children are passed concurrently if this runner has a
+            // parallel scheduler itself, but a scheduler of the pool must
+            // not be used concurrently.
+            synchronized (rows) {
+                rows.scheduler.schedule(new ParallelChild(runner,
+                        rows.notifications.addRow(), rows.timeouts));
+            }
+        }
+    }
+
+    private static final class ParallelRows {
+        final OrderedNotifications notifications;
+        final RunnerScheduler scheduler;
+        final TimeoutScope timeouts;
+
+        ParallelRows(OrderedNotifications notifications, RunnerScheduler scheduler,
+                TimeoutScope timeouts) {
+            this.notifications = notifications;
+            this.scheduler = scheduler;
+            this.timeouts = timeouts;
+        }
+    }
+
+    private class ParallelChild implements Runnable {
+        private final Runner runner;
+        private final RowNotifier notifier;
+        private final TimeoutScope timeouts;
+
+        ParallelChild(Runner runner, RowNotifier notifier, TimeoutScope timeouts) {
+            this.runner = runner;
+            this.notifier = notifier;
+            this.timeouts = timeouts;
+        }
+
+        public void run() {
+            try {
+                runChildInScope(runner, notifier, timeouts);
+            } finally {
+                notifier.rowFinished();
+            }
+        }
+    }
+
+    /**
+     * Passes the events of concurrently tested sets of parameters (rows) to
+     * the notifier of the run, one row after the other. The events of the
+     * first row that has not finished are passed on immediately, the events
+     * of the following rows are buffered until all rows before them have
+     * finished. Events are passed on without holding the monitor, so a slow
+     * listener does not block the rows that are still running.
+     */
+    private static final class OrderedNotifications {
+        private final RunNotifier notifier;
+
+        // Guarded by this
+        private final List<RowNotifier> rows = new ArrayList<RowNotifier>();
+
+        // Guarded by this: the first row that has not finished
+        private int head;
+
+        // Guarded by this: whether a thread passes on buffered events, which
+        // must be done before any further event of the head row
+        private boolean flushing;
+
+        OrderedNotifications(RunNotifier notifier) {
+            this.notifier = notifier;
+        }
+
+        synchronized RowNotifier addRow() {
+            RowNotifier row = new RowNotifier(this, rows.size());
+            rows.add(row);
+            return row;
+        }
+
+        void fire(RowNotifier row, Event event, Object subject) {
+            synchronized (this) {
+                if (row.index != head || flushing) {
+                    row.bufferedEvents.add(event);
+                    row.bufferedSubjects.add(subject);
+                    return;
+                }
+            }
+            event.fire(notifier, subject);
+        }
+
+        /**
+         * Marks {@code row} as finished. If it is the head row, passes on the
+         * buffered events of the following rows until it reaches a row that
+         * has neither finished nor buffered events.
+         *
+         * @throws StoppedByUserException if the run was stopped while the
+         * buffered events were passed on
+         */
+        void rowFinished(RowNotifier row) {
+            synchronized (this) {
+                row.finished = true;
+                if (row.index != head || flushing) {
+                    return;
+                }
+                flushing = true;
+            }
+            StoppedByUserException stopped = null;
+            List<Event> events = new ArrayList<Event>();
+            List<Object> subjects = new ArrayList<Object>();
+            while (takeBufferedEvents(events, subjects)) {
+                try {
+                    for (int i = 0; i < events.size(); i++) {
+                        events.get(i).fire(notifier, subjects.get(i));
+                    }
+                } catch (StoppedByUserException e) {
+                    // The rest of the row is dropped, like the rest of a run
+                    // whose notifier refuses to start a test.
+                    if (stopped == null) {
+                        stopped = e;
+                    }
+                }
+                events.clear();
+                subjects.clear();
+            }
+            if (stopped != null) {
+                throw stopped;
+            }
+        }
+
+        /**
+         * Advances the head past the finished rows whose events have been
+         * passed on, and takes the buffered events of the head row.
+         *
+         * @return {@code false} if there are none, in which case the head row
+         * passes on its events itself from now on
+         */
+        private synchronized boolean takeBufferedEvents(List<Event> events, List<Object> subjects) {
+            while (head < rows.size()) {
+                RowNotifier row = rows.get(head);
+                if (!row.bufferedEvents.isEmpty()) {
+                    events.addAll(row.bufferedEvents);
+                    subjects.addAll(row.bufferedSubjects);
+                    row.bufferedEvents.clear();
+                    row.bufferedSubjects.clear();
+                    return true;
+                }
+                if (!row.finished) {
+                    break;
+                }
+                head++;
+            }
+            flushing = false;
+            return false;
+        }
+
+        void pleaseStop() {
+            notifier.pleaseStop();
+        }
+    }
+
+    private enum Event {
+        SUITE_STARTED {
+            @Override
+            void fire(RunNotifier notifier, Object subject) {
+                notifier.fireTestSuiteStarted((Description) subject);
+            }
+        },
+        SUITE_FINISHED {
+            @Override
+            void fire(RunNotifier notifier, Object subject) {
+                notifier.fireTestSuiteFinished((Description) subject);
+            }
+        },
+        STARTED {
+            @Override
+            void fire(RunNotifier notifier, Object subject) {
+                notifier.fireTestStarted((Description) subject);
+            }
+        },
+        FAILURE {
+            @Override
+            void fire(RunNotifier notifier, Object subject) {
+                notifier.fireTestFailure((Failure) subject);
+            }
+        },
+        ASSUMPTION_FAILED {
+            @Override
+            void fire(RunNotifier notifier, Object subject) {
+                notifier.fireTestAssumptionFailed((Failure) subject);
+            }
+        },
+        IGNORED {
+            @Override
+            void fire(RunNotifier notifier, Object subject) {
+                notifier.fireTestIgnored((Description) subject);
+            }
+        },
+        FINISHED {
+            @Override
+            void fire(RunNotifier notifier, Object subject) {
+                notifier.fireTestFinished((Description) subject);
+            }
+        };
+
+        abstract void fire(RunNotifier notifier, Object subject);
+    }
+
+    /**
+     * The notifier that is passed to the runner of a single row.
+     */
+    private static final class RowNotifier extends RunNotifier {
+        private final OrderedNotifications notifications;
+
+        private final int index;
+
+        // Guarded by notifications
+        private final List<Event> bufferedEvents = new ArrayList<Event>();
+
+        // Guarded by notifications
+        private final List<Object> bufferedSubjects = new ArrayList<Object>();
+
+        // Guarded by notifications
+        private boolean finished;
+
+        RowNotifier(OrderedNotifications notifications, int index) {
+            this.notifications = notifications;
+            this.index = index;
+        }
+
+        void rowFinished() {
+            notifications.rowFinished(this);
+        }
+
+        @Override
+        public void fireTestSuiteStarted(Description description) {
+            notifications.fire(this, Event.SUITE_STARTED, description);
+        }
+
+        @Override
+        public void fireTestSuiteFinished(Description description) {
+            notifications.fire(this, Event.SUITE_FINISHED, description);
+        }
+
+        @Override
+        public void fireTestStarted(Description description) throws StoppedByUserException {
+            notifications.fire(this, Event.STARTED, description);
+        }
+
+        @Override
+        public void fireTestFailure(Failure failure) {
+            notifications.fire(this, Event.FAILURE, failure);
+        }
+
+        @Override
+        public void fireTestAssumptionFailed(Failure failure) {
+            notifications.fire(this, Event.ASSUMPTION_FAILED, failure);
+        }
+
+        @Override
+        public void fireTestIgnored(Description description) {
+            notifications.fire(this, Event.IGNORED, description);
+        }
+
+        @Override
+        public void fireTestFinished(Description description) {
+            notifications.fire(this, Event.FINISHED, description);
+        }
+
+        @Override
+        public void pleaseStop() {
+            notifications.pleaseStop();
+        }
+    }
+
+    private void runStreaming(RunNotifier notifier) throws Throwable {
+        TimeoutScope timeouts = TimeoutScope.current();
+        Filter filter = streamingFilter;
+        Iterator<Object> allParameters = streamingRunnersFactory.streamParameters();
+        ParametersRunnerFactory runnerFactory = streamingRunnersFactory.getParametersRunnerFactory();
+        Parameters parameters = streamingRunnersFactory.parametersMethod.getAnnotation(Parameters.class);
+        NameTemplate nameTemplate = NameTemplate.compile(parameters.name());
+        int index = 0;
+        while (!timeouts.hasExpired() && allParameters.hasNext()) {
+            TestWithParameters test = streamingRunnersFactory.createTestWithNotNormalizedParameters(
+                    nameTemplate, index++, allParameters.next());
+            Runner runner = runnerFactory.createRunnerForTestWithParameters(test);
+            if (filter != null) {
+                try {
+                    filter.apply(runner);
+                } catch (NoTestsRemainException e) {
+                    continue;
+                }
+            }
+            runChild(runner, notifier);
+        }
+    }
+
+    /**
+     * @param parameterCount the number of parameters, or {@code null} if it
+     * is not known until the tests are run
+     */
     private void validateBeforeParamAndAfterParamMethods(Integer parameterCount)
             throws InvalidTestClassError {
         List<Throwable> errors = new ArrayList<Throwable>();
@@ -362,13 +871,22 @@ public class Parameterized extends Suite {
 
         private final TestClass testClass;
         private final FrameworkMethod parametersMethod;
+        private final boolean streaming;
         private final List<Object> allParameters;
-        private final int parameterCount;
+        private final Integer parameterCount;
         private final Runner runnerOverride;
 
         private RunnersFactory(Class<?> klass) throws Throwable {
             testClass = new TestClass(klass);
             parametersMethod = getParametersMethod(testClass);
+            streaming = parametersMethod.getAnnotation(Parameters.class).streaming();
+            if (streaming) {
+                // the parameters are created when the tests are run
+                allParameters = Collections.emptyList();
+                runnerOverride = null;
+                parameterCount = null;
+                return;
+            }
             List<Object> allParametersResult;
             AssumptionViolationRunner assumptionViolationRunner = null;
             try {
@@ -388,6 +906,9 @@ public class Parameterized extends Suite {
             if (runnerOverride != null) {
                 return Collections.singletonList(runnerOverride);
             }
+            if (streaming) {
+                return Collections.emptyList();
+            }
             Parameters parameters = parametersMethod.getAnnotation(Parameters.class);
             return Collections.unmodifiableList(createRunnersForParameters(
                     allParameters, parameters.name(),
@@ -408,9 +929,9 @@ public class Parameterized extends Suite {
         }
 
         private TestWithParameters createTestWithNotNormalizedParameters(
-                String pattern, int index, Object parametersOrSingleParameter) {
+                NameTemplate nameTemplate, int index, Object parametersOrSingleParameter) {
             Object[] parameters = normalizeParameters(parametersOrSingleParameter);
-            return createTestWithParameters(testClass, pattern, index, parameters);
+            return createTestWithParameters(testClass, nameTemplate, index, parameters);
         }
 
         private static Object[] normalizeParameters(Object parametersOrSingleParameter) {
@@ -439,6 +960,20 @@ public class Parameterized extends Suite {
             }
         }
 
+        @SuppressWarnings("unchecked")
+        private Iterator<Object> streamParameters() throws Throwable {
+            Object parameters = parametersMethod.invokeExplosively(null);
+            if (parameters instanceof Iterator) {
+                return (Iterator<Object>) parameters;
+            } else if (parameters instanceof Iterable) {
+                return ((Iterable<Object>) parameters).iterator();
+            } else if (parameters instanceof Object[]) {
+                return Arrays.asList((Object[]) parameters).iterator();
+            } else {
+                throw parametersMethodReturnedWrongType(testClass, parametersMethod);
+            }
+        }
+
         private static FrameworkMethod getParametersMethod(TestClass testClass) throws Exception {
             List<FrameworkMethod> methods = testClass
                     .getAnnotatedMethods(Parameters.class);
@@ -473,9 +1008,10 @@ public class Parameterized extends Suite {
                 Iterable<Object> allParameters, String namePattern)
                 throws Exception {
             int i = 0;
+            NameTemplate nameTemplate = NameTemplate.compile(namePattern);
             List<TestWithParameters> children = new ArrayList<TestWithParameters>();
             for (Object parametersOfSingleTest : allParameters) {
-                children.add(createTestWithNotNormalizedParameters(namePattern,
+                children.add(createTestWithNotNormalizedParameters(nameTemplate,
                         i++, parametersOfSingleTest));
             }
             return children;
@@ -492,13 +1028,153 @@ public class Parameterized extends Suite {
         }
 
         private TestWithParameters createTestWithParameters(
-                TestClass testClass, String pattern, int index,
+                TestClass testClass, NameTemplate nameTemplate, int index,
                 Object[] parameters) {
-            String finalPattern = pattern.replaceAll("\\{index\\}",
-                    Integer.toString(index));
-            String name = MessageFormat.format(finalPattern, parameters);
+            String name = nameTemplate.format(index, parameters);
             return new TestWithParameters("[" + name + "]", testClass,
                     Arrays.asList(parameters));
         }
     }
+
+    /**
+     * The {@link Parameters#name() name pattern} of a parameterized class,
+     * parsed once for all sets of parameters. Names are created like by
+     * replacing {@code {index}} in the pattern and formatting the result with
+     * {@link MessageFormat}, but without doing either for every set of
+     * parameters. Patterns that use quotes or format types, such as
+     * {@code {0,number,#.##}}, are left to {@code MessageFormat}.
+     *
+     * <p>A template is not thread-safe.
+     */
+    static final class NameTemplate {
+        private static final int INDEX = -1;
+
+        private final String pattern;
+
+        // literals[i] precedes arguments[i]; the last literal ends the name
+        private final String[] literals;
+
+        private final int[] arguments;
+
+        private final StringBuilder builder = new StringBuilder();
+
+        private Locale locale;
+
+        private NumberFormat numberFormat;
+
+        private DateFormat dateFormat;
+
+        private NameTemplate(String pattern, String[] literals, int[] arguments) {
+            this.pattern = pattern;
+            this.literals = literals;
+            this.arguments = arguments;
+        }
+
+        static NameTemplate compile(String pattern) {
+            List<String> literals = new ArrayList<String>();
+            List<Integer> arguments = new ArrayList<Integer>();
+            StringBuilder literal = new StringBuilder();
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c == '{') {
+                    int end = pattern.indexOf('}', i);
+                    int argument = end < 0 ? -2 : parseArgument(pattern.substring(i + 1, end));
+                    if (argument < INDEX) {
+                        return new NameTemplate(pattern, null, null);
+                    }
+                    literals.add(literal.toString());
+                    literal.setLength(0);
+                    arguments.add(argument);
+                    i = end;
+                } else if (c == '\'' || c == '}') {
+                    return new NameTemplate(pattern, null, null);
+                } else {
+                    literal.append(c);
+                }
+            }
+            literals.add(literal.toString());
+            int[] argumentArray = new int[arguments.size()];
+            for (int i = 0; i < argumentArray.length; i++) {
+                argumentArray[i] = arguments.get(i);
+            }
+            return new NameTemplate(pattern, literals.toArray(new String[literals.size()]),
+                    argumentArray);
+        }
+
+        /**
+         * Returns the index of the parameter, {@link #INDEX} for
+         * {@code {index}}, or a smaller value if the argument cannot be
+         * compiled.
+         */
+        private static int parseArgument(String argument) {
+            if (argument.equals("index")) {
+                return INDEX;
+            }
+            if (argument.length() == 0 || argument.length() > 9) {
+                return -2;
+            }
+            for (int i = 0; i < argument.length(); i++) {
+                if (argument.charAt(i) < '0' || argument.charAt(i) > '9') {
+                    return -2;
+                }
+            }
+            return Integer.parseInt(argument);
+        }
+
+        String format(int index, Object[] parameters) {
+            if (literals == null) {
+                String finalPattern = pattern.replaceAll("\\{index\\}",
+                        Integer.toString(index));
+                return MessageFormat.format(finalPattern, parameters);
+            }
+            builder.setLength(0);
+            for (int i = 0; i < arguments.length; i++) {
+                builder.append(literals[i]);
+                int argument = arguments[i];
+                if (argument == INDEX) {
+                    builder.append(index);
+                } else if (argument >= parameters.length) {
+                    builder.append('{').append(argument).append('}');
+                } else {
+                    appendParameter(parameters[argument]);
+                }
+            }
+            builder.append(literals[arguments.length]);
+            return builder.toString();
+        }
+
+        /**
+         * Appends a parameter the way {@link MessageFormat} formats an argument
+         * without a format type.
+         */
+        private void appendParameter(Object parameter) {
+            if (parameter == null) {
+                builder.append("null");
+            } else if (parameter instanceof String) {
+                builder.append((String) parameter);
+            } else if (parameter instanceof Number) {
+                if (numberFormat == null) {
+                    numberFormat = NumberFormat.getInstance(getLocale());
+                }
+                builder.append(numberFormat.format(parameter));
+            } else if (parameter instanceof Date) {
+                if (dateFormat == null) {
+                    dateFormat = DateFormat.getDateTimeInstance(
+                            DateFormat.SHORT, DateFormat.SHORT, getLocale());
+                }
+                builder.append(dateFormat.format(parameter));
+            } else {
+                String string = parameter.toString();
+                builder.append(string == null ? "null" : string);
+            }
+        }
+
+        private Locale getLocale() {
+            if (locale == null) {
+                // the locale that MessageFormat.format uses
+                locale = new MessageFormat("").getLocale();
+            }
+            return locale;
+        }
+    }
 }
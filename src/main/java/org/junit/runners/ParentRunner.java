@@ -13,6 +13,7 @@ import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -26,6 +27,7 @@ import org.junit.internal.AssumptionViolatedException;
 import org.junit.internal.runners.model.EachTestNotifier;
 import org.junit.internal.runners.statements.RunAfters;
 import org.junit.internal.runners.statements.RunBefores;
+import org.junit.internal.runners.statements.TimeoutScope;
 import org.junit.rules.RunRules;
 import org.junit.rules.TestRule;
 import org.junit.runner.Description;
@@ -74,6 +76,12 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     // Guarded by childrenLock
     private volatile List<T> filteredChildren = null;
 
+    // Counts the changes of the children, which discard the cached description
+    private final AtomicLong childrenChanges = new AtomicLong();
+
+    // Guarded by childrenLock
+    private volatile CachedDescription description = null;
+
     private volatile RunnerScheduler scheduler = new RunnerScheduler() {
         public void schedule(Runnable childStatement) {
             childStatement.run();
@@ -336,11 +344,12 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     private void runChildren(final RunNotifier notifier) {
         // 方法执行器
         final RunnerScheduler currentScheduler = scheduler;
+        final TimeoutScope timeouts = TimeoutScope.current();
         try {
             for (final T each : getFilteredChildren()) {
                 currentScheduler.schedule(new Runnable() {
                     public void run() {
-                        ParentRunner.this.runChild(each, notifier);
+                        runChildInScope(each, notifier, timeouts);
                     }
                 });
             }
@@ -349,6 +358,40 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
         }
     }
 
+    /**
+     * Runs {@code child} in the timeout scope of the thread that scheduled it,
+     * so that the timeouts enclosing this runner (e.g. a Timeout class rule)
+     * still enclose the child when a scheduler runs it in another thread. Once
+     * the scope has expired, the tests of the child are reported as skipped
+     * instead of being run.
+     */
+    void runChildInScope(T child, RunNotifier notifier, TimeoutScope timeouts) {
+        TimeoutScope previous = timeouts.enter();
+        try {
+            if (timeouts.hasExpired()) {
+                skipAfterTimeout(describeChild(child), notifier);
+            } else {
+                runChild(child, notifier);
+            }
+        } finally {
+            TimeoutScope.restore(previous);
+        }
+    }
+
+    private static void skipAfterTimeout(Description description, RunNotifier notifier) {
+        if (description.isTest()) {
+            EachTestNotifier eachNotifier = new EachTestNotifier(notifier, description);
+            eachNotifier.fireTestStarted();
+            eachNotifier.addFailedAssumption(new org.junit.AssumptionViolatedException(
+                    "Not run because an enclosing timeout has expired"));
+            eachNotifier.fireTestFinished();
+        } else {
+            for (Description each : description.getChildren()) {
+                skipAfterTimeout(each, notifier);
+            }
+        }
+    }
+
     /**
      * Returns a name used to describe this Runner
      */
@@ -397,8 +440,45 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     // Implementation of Runner
     //
 
+    /**
+     * Returns a {@link Description} of this runner and its children (subject
+     * to any imposed filter and sort).
+     *
+     * <p>The description is computed by {@link #createDescription()} and
+     * then cached. The cache is discarded whenever {@link #filter(Filter)},
+     * {@link #sort(Sorter)} or {@link #order(Orderer)} changes the children.
+     * These methods are applied to the children as well, so a child that is
+     * a runner is changed through its parent rather than on its own.
+     * Subclasses whose name, annotations or child descriptions change in any
+     * other way must call {@link #invalidateDescription()}.
+     */
     @Override
     public Description getDescription() {
+        long changes = childrenChanges.get();
+        CachedDescription cached = description;
+        if (cached == null || cached.changes != changes) {
+            childrenLock.lock();
+            try {
+                cached = description;
+                if (cached == null || cached.changes != changes) {
+                    cached = new CachedDescription(createDescription(), changes);
+                    description = cached;
+                }
+            } finally {
+                childrenLock.unlock();
+            }
+        }
+        return cached.description;
+    }
+
+    /**
+     * Creates a new {@link Description} of this runner and its children
+     * (subject to any imposed filter and sort). Called by
+     * {@link #getDescription()} whenever there is no cached description.
+     *
+     * @since 4.13.3
+     */
+    protected Description createDescription() {
         Class<?> clazz = getTestClass().getJavaClass();
         Description description;
         // if subclass overrides `getName()` then we should use it
@@ -409,10 +489,32 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
             description = Description.createSuiteDescription(clazz, getRunnerAnnotations());
         }
 
+        Description.Builder builder = Description.builder(description);
         for (T child : getFilteredChildren()) {
-            description.addChild(describeChild(child));
+            builder.addChild(describeChild(child));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Discards the cached {@link Description}, so that the next call of
+     * {@link #getDescription()} creates a new one.
+     *
+     * @since 4.13.3
+     */
+    protected final void invalidateDescription() {
+        childrenLock.lock();
+        try {
+            childrenChanged();
+        } finally {
+            childrenLock.unlock();
         }
-        return description;
+    }
+
+    // Guarded by childrenLock
+    private void childrenChanged() {
+        description = null;
+        childrenChanges.incrementAndGet();
     }
 
     /*
@@ -461,6 +563,7 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
                 }
             }
             filteredChildren = Collections.unmodifiableList(children);
+            childrenChanged();
             if (filteredChildren.isEmpty()) {
                 throw new NoTestsRemainException();
             }
@@ -482,6 +585,7 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
             List<T> sortedChildren = new ArrayList<T>(getFilteredChildren());
             Collections.sort(sortedChildren, comparator(sorter));
             filteredChildren = Collections.unmodifiableList(sortedChildren);
+            childrenChanged();
         } finally {
             childrenLock.unlock();
         }
@@ -522,6 +626,7 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
                 children.addAll(childMap.get(description));
             }
             filteredChildren = Collections.unmodifiableList(children);
+            childrenChanged();
         } finally {
             childrenLock.unlock();
         }
@@ -561,7 +666,11 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
     }
 
     private boolean shouldRun(Filter filter, T each) {
-        return filter.shouldRun(describeChild(each));
+        Description description = describeChild(each);
+        // The tests of a suite without children are not known before it runs,
+        // so the filter is passed on to the child instead
+        return filter.shouldRun(description)
+                || (description.isSuite() && description.testCount() == 0);
     }
 
     private Comparator<? super T> comparator(final Sorter sorter) {
@@ -580,6 +689,16 @@ public abstract class ParentRunner<T> extends Runner implements Filterable,
         this.scheduler = scheduler;
     }
 
+    private static final class CachedDescription {
+        final Description description;
+        final long changes;
+
+        CachedDescription(Description description, long changes) {
+            this.description = description;
+            this.changes = changes;
+        }
+    }
+
     private static class ClassRuleCollector implements MemberValueConsumer<TestRule> {
         final List<RuleContainer.RuleEntry> entries = new ArrayList<RuleContainer.RuleEntry>();
 
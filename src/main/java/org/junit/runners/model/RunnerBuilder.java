@@ -41,7 +41,13 @@ import org.junit.runner.manipulation.Ordering;
  * @since 4.5
  */
 public abstract class RunnerBuilder {
-    private final Set<Class<?>> parents = new HashSet<Class<?>>();
+    // The suite classes whose children are being built by the current thread
+    private final ThreadLocal<Set<Class<?>>> parents = new ThreadLocal<Set<Class<?>>>() {
+        @Override
+        protected Set<Class<?>> initialValue() {
+            return new HashSet<Class<?>>();
+        }
+    };
 
     /**
      * Override to calculate the correct runner for a test class at runtime.
@@ -88,14 +94,19 @@ public abstract class RunnerBuilder {
     }
 
     Class<?> addParent(Class<?> parent) throws InitializationError {
-        if (!parents.add(parent)) {
+        if (!parents.get().add(parent)) {
             throw new InitializationError(String.format("class '%s' (possibly indirectly) contains itself as a SuiteClass", parent.getName()));
         }
         return parent;
     }
 
     void removeParent(Class<?> klass) {
-        parents.remove(klass);
+        Set<Class<?>> current = parents.get();
+        current.remove(klass);
+        if (current.isEmpty()) {
+            // Do not leave an entry in threads that outlive the builder
+            parents.remove();
+        }
     }
 
     /**
@@ -123,6 +134,83 @@ public abstract class RunnerBuilder {
         return runners(parent, children.toArray(new Class<?>[0]));
     }
 
+    /**
+     * Constructs and returns a list of Runners, one for each child class in
+     * {@code children}, like {@link #runners(Class, Class[])}, but constructs
+     * them concurrently with {@code scheduler}. The runners are returned in
+     * the order of {@code children}, a class whose runner cannot be
+     * constructed is reported as usual, and a suite that (possibly
+     * indirectly) contains itself is still detected.
+     *
+     * <p>Constructing a runner scans the class by reflection and validates
+     * it, which dominates the start of runs with many classes. The builder
+     * and the runners must be safe to construct concurrently.
+     *
+     * @since 4.13.3
+     */
+    public List<Runner> runnersInParallel(Class<?> parent, Class<?>[] children,
+            RunnerScheduler scheduler) throws InitializationError {
+        addParent(parent);
+
+        try {
+            return runnersInParallel(children, scheduler);
+        } finally {
+            removeParent(parent);
+        }
+    }
+
+    private List<Runner> runnersInParallel(Class<?>[] children, RunnerScheduler scheduler) {
+        Runner[] childRunners = new Runner[children.length];
+        Set<Class<?>> path = new HashSet<Class<?>>(parents.get());
+        try {
+            for (int i = 0; i < children.length; i++) {
+                scheduler.schedule(new ChildRunnerConstruction(children, i, childRunners, path));
+            }
+        } finally {
+            scheduler.finished();
+        }
+        List<Runner> runners = new ArrayList<Runner>();
+        for (Runner each : childRunners) {
+            if (each != null) {
+                runners.add(each);
+            }
+        }
+        return runners;
+    }
+
+    /**
+     * Constructs the runner of one child class with the suites that contain
+     * it as the parents of the constructing thread.
+     */
+    private class ChildRunnerConstruction implements Runnable {
+        private final Class<?>[] children;
+        private final int index;
+        private final Runner[] childRunners;
+        private final Set<Class<?>> path;
+
+        ChildRunnerConstruction(Class<?>[] children, int index, Runner[] childRunners,
+                Set<Class<?>> path) {
+            this.children = children;
+            this.index = index;
+            this.childRunners = childRunners;
+            this.path = path;
+        }
+
+        public void run() {
+            Set<Class<?>> previous = parents.get();
+            parents.set(new HashSet<Class<?>>(path));
+            try {
+                childRunners[index] = safeRunnerForClass(children[index]);
+            } finally {
+                if (previous.isEmpty()) {
+                    parents.remove();
+                } else {
+                    parents.set(previous);
+                }
+            }
+        }
+    }
+
     private List<Runner> runners(Class<?>[] children) {
         List<Runner> runners = new ArrayList<Runner>();
         for (Class<?> each : children) {
@@ -4,6 +4,9 @@ import static java.lang.reflect.Modifier.isStatic;
 import static org.junit.internal.MethodSorter.NAME_ASCENDING;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
@@ -17,6 +20,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -38,15 +42,38 @@ public class TestClass implements Annotatable {
     private static final FieldComparator FIELD_COMPARATOR = new FieldComparator();
     private static final MethodComparator METHOD_COMPARATOR = new MethodComparator();
 
+    /**
+     * The annotated members of the classes that have been wrapped by a plain
+     * {@code TestClass}, so that runners which wrap the same class again need
+     * not scan it again. The members refer to their class, so a strong
+     * reference would keep the class and its class loader forever. See
+     * {@link #referenceTo(Class, Object)} for how they are held instead.
+     */
+    private static final Map<Class<?>, Reference<AnnotatedMembers>> MEMBERS_OF_TEST_CLASSES =
+            Collections.synchronizedMap(new WeakHashMap<Class<?>, Reference<AnnotatedMembers>>());
+
+    /**
+     * The annotated members that the classes declare themselves, so that a
+     * superclass of many test classes is only scanned once.
+     */
+    private static final Map<Class<?>, Reference<DeclaredMembers>> DECLARED_MEMBERS =
+            Collections.synchronizedMap(new WeakHashMap<Class<?>, Reference<DeclaredMembers>>());
+
     private final Class<?> clazz;
+    // Keeps the weakly cached members alive while this instance uses them
+    private final AnnotatedMembers members;
     private final Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations;
     private final Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations;
 
     /**
-     * Creates a {@code TestClass} wrapping {@code clazz}. Each time this
-     * constructor executes, the class is scanned for annotations, which can be
-     * an expensive process (we hope in future JDK's it will not be.) Therefore,
-     * try to share instances of {@code TestClass} where possible.
+     * Creates a {@code TestClass} wrapping {@code clazz}. The class is scanned
+     * for annotations, which can be an expensive process (we hope in future
+     * JDK's it will not be.) Therefore, the annotated members of a class are
+     * shared by all instances of {@code TestClass} that wrap it, and the
+     * members declared by a superclass are shared by all its subclasses.
+     * Subclasses of {@code TestClass} that override
+     * {@link #scanAnnotatedMembers(Map, Map)} scan the class each time, so try
+     * to share their instances where possible.
      */
     public TestClass(Class<?> clazz) {
         this.clazz = clazz;
@@ -55,35 +82,119 @@ public class TestClass implements Annotatable {
             throw new IllegalArgumentException(
                     "Test class can only have one constructor");
         }
-        // 创建以Annotation为key，以 测试方法 list 为value的map
-        Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations =
-                new LinkedHashMap<Class<? extends Annotation>, List<FrameworkMethod>>();
-        // 创建以Annotation为key，以 测试类中属性 list 为value的map
-        Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations =
-                new LinkedHashMap<Class<? extends Annotation>, List<FrameworkField>>();
-        // 扫描测试类中所有被注解过的属性和方法
-        // 并将结果填充到以上两个集合中
-        scanAnnotatedMembers(methodsForAnnotations, fieldsForAnnotations);
+        boolean cacheable = clazz != null && getClass() == TestClass.class;
+        AnnotatedMembers members = cacheable ? getCached(MEMBERS_OF_TEST_CLASSES, clazz) : null;
+        if (members == null) {
+            List<DeclaredMembers> declaredMembers = new ArrayList<DeclaredMembers>();
+            // 创建以Annotation为key，以 测试方法 list 为value的map
+            Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations =
+                    new LinkedHashMap<Class<? extends Annotation>, List<FrameworkMethod>>();
+            // 创建以Annotation为key，以 测试类中属性 list 为value的map
+            Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations =
+                    new LinkedHashMap<Class<? extends Annotation>, List<FrameworkField>>();
+            // 扫描测试类中所有被注解过的属性和方法
+            // 并将结果填充到以上两个集合中
+            if (cacheable) {
+                scanAnnotatedMembers(methodsForAnnotations, fieldsForAnnotations, declaredMembers);
+            } else {
+                scanAnnotatedMembers(methodsForAnnotations, fieldsForAnnotations);
+            }
 
-        // 将map深度的变为不可变集合
-        this.methodsForAnnotations = makeDeeplyUnmodifiable(methodsForAnnotations);
-        this.fieldsForAnnotations = makeDeeplyUnmodifiable(fieldsForAnnotations);
+            // 将map深度的变为不可变集合
+            members = new AnnotatedMembers(makeDeeplyUnmodifiable(methodsForAnnotations),
+                    makeDeeplyUnmodifiable(fieldsForAnnotations), declaredMembers);
+            if (cacheable) {
+                MEMBERS_OF_TEST_CLASSES.put(clazz, referenceTo(clazz, members));
+            }
+        }
+        this.members = members;
+        this.methodsForAnnotations = members.methodsForAnnotations;
+        this.fieldsForAnnotations = members.fieldsForAnnotations;
     }
 
     protected void scanAnnotatedMembers(Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations, Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations) {
+        scanAnnotatedMembers(methodsForAnnotations, fieldsForAnnotations,
+                new ArrayList<DeclaredMembers>());
+    }
+
+    private void scanAnnotatedMembers(Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations,
+            Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations,
+            List<DeclaredMembers> declaredMembers) {
         // 遍历测试类，及测试类所有父类
         for (Class<?> eachClass : getSuperClasses(clazz)) {
+            DeclaredMembers declared = getDeclaredMembers(eachClass);
+            declaredMembers.add(declared);
             // 处理测试类中的每一个测试方法，在处理前先进行排序
-            for (Method eachMethod : MethodSorter.getDeclaredMethods(eachClass)) {
-                addToAnnotationLists(new FrameworkMethod(eachMethod), methodsForAnnotations);
+            for (FrameworkMethod eachMethod : declared.methods) {
+                addToAnnotationLists(eachMethod, methodsForAnnotations);
             }
             // 处理测试类中的属性，处理前也会进行排序
             // ensuring fields are sorted to make sure that entries are inserted
             // and read from fieldForAnnotations in a deterministic order
-            for (Field eachField : getSortedDeclaredFields(eachClass)) {
-                addToAnnotationLists(new FrameworkField(eachField), fieldsForAnnotations);
+            for (FrameworkField eachField : declared.fields) {
+                addToAnnotationLists(eachField, fieldsForAnnotations);
+            }
+        }
+    }
+
+    private static DeclaredMembers getDeclaredMembers(Class<?> clazz) {
+        DeclaredMembers declared = getCached(DECLARED_MEMBERS, clazz);
+        if (declared == null) {
+            List<FrameworkMethod> methods = new ArrayList<FrameworkMethod>();
+            for (Method eachMethod : MethodSorter.getDeclaredMethods(clazz)) {
+                if (eachMethod.getAnnotations().length > 0) {
+                    methods.add(new FrameworkMethod(eachMethod));
+                }
+            }
+            List<FrameworkField> fields = new ArrayList<FrameworkField>();
+            for (Field eachField : getSortedDeclaredFields(clazz)) {
+                if (eachField.getAnnotations().length > 0) {
+                    fields.add(new FrameworkField(eachField));
+                }
+            }
+            declared = new DeclaredMembers(methods, fields);
+            DECLARED_MEMBERS.put(clazz, referenceTo(clazz, declared));
+        }
+        return declared;
+    }
+
+    private static <T> T getCached(Map<Class<?>, Reference<T>> cache, Class<?> clazz) {
+        Reference<T> reference = cache.get(clazz);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Returns a reference to the cached members of {@code clazz}. The
+     * members of a class that cannot be unloaded before JUnit itself, because
+     * it belongs to the class loader of JUnit or one of its parents, are held
+     * softly. All other members are held weakly, so they are only shared
+     * while a {@code TestClass} uses them, and never keep a class loader
+     * from being collected.
+     */
+    private static <T> Reference<T> referenceTo(Class<?> clazz, T members) {
+        if (isLoadedByLoaderOfJUnit(clazz)) {
+            return new SoftReference<T>(members);
+        } else {
+            return new WeakReference<T>(members);
+        }
+    }
+
+    private static boolean isLoadedByLoaderOfJUnit(Class<?> clazz) {
+        ClassLoader loader = clazz.getClassLoader();
+        if (loader == null) {
+            return true;
+        }
+        try {
+            for (ClassLoader each = TestClass.class.getClassLoader(); each != null;
+                    each = each.getParent()) {
+                if (each == loader) {
+                    return true;
+                }
             }
+        } catch (SecurityException e) {
+            // treat the class as one that can be unloaded
         }
+        return false;
     }
 
     // 获取类中字段 并排序
@@ -350,6 +461,40 @@ public class TestClass implements Annotatable {
         return clazz == other.clazz;
     }
 
+    /**
+     * The immutable annotated members of a class and its superclasses. They
+     * keep the members declared by each of the classes, so that these stay
+     * cached while the class is in use, even if they are held weakly.
+     */
+    private static final class AnnotatedMembers {
+        final Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations;
+        final Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations;
+        final List<DeclaredMembers> declaredMembers;
+
+        AnnotatedMembers(Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations,
+                Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations,
+                List<DeclaredMembers> declaredMembers) {
+            this.methodsForAnnotations = methodsForAnnotations;
+            this.fieldsForAnnotations = fieldsForAnnotations;
+            this.declaredMembers = declaredMembers;
+        }
+    }
+
+    /**
+     * The annotated methods and fields that a single class declares, in the
+     * order in which they are scanned. Members without annotations are left
+     * out, because they are never added to the annotation lists.
+     */
+    private static final class DeclaredMembers {
+        final List<FrameworkMethod> methods;
+        final List<FrameworkField> fields;
+
+        DeclaredMembers(List<FrameworkMethod> methods, List<FrameworkField> fields) {
+            this.methods = Collections.unmodifiableList(methods);
+            this.fields = Collections.unmodifiableList(fields);
+        }
+    }
+
     /**
      * Compares two fields by its name.
      */
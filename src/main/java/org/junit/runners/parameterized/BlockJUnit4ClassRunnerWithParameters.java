@@ -1,8 +1,13 @@
 package org.junit.runners.parameterized;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 import org.junit.internal.runners.statements.RunAfters;
 import org.junit.internal.runners.statements.RunBefores;
@@ -15,6 +20,7 @@ import org.junit.runners.model.FrameworkField;
 import org.junit.runners.model.FrameworkMethod;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.Statement;
+import org.junit.runners.model.TestClass;
 
 /**
  * A {@link BlockJUnit4ClassRunner} with parameters support. Parameters can be
@@ -26,21 +32,33 @@ public class BlockJUnit4ClassRunnerWithParameters extends
         CONSTRUCTOR, FIELD
     }
 
+    /**
+     * The plans of the classes that have been validated, so the runners for
+     * the other sets of parameters of a class need not validate it again.
+     */
+    private static final Map<TestClass, InjectionPlan> PLANS = Collections.synchronizedMap(
+            new WeakHashMap<TestClass, InjectionPlan>());
+
     private final Object[] parameters;
 
     private final String name;
 
+    private final InjectionPlan plan;
+
     public BlockJUnit4ClassRunnerWithParameters(TestWithParameters test)
             throws InitializationError {
         super(test.getTestClass());
         parameters = test.getParameters().toArray(
                 new Object[test.getParameters().size()]);
         name = test.getName();
+        InjectionPlan validatedPlan = getValidatedPlan();
+        plan = validatedPlan != null ? validatedPlan : new InjectionPlan(
+                getClass(), Collections.<Throwable>emptyList(), getTestClass());
     }
 
     @Override
     public Object createTest() throws Exception {
-        InjectionType injectionType = getInjectionType();
+        InjectionType injectionType = plan.injectionType;
         switch (injectionType) {
             case CONSTRUCTOR:
                 return createTestUsingConstructorInjection();
@@ -53,24 +71,29 @@ public class BlockJUnit4ClassRunnerWithParameters extends
     }
 
     private Object createTestUsingConstructorInjection() throws Exception {
-        return getTestClass().getOnlyConstructor().newInstance(parameters);
+        Constructor<?> constructor = plan.constructor;
+        if (constructor == null) {
+            constructor = getTestClass().getOnlyConstructor();
+        }
+        return constructor.newInstance(parameters);
     }
 
     private Object createTestUsingFieldInjection() throws Exception {
-        List<FrameworkField> annotatedFieldsByParameter = getAnnotatedFieldsByParameter();
-        if (annotatedFieldsByParameter.size() != parameters.length) {
+        Field[] fieldsByIndex = plan.fieldsByIndex;
+        if (fieldsByIndex == null) {
+            throw new Exception("Invalid @Parameter fields in " + getTestClass().getName() + ".");
+        }
+        if (fieldsByIndex.length != parameters.length) {
             throw new Exception(
                     "Wrong number of parameters and @Parameter fields."
                             + " @Parameter fields counted: "
-                            + annotatedFieldsByParameter.size()
+                            + fieldsByIndex.length
                             + ", available parameters: " + parameters.length
                             + ".");
         }
         Object testClassInstance = getTestClass().getJavaClass().newInstance();
-        for (FrameworkField each : annotatedFieldsByParameter) {
-            Field field = each.getField();
-            Parameter annotation = field.getAnnotation(Parameter.class);
-            int index = annotation.value();
+        for (int index = 0; index < fieldsByIndex.length; index++) {
+            Field field = fieldsByIndex[index];
             try {
                 field.set(testClassInstance, parameters[index]);
             } catch (IllegalAccessException e) {
@@ -103,6 +126,30 @@ public class BlockJUnit4ClassRunnerWithParameters extends
         return method.getName() + getName();
     }
 
+    /**
+     * Validates the test class only for the first set of parameters. The
+     * validation cannot depend on the parameters, because they are not yet
+     * known when it runs, so its result is shared by the runners of all sets of
+     * parameters of the class.
+     */
+    @Override
+    protected void collectInitializationErrors(List<Throwable> errors) {
+        InjectionPlan validatedPlan = getValidatedPlan();
+        if (validatedPlan == null) {
+            List<Throwable> classErrors = new ArrayList<Throwable>();
+            super.collectInitializationErrors(classErrors);
+            validatedPlan = new InjectionPlan(getClass(), classErrors, getTestClass());
+            PLANS.put(getTestClass(), validatedPlan);
+        }
+        errors.addAll(validatedPlan.errors);
+    }
+
+    private InjectionPlan getValidatedPlan() {
+        InjectionPlan validatedPlan = PLANS.get(getTestClass());
+        return validatedPlan != null && validatedPlan.runnerClass == getClass()
+                ? validatedPlan : null;
+    }
+
     @Override
     protected void validateConstructor(List<Throwable> errors) {
         validateOnlyOneConstructor(errors);
@@ -216,4 +263,51 @@ public class BlockJUnit4ClassRunnerWithParameters extends
     private boolean fieldsAreAnnotated() {
         return !getAnnotatedFieldsByParameter().isEmpty();
     }
+
+    /**
+     * The result of validating a test class and, if it is valid, how the
+     * parameters are injected into its instances.
+     */
+    private static final class InjectionPlan {
+        final Class<?> runnerClass;
+
+        final List<Throwable> errors;
+
+        final InjectionType injectionType;
+
+        /**
+         * The constructor that gets the parameters, or {@code null} if the
+         * class does not have exactly one public constructor.
+         */
+        final Constructor<?> constructor;
+
+        /**
+         * The {@code @Parameter} fields ordered by their index, or
+         * {@code null} if the indices are not valid.
+         */
+        final Field[] fieldsByIndex;
+
+        InjectionPlan(Class<?> runnerClass, List<Throwable> errors, TestClass testClass) {
+            this.runnerClass = runnerClass;
+            this.errors = errors;
+            List<FrameworkField> annotatedFields = testClass.getAnnotatedFields(Parameter.class);
+            injectionType = annotatedFields.isEmpty() ? InjectionType.CONSTRUCTOR : InjectionType.FIELD;
+            Constructor<?>[] constructors = testClass.getJavaClass().getConstructors();
+            constructor = constructors.length == 1 ? constructors[0] : null;
+            fieldsByIndex = fieldsByIndex(annotatedFields);
+        }
+
+        private static Field[] fieldsByIndex(List<FrameworkField> annotatedFields) {
+            Field[] fields = new Field[annotatedFields.size()];
+            for (FrameworkField each : annotatedFields) {
+                Field field = each.getField();
+                int index = field.getAnnotation(Parameter.class).value();
+                if (index < 0 || index >= fields.length || fields[index] != null) {
+                    return null;
+                }
+                fields[index] = field;
+            }
+            return fields;
+        }
+    }
 }
@@ -22,6 +22,7 @@ import org.junit.Test;
 import org.junit.experimental.categories.Categories.CategoryFilter;
 import org.junit.experimental.categories.Categories.ExcludeCategory;
 import org.junit.experimental.categories.Categories.IncludeCategory;
+import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Request;
 import org.junit.runner.Result;
@@ -246,6 +247,20 @@ public class CategoryTest {
         assertEquals(1, runner.testCount());
     }
 
+    @Test
+    public void categoryFilterTellsApartEqualDescriptionsWithDifferentCategories() throws Exception {
+        CategoryFilter filter = CategoryFilter.include(SlowTests.class);
+        Description fast = Description.createTestDescription(OneFastOneSlow.class, "a",
+                OneFastOneSlow.class.getMethod("a").getAnnotations());
+        Description slow = Description.createTestDescription(OneFastOneSlow.class, "a",
+                OneFastOneSlow.class.getMethod("b").getAnnotations());
+
+        assertEquals(fast, slow);
+        assertFalse(filter.shouldRun(fast));
+        assertTrue(filter.shouldRun(slow));
+        assertFalse(filter.shouldRun(fast));
+    }
+
     public static class OneFast {
         @Category(FastTests.class)
         @Test
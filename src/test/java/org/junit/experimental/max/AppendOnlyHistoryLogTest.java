@@ -0,0 +1,236 @@
+package org.junit.experimental.max;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class AppendOnlyHistoryLogTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private File file;
+
+    @Before
+    public void createFile() {
+        file = new File(folder.getRoot(), "history");
+    }
+
+    private static class RecordingVisitor implements HistoryStore.Visitor {
+        final List<String> records = new ArrayList<String>();
+
+        public void testDuration(String test, long duration) {
+            records.add(test + " took " + duration);
+        }
+
+        public void testFailure(String test, long timestamp) {
+            records.add(test + " failed at " + timestamp);
+        }
+    }
+
+    private List<String> read(HistoryStore store) throws IOException {
+        RecordingVisitor visitor = new RecordingVisitor();
+        store.read(visitor);
+        return visitor.records;
+    }
+
+    @Test
+    public void readsNothingIfTheLogDoesNotExist() throws IOException {
+        assertTrue(read(new AppendOnlyHistoryLog(file)).isEmpty());
+    }
+
+    @Test
+    public void readsRecordsInTheOrderTheyWereRecorded() throws IOException {
+        AppendOnlyHistoryLog log = new AppendOnlyHistoryLog(file);
+        log.recordTestDuration("a", 3);
+        log.recordTestFailure("a", 42);
+        log.recordTestDuration("b", 5);
+        log.flush();
+
+        assertEquals("[a took 3, a failed at 42, b took 5]",
+                read(new AppendOnlyHistoryLog(file)).toString());
+    }
+
+    @Test
+    public void appendsToExistingLog() throws IOException {
+        AppendOnlyHistoryLog first = new AppendOnlyHistoryLog(file);
+        first.recordTestDuration("a", 3);
+        first.flush();
+        AppendOnlyHistoryLog second = new AppendOnlyHistoryLog(file);
+        second.recordTestDuration("b", 5);
+        second.flush();
+
+        assertEquals("[a took 3, b took 5]", read(new AppendOnlyHistoryLog(file)).toString());
+    }
+
+    @Test
+    public void ignoresTornRecordAtTheEnd() throws IOException {
+        AppendOnlyHistoryLog log = new AppendOnlyHistoryLog(file);
+        log.recordTestDuration("a", 3);
+        log.recordTestDuration("b", 5);
+        log.flush();
+        truncate(3);
+
+        assertEquals("[a took 3]", read(new AppendOnlyHistoryLog(file)).toString());
+    }
+
+    @Test
+    public void readsRecordsAppendedAfterTornRecord() throws IOException {
+        AppendOnlyHistoryLog log = new AppendOnlyHistoryLog(file);
+        log.recordTestDuration("a", 3);
+        log.recordTestDuration("b", 5);
+        log.flush();
+        truncate(3);
+        log.recordTestDuration("c", 7);
+        log.flush();
+
+        assertEquals("[a took 3, c took 7]", read(new AppendOnlyHistoryLog(file)).toString());
+    }
+
+    @Test
+    public void skipsCorruptRecord() throws IOException {
+        AppendOnlyHistoryLog log = new AppendOnlyHistoryLog(file);
+        log.recordTestDuration("a", 3);
+        log.recordTestDuration("b", 5);
+        log.flush();
+        RandomAccessFile raw = new RandomAccessFile(file, "rw");
+        try {
+            raw.seek(20); // within the value of the first record
+            raw.write(0xFF);
+        } finally {
+            raw.close();
+        }
+
+        assertEquals("[b took 5]", read(new AppendOnlyHistoryLog(file)).toString());
+    }
+
+    @Test
+    public void compactsLogToLatestRecordsOfEachTest() throws IOException {
+        AppendOnlyHistoryLog log = new AppendOnlyHistoryLog(file, 0);
+        read(log);
+        log.recordTestFailure("a", 42);
+        for (int i = 0; i < 100; i++) {
+            log.recordTestDuration("a", i);
+        }
+        log.recordTestDuration("b", 5);
+        log.flush();
+
+        assertFalse(new File(file.getPath() + ".compacting").exists());
+        List<String> records = read(new AppendOnlyHistoryLog(file));
+        assertEquals(66, records.size());
+        assertEquals("a failed at 42", records.get(0));
+        assertEquals("a took 36", records.get(1));
+        assertEquals("a took 99", records.get(64));
+        assertEquals("b took 5", records.get(65));
+    }
+
+    @Test
+    public void keepsRecordsAppendedByOthersWhenCompacting() throws IOException {
+        AppendOnlyHistoryLog log = new AppendOnlyHistoryLog(file, 0);
+        read(log);
+        AppendOnlyHistoryLog other = new AppendOnlyHistoryLog(file);
+        other.recordTestDuration("b", 5);
+        other.flush();
+        log.recordTestDuration("a", 1);
+        log.recordTestDuration("a", 2);
+        log.flush();
+
+        assertEquals("[b took 5, a took 1, a took 2]", read(new AppendOnlyHistoryLog(file)).toString());
+    }
+
+    @Test
+    public void doesNotLockTheLogItself() throws IOException {
+        AppendOnlyHistoryLog log = new AppendOnlyHistoryLog(file, 0);
+        log.recordTestDuration("a", 1);
+        log.flush();
+        read(log);
+        RandomAccessFile raw = new RandomAccessFile(file, "rw");
+        try {
+            raw.getChannel().lock();
+            for (int i = 0; i < 100; i++) {
+                log.recordTestDuration("a", i);
+            }
+            log.flush();
+        } finally {
+            raw.close();
+        }
+
+        assertTrue(new File(file.getPath() + ".lock").exists());
+        assertEquals(64, read(new AppendOnlyHistoryLog(file)).size());
+    }
+
+    @Test
+    public void readsNewLogOfCompactionInterruptedAfterDeletingTheLog() throws IOException {
+        AppendOnlyHistoryLog log = new AppendOnlyHistoryLog(file);
+        log.recordTestDuration("a", 3);
+        log.flush();
+        File compactionFile = new File(file.getPath() + ".compacting");
+        assertTrue(file.renameTo(compactionFile));
+
+        assertEquals("[a took 3]", read(new AppendOnlyHistoryLog(file)).toString());
+        log.recordTestDuration("b", 5);
+        log.flush();
+
+        assertFalse(compactionFile.exists());
+        assertEquals("[a took 3, b took 5]", read(new AppendOnlyHistoryLog(file)).toString());
+    }
+
+    @Test
+    public void ignoresNewLogOfCompactionInterruptedBeforeDeletingTheLog() throws IOException {
+        AppendOnlyHistoryLog log = new AppendOnlyHistoryLog(file);
+        log.recordTestDuration("a", 3);
+        log.flush();
+        FileOutputStream partial = new FileOutputStream(file.getPath() + ".compacting");
+        try {
+            partial.write(new byte[] {'J', 'U', 'n'});
+        } finally {
+            partial.close();
+        }
+        log.recordTestDuration("b", 5);
+        log.flush();
+
+        assertEquals("[a took 3, b took 5]", read(new AppendOnlyHistoryLog(file)).toString());
+    }
+
+    @Test
+    public void convertsSerializedHistory() throws Exception {
+        AppendOnlyHistoryLog original = new AppendOnlyHistoryLog(new File(folder.getRoot(), "original"));
+        original.recordTestDuration("a", 3);
+        original.recordTestFailure("a", 42);
+        original.flush();
+        ObjectOutputStream stream = new ObjectOutputStream(new FileOutputStream(file));
+        try {
+            stream.writeObject(MaxHistory.forStore(original));
+        } finally {
+            stream.close();
+        }
+        assertTrue(new AppendOnlyHistoryLog(file).containsSerializedHistory());
+
+        MaxHistory.forFolder(file);
+
+        AppendOnlyHistoryLog converted = new AppendOnlyHistoryLog(file);
+        assertFalse(converted.containsSerializedHistory());
+        assertEquals("[a took 3, a failed at 42]", read(converted).toString());
+    }
+
+    private void truncate(int bytes) throws IOException {
+        RandomAccessFile raw = new RandomAccessFile(file, "rw");
+        try {
+            raw.setLength(raw.length() - bytes);
+        } finally {
+            raw.close();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.junit.experimental.max;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class DurationSketchTest {
+    private final DurationSketch sketch = new DurationSketch();
+
+    private void assertApproximately(long expected, long actual) {
+        assertEquals(expected, actual, expected * DurationSketch.RELATIVE_ACCURACY);
+    }
+
+    @Test
+    public void emptySketchHasNoDuration() {
+        assertEquals(0, sketch.quantile(0.5));
+    }
+
+    @Test
+    public void estimatesQuantilesWithinRelativeAccuracy() {
+        for (int i = 1; i <= 50; i++) {
+            sketch.add(i * 1000000L);
+        }
+        assertApproximately(1000000L, sketch.quantile(0));
+        assertApproximately(25000000L, sketch.quantile(0.5));
+        assertApproximately(45000000L, sketch.quantile(0.9));
+        assertApproximately(50000000L, sketch.quantile(1));
+    }
+
+    @Test
+    public void forgetsSingleOutlier() {
+        sketch.add(5000000000L);
+        for (int i = 0; i < DurationSketch.MAX_COUNT; i++) {
+            sketch.add(1000000L);
+        }
+        assertApproximately(1000000L, sketch.quantile(1));
+    }
+
+    @Test
+    public void followsChangedDuration() {
+        for (int i = 0; i < 100; i++) {
+            sketch.add(1000000L);
+        }
+        for (int i = 0; i < 100; i++) {
+            sketch.add(8000000L);
+        }
+        assertApproximately(8000000L, sketch.quantile(0.5));
+    }
+
+    @Test
+    public void keepsDurationsWhenAllAreDistinct() {
+        for (int i = 0; i < 3 * DurationSketch.MAX_COUNT; i++) {
+            sketch.add(1000000L << (i % 20));
+        }
+        assertEquals(true, sketch.quantile(0.5) > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsInvalidQuantile() {
+        sketch.quantile(1.5);
+    }
+}
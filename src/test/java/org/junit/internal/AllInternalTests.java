@@ -6,6 +6,7 @@ import org.junit.internal.matchers.ThrowableCauseMatcherTest;
 import org.junit.internal.runners.ErrorReportingRunnerTest;
 import org.junit.internal.runners.statements.ExpectExceptionTest;
 import org.junit.internal.runners.statements.FailOnTimeoutTest;
+import org.junit.internal.runners.statements.TimeoutWatchdogTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -17,6 +18,7 @@ import org.junit.runners.Suite.SuiteClasses;
         ErrorReportingRunnerTest.class,
         ExpectExceptionTest.class,
         FailOnTimeoutTest.class,
+        TimeoutWatchdogTest.class,
         MethodSorterTest.class,
         StacktracePrintingMatcherTest.class,
         StackTracesTest.class,
@@ -17,17 +17,20 @@ import static org.junit.Assert.assertTrue;
 import static org.junit.Assume.assumeFalse;
 import static org.junit.Assume.assumeTrue;
 
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.Test;
 import org.junit.function.ThrowingRunnable;
+import org.junit.rules.Timeout;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.model.MultipleFailureException;
 import org.junit.runners.model.Statement;
 import org.junit.runners.model.TestTimedOutException;
 
@@ -38,14 +41,22 @@ import org.junit.runners.model.TestTimedOutException;
 @RunWith(Parameterized.class)
 public class FailOnTimeoutTest {
 
-    @Parameters(name = "lookingForStuckThread = {0}")
-    public static Iterable<Boolean> getParameters() {
-        return Arrays.asList(Boolean.TRUE, Boolean.FALSE);
+    @Parameters(name = "lookingForStuckThread = {0}, mode = {1}")
+    public static Iterable<Object[]> getParameters() {
+        List<Object[]> parameters = new ArrayList<Object[]>();
+        for (Timeout.Mode mode : Timeout.Mode.values()) {
+            parameters.add(new Object[] {Boolean.TRUE, mode});
+            parameters.add(new Object[] {Boolean.FALSE, mode});
+        }
+        return parameters;
     }
 
-    @Parameter
+    @Parameter(0)
     public boolean lookingForStuckThread;
 
+    @Parameter(1)
+    public Timeout.Mode mode;
+
     @Test
     public void noExceptionIsThrownWhenWrappedStatementFinishesBeforeTimeoutWithoutThrowingException()
             throws Throwable {
@@ -184,6 +195,7 @@ public class FailOnTimeoutTest {
     @Test
     public void lookingForStuckThread_threadGroupNotLeaked() throws Throwable {
         assumeTrue(lookingForStuckThread);
+        assumeTrue(mode == Timeout.Mode.THREAD_PER_TEST);
         final AtomicReference<ThreadGroup> innerThreadGroup = new AtomicReference<ThreadGroup>();
         final AtomicReference<Thread> innerThread = new AtomicReference<Thread>();
         final ThreadGroup outerThreadGroup = currentThread().getThreadGroup();
@@ -211,6 +223,7 @@ public class FailOnTimeoutTest {
     @Test
     public void notLookingForStuckThread_usesSameThreadGroup() throws Throwable {
         assumeFalse(lookingForStuckThread);
+        assumeTrue(mode != Timeout.Mode.POOLED);
         final AtomicBoolean statementWasExecuted = new AtomicBoolean();
         final ThreadGroup outerThreadGroup = currentThread().getThreadGroup();
         FailOnTimeout failOnTimeout = failAfter50Ms(new Statement() {
@@ -227,10 +240,134 @@ public class FailOnTimeoutTest {
         assertTrue("the Statement was never run", statementWasExecuted.get());
     }
 
+    @Test
+    public void lookingForStuckThread_findsThreadStartedByTest() {
+        assumeTrue(lookingForStuckThread);
+        final CountDownLatch stop = new CountDownLatch(1);
+        FailOnTimeout failOnTimeout = failAfter50Ms(new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                Thread busy = new Thread("busy-thread") {
+                    @Override
+                    public void run() {
+                        while (stop.getCount() > 0) {
+                            atan(stop.getCount());
+                        }
+                    }
+                };
+                busy.start();
+                try {
+                    busy.join();
+                } catch (InterruptedException e) {
+                    stop.countDown();
+                }
+            }
+        });
+
+        MultipleFailureException e = assertThrows(MultipleFailureException.class, run(failOnTimeout));
+        stop.countDown();
+        assertEquals("Appears to be stuck in thread busy-thread",
+                e.getFailures().get(1).getMessage());
+    }
+
+    @Test
+    public void lookingForStuckThread_ignoresThreadStartedByEarlierTest() throws Throwable {
+        assumeTrue(lookingForStuckThread);
+        final CountDownLatch stop = new CountDownLatch(1);
+        final AtomicReference<ThreadGroup> earlierGroup = new AtomicReference<ThreadGroup>();
+        final AtomicReference<ThreadGroup> laterGroup = new AtomicReference<ThreadGroup>();
+        try {
+            failAfter50Ms(new Statement() {
+                @Override
+                public void evaluate() {
+                    earlierGroup.set(currentThread().getThreadGroup());
+                    new Thread("left-over-thread") {
+                        @Override
+                        public void run() {
+                            while (stop.getCount() > 0) {
+                                atan(stop.getCount());
+                            }
+                        }
+                    }.start();
+                }
+            }).evaluate();
+
+            Exception e = assertThrows(Exception.class, run(failAfter50Ms(new Statement() {
+                @Override
+                public void evaluate() {
+                    laterGroup.set(currentThread().getThreadGroup());
+                    while (!currentThread().isInterrupted()) {
+                        atan(stop.getCount());
+                    }
+                }
+            })));
+            assumeTrue("both statements ran in the same thread group",
+                    earlierGroup.get() == laterGroup.get());
+            assertEquals(TestTimedOutException.class, e.getClass());
+        } finally {
+            stop.countDown();
+        }
+    }
+
+    @Test
+    public void callingThreadIsNotInterruptedAfterTimeout() {
+        assertThrows(TestTimedOutException.class, run(failAfter50Ms(new RunForASecond())));
+
+        assertFalse(currentThread().isInterrupted());
+    }
+
+    @Test
+    public void nextStatementIsNotInterruptedByPreviousTimeout() throws Throwable {
+        assertThrows(TestTimedOutException.class, run(failAfter50Ms(new RunForASecond())));
+        final AtomicBoolean interrupted = new AtomicBoolean();
+        for (int i = 0; i < 10; i++) {
+            failAfter50Ms(new Statement() {
+                @Override
+                public void evaluate() {
+                    if (currentThread().isInterrupted()) {
+                        interrupted.set(true);
+                    }
+                }
+            }).evaluate();
+        }
+
+        assertFalse("a later statement was interrupted", interrupted.get());
+    }
+
+    @Test
+    public void watchdogRunsStatementInCallingThread() throws Throwable {
+        assumeTrue(mode == Timeout.Mode.WATCHDOG);
+        final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+        failAfter50Ms(new Statement() {
+            @Override
+            public void evaluate() {
+                thread.set(currentThread());
+            }
+        }).evaluate();
+
+        assertSame(currentThread(), thread.get());
+    }
+
+    @Test
+    public void pooledModeDoesNotRunStatementInCallingThread() throws Throwable {
+        assumeTrue(mode == Timeout.Mode.POOLED);
+        final AtomicReference<Thread> thread = new AtomicReference<Thread>();
+        failAfter50Ms(new Statement() {
+            @Override
+            public void evaluate() {
+                thread.set(currentThread());
+            }
+        }).evaluate();
+
+        assertNotSame(currentThread(), thread.get());
+        assertEquals("Time-limited test", thread.get().getName());
+    }
+
     private FailOnTimeout failAfter50Ms(Statement statement) {
         return FailOnTimeout.builder()
                 .withTimeout(50, MILLISECONDS)
                 .withLookingForStuckThread(lookingForStuckThread)
+                .withMode(mode)
                 .build(statement);
     }
 
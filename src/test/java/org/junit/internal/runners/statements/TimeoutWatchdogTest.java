@@ -0,0 +1,69 @@
+package org.junit.internal.runners.statements;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+
+public class TimeoutWatchdogTest {
+
+    private static class RecordingDeadline extends TimeoutWatchdog.Deadline {
+        final CountDownLatch expired = new CountDownLatch(1);
+        volatile long expiredAt;
+
+        @Override
+        protected void expired() {
+            expiredAt = System.nanoTime();
+            expired.countDown();
+        }
+    }
+
+    @Test
+    public void expiresDeadlineNotBeforeItIsDue() throws InterruptedException {
+        RecordingDeadline deadline = new RecordingDeadline();
+        long scheduledAt = System.nanoTime();
+        TimeoutWatchdog.schedule(deadline, MILLISECONDS.toNanos(50));
+
+        assertTrue(deadline.expired.await(5, SECONDS));
+        assertTrue(deadline.expiredAt - scheduledAt >= MILLISECONDS.toNanos(50));
+        assertFalse(deadline.cancel());
+    }
+
+    @Test
+    public void expiresDeadlineThatIsDueAfterMoreThanOneRevolution() throws InterruptedException {
+        RecordingDeadline far = new RecordingDeadline();
+        RecordingDeadline near = new RecordingDeadline();
+        long revolution = TimeoutWatchdog.WHEEL_SIZE * TimeoutWatchdog.TICK_NANOS;
+        TimeoutWatchdog.schedule(far, revolution + MILLISECONDS.toNanos(20));
+        TimeoutWatchdog.schedule(near, MILLISECONDS.toNanos(20));
+
+        assertTrue(near.expired.await(5, SECONDS));
+        assertEquals(1, far.expired.getCount());
+        assertTrue(far.cancel());
+    }
+
+    @Test
+    public void cancelledDeadlinesDoNotExpire() throws InterruptedException {
+        List<RecordingDeadline> deadlines = new ArrayList<RecordingDeadline>();
+        for (int i = 0; i < 20000; i++) {
+            RecordingDeadline deadline = new RecordingDeadline();
+            TimeoutWatchdog.schedule(deadline, MILLISECONDS.toNanos(300 + i % 100));
+            deadlines.add(deadline);
+        }
+        for (RecordingDeadline deadline : deadlines) {
+            assertTrue(deadline.cancel());
+        }
+        Thread.sleep(500);
+
+        for (RecordingDeadline deadline : deadlines) {
+            assertEquals(1, deadline.expired.getCount());
+        }
+    }
+}
@@ -3,6 +3,8 @@ package org.junit.rules;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 
 import java.io.File;
 import java.io.IOException;
@@ -10,17 +12,34 @@ import java.io.InterruptedIOException;
 import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.junit.After;
 import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.FixMethodOrder;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.internal.builders.AllDefaultPossibilitiesBuilder;
+import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
 import org.junit.runner.Result;
+import org.junit.runner.RunWith;
 import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runners.MethodSorters;
+import org.junit.runners.ParentRunner;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.RunnerScheduler;
 
 public class TimeoutRuleTest {
     private static final ReentrantLock run1Lock = new ReentrantLock();
@@ -110,6 +129,133 @@ public class TimeoutRuleTest {
         }
     }
 
+    public static class HasWatchdogTimeout {
+        public static volatile Thread testThread;
+
+        @Rule
+        public final TestRule globalTimeout = Timeout.builder()
+                .withTimeout(200, TimeUnit.MILLISECONDS)
+                .withMode(Timeout.Mode.WATCHDOG)
+                .build();
+
+        @Test
+        public void sleepsInTestThread() throws InterruptedException {
+            testThread = Thread.currentThread();
+            Thread.sleep(10000);
+        }
+    }
+
+    @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+    public static class HasClassTimeout {
+        public static final StringBuffer logger = new StringBuffer();
+
+        @ClassRule
+        public static final TestRule classTimeout = Timeout.builder()
+                .withTimeout(300, TimeUnit.MILLISECONDS)
+                .withMode(Timeout.Mode.WATCHDOG)
+                .build();
+
+        @Test
+        public void run1() throws InterruptedException {
+            logger.append("run1");
+            Thread.sleep(200);
+        }
+
+        @Test
+        public void run2() throws InterruptedException {
+            logger.append("run2");
+            Thread.sleep(200);
+        }
+
+        @Test
+        public void run3() {
+            logger.append("run3");
+        }
+    }
+
+    public static class SleepsTooLong {
+        @Test
+        public void sleep() throws InterruptedException {
+            HasSuiteTimeout.logger.append("sleep");
+            Thread.sleep(10000);
+        }
+    }
+
+    public static class NeverStarted {
+        @Test
+        public void run() {
+            HasSuiteTimeout.logger.append("run");
+        }
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({SleepsTooLong.class, NeverStarted.class})
+    public static class HasSuiteTimeout {
+        public static final StringBuffer logger = new StringBuffer();
+
+        @ClassRule
+        public static final TestRule suiteTimeout = Timeout.builder()
+                .withTimeout(100, TimeUnit.MILLISECONDS)
+                .withMode(Timeout.Mode.WATCHDOG)
+                .build();
+    }
+
+    @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+    public static class SlowThenFast {
+        @Test
+        public void a_slow() throws InterruptedException {
+            HasParallelSuiteTimeout.logger.append("slow");
+            Thread.sleep(300);
+        }
+
+        @Test
+        public void b_fast() {
+            HasParallelSuiteTimeout.logger.append("fast");
+        }
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses(SlowThenFast.class)
+    public static class HasParallelSuiteTimeout {
+        public static final StringBuffer logger = new StringBuffer();
+
+        @ClassRule
+        public static final TestRule suiteTimeout = Timeout.builder()
+                .withTimeout(100, TimeUnit.MILLISECONDS)
+                .withMode(Timeout.Mode.WATCHDOG)
+                .build();
+    }
+
+    /**
+     * Runs every child in a new thread, so no child runs in the thread of
+     * the suite's timeout.
+     */
+    private static class ThreadPerChildScheduler implements RunnerScheduler {
+        private final List<Thread> threads = new ArrayList<Thread>();
+
+        public void schedule(Runnable childStatement) {
+            Thread thread = new Thread(childStatement);
+            threads.add(thread);
+            thread.start();
+        }
+
+        public void finished() {
+            boolean interrupted = false;
+            for (Thread each : threads) {
+                while (each.isAlive()) {
+                    try {
+                        each.join();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     @Before
     public void before() {
         run4done = false;
@@ -149,6 +295,69 @@ public class TimeoutRuleTest {
         assertThat(HasGlobalLongTimeout.logger.toString(), containsString("run6"));
     }
 
+    @Test
+    public void watchdogModeInterruptsTestThread() {
+        Result result = JUnitCore.runClasses(HasWatchdogTimeout.class);
+        assertEquals(1, result.getFailureCount());
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("test timed out after 200 milliseconds"));
+        assertSame(Thread.currentThread(), HasWatchdogTimeout.testThread);
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    public void classTimeoutSkipsRemainingTests() {
+        HasClassTimeout.logger.setLength(0);
+        Result result = JUnitCore.runClasses(HasClassTimeout.class);
+        assertEquals("run1run2", HasClassTimeout.logger.toString());
+        assertEquals(3, result.getRunCount());
+        assertEquals(1, result.getAssumptionFailureCount());
+        assertEquals(2, result.getFailureCount());
+        assertThat(result.getFailures().get(1).getMessage(),
+                containsString("test timed out after 300 milliseconds"));
+    }
+
+    @Test
+    public void suiteTimeoutReachesChildrenRunInOtherThreads() throws InitializationError {
+        HasParallelSuiteTimeout.logger.setLength(0);
+        ParentRunner<?> runner = new Suite(HasParallelSuiteTimeout.class,
+                new AllDefaultPossibilitiesBuilder());
+        runner.setScheduler(new ThreadPerChildScheduler());
+        final List<String> events = Collections.synchronizedList(new ArrayList<String>());
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                events.add("started " + description.getMethodName());
+            }
+
+            @Override
+            public void testFinished(Description description) {
+                events.add("finished " + description.getMethodName());
+            }
+        });
+
+        Result result = core.run(Request.runner(runner));
+
+        assertEquals("slow", HasParallelSuiteTimeout.logger.toString());
+        assertEquals(Arrays.asList("started a_slow", "finished a_slow",
+                "started b_fast", "finished b_fast"), events);
+        assertEquals(1, result.getAssumptionFailureCount());
+        assertThat(result.getFailures().get(0).getMessage(),
+                containsString("test timed out after 100 milliseconds"));
+    }
+
+    @Test
+    public void suiteTimeoutSkipsRemainingClasses() {
+        HasSuiteTimeout.logger.setLength(0);
+        Result result = JUnitCore.runClasses(HasSuiteTimeout.class);
+        assertEquals("sleep", HasSuiteTimeout.logger.toString());
+        assertEquals(2, result.getRunCount());
+        assertEquals(1, result.getAssumptionFailureCount());
+        assertThat(result.getFailures().get(1).getMessage(),
+                containsString("test timed out after 100 milliseconds"));
+    }
+
     @Test
     public void nullTimeUnit() {
         Result result = JUnitCore.runClasses(HasNullTimeUnit.class);
@@ -1,6 +1,7 @@
 package org.junit.runner;
 
 
+import org.junit.runner.discovery.TestClassScannerTest;
 import org.junit.runner.notification.AllNotificationTests;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -12,7 +13,8 @@ import org.junit.runners.Suite.SuiteClasses;
         FilterOptionIntegrationTest.class,
         OrderWithValidatorTest.class,
         JUnitCommandLineParseResultTest.class,
-        JUnitCoreTest.class, RequestTest.class
+        JUnitCoreTest.class, RequestTest.class,
+        TestClassScannerTest.class
 })
 public class AllRunnerTests {
 }
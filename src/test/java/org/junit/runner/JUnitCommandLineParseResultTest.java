@@ -5,18 +5,30 @@ import static org.hamcrest.CoreMatchers.hasItems;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Arrays;
 import java.util.List;
 
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.IncludeCategories;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.manipulation.Filter;
 
 public class JUnitCommandLineParseResultTest {
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private final JUnitCommandLineParseResult jUnitCommandLineParseResult = new JUnitCommandLineParseResult();
 
     @Test
@@ -129,6 +141,137 @@ public class JUnitCommandLineParseResultTest {
         assertThat(description.toString(), containsString("initializationError"));
     }
 
+    @Test
+    public void shouldReadSelectedTestsFromFile() throws Exception {
+        File selectFile = temporaryFolder.newFile("selected.txt");
+        writeLines(selectFile, "# rerun failures", "",
+                "dummyTest(" + DummyTest.class.getName() + ")",
+                "  otherTest(" + DummyTest.class.getName() + ")  ");
+        jUnitCommandLineParseResult.parseOptions("--select-file=" + selectFile.getPath());
+
+        assertThat(jUnitCommandLineParseResult.getSelectedTests(), is(Arrays.asList(
+                Description.createTestDescription(DummyTest.class, "dummyTest"),
+                Description.createTestDescription(DummyTest.class, "otherTest"))));
+    }
+
+    @Test
+    public void shouldRunOnlySelectedTests() throws Exception {
+        File selectFile = temporaryFolder.newFile("selected.txt");
+        writeLines(selectFile, "otherTest(" + DummyTest.class.getName() + ")");
+        jUnitCommandLineParseResult.parseOptions("--select-file", selectFile.getPath());
+        jUnitCommandLineParseResult.parseParameters(new String[]{DummyTest.class.getName()});
+
+        Result result = new JUnitCore().run(jUnitCommandLineParseResult.createRequest(new Computer()));
+
+        assertThat(result.getRunCount(), is(1));
+    }
+
+    @Test
+    public void shouldCreateFailureUponMissingSelectFile() {
+        jUnitCommandLineParseResult.parseOptions("--select-file=does-not-exist.txt");
+
+        Runner runner = jUnitCommandLineParseResult.createRequest(new Computer()).getRunner();
+        Description description = runner.getDescription().getChildren().get(0);
+
+        assertThat(description.toString(), containsString("initializationError"));
+    }
+
+    @Test
+    public void shouldCreateFailureUponMalformedSelectedTest() throws Exception {
+        File selectFile = temporaryFolder.newFile("selected.txt");
+        writeLines(selectFile, "not a test");
+        jUnitCommandLineParseResult.parseOptions("--select-file=" + selectFile.getPath());
+
+        Runner runner = jUnitCommandLineParseResult.createRequest(new Computer()).getRunner();
+        Description description = runner.getDescription().getChildren().get(0);
+
+        assertThat(description.toString(), containsString("initializationError"));
+    }
+
+    @Test
+    public void shouldParseShard() {
+        jUnitCommandLineParseResult.parseOptions("--shard=1/3");
+
+        assertThat(jUnitCommandLineParseResult.getShardIndex(), is(1));
+        assertThat(jUnitCommandLineParseResult.getShardTotal(), is(3));
+    }
+
+    @Test
+    public void shouldRunEveryTestInExactlyOneShard() {
+        int runCount = 0;
+        for (int index = 0; index < 3; index++) {
+            JUnitCommandLineParseResult result = new JUnitCommandLineParseResult();
+            result.parseOptions("--shard", index + "/3");
+            result.parseParameters(new String[]{DummyTest.class.getName(), OtherTest.class.getName()});
+
+            runCount += new JUnitCore().run(result.createRequest(new Computer())).getRunCount();
+        }
+
+        assertThat(runCount, is(3));
+    }
+
+    @Test
+    public void shouldCreateFailureUponInvalidShard() {
+        jUnitCommandLineParseResult.parseOptions("--shard=3/3");
+
+        Runner runner = jUnitCommandLineParseResult.createRequest(new Computer()).getRunner();
+        Description description = runner.getDescription().getChildren().get(0);
+
+        assertThat(description.toString(), containsString("initializationError"));
+    }
+
+    @Test
+    public void shouldRunTestClassesFoundByScan() throws Exception {
+        File directory = temporaryFolder.newFolder();
+        copyClassFile(DummyTest.class, directory);
+        copyClassFile(DummyCategory0.class, directory);
+        jUnitCommandLineParseResult.parseOptions("--scan=" + directory.getPath());
+
+        assertThat(jUnitCommandLineParseResult.getClasses(), is(Arrays.<Class<?>>asList(DummyTest.class)));
+        Result result = new JUnitCore().run(jUnitCommandLineParseResult.createRequest(new Computer()));
+        assertThat(result.getRunCount(), is(2));
+    }
+
+    @Test
+    public void shouldCreateFailureUponMissingScanRoot() {
+        jUnitCommandLineParseResult.parseOptions("--scan", "does-not-exist");
+
+        Runner runner = jUnitCommandLineParseResult.createRequest(new Computer()).getRunner();
+        Description description = runner.getDescription().getChildren().get(0);
+
+        assertThat(description.toString(), containsString("initializationError"));
+    }
+
+    private static void copyClassFile(Class<?> clazz, File directory) throws IOException {
+        String name = clazz.getName().replace('.', '/') + ".class";
+        File file = new File(directory, name);
+        file.getParentFile().mkdirs();
+        InputStream in = clazz.getClassLoader().getResourceAsStream(name);
+        OutputStream out = new FileOutputStream(file);
+        try {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            out.close();
+            in.close();
+        }
+    }
+
+    private static void writeLines(File file, String... lines) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
     public static class FilterFactoryStub implements FilterFactory {
         public Filter createFilter(FilterFactoryParams params) throws FilterNotCreatedException {
             throw new FilterNotCreatedException(new Exception("stub"));
@@ -142,5 +285,15 @@ public class JUnitCommandLineParseResultTest {
         @Test
         public void dummyTest() {
         }
+
+        @Test
+        public void otherTest() {
+        }
+    }
+
+    public static class OtherTest {
+        @Test
+        public void test() {
+        }
     }
 }
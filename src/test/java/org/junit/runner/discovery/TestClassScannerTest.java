@@ -0,0 +1,301 @@
+package org.junit.runner.discovery;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+public class TestClassScannerTest {
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final TestClassScanner scanner = new TestClassScanner(
+            TestClassScannerTest.class.getClassLoader());
+
+    static volatile boolean initializerRan;
+
+    public static class PlainTest {
+        @Test
+        public void test() {
+        }
+    }
+
+    public static class NotATest {
+        public void helper() {
+        }
+    }
+
+    public abstract static class AbstractBase {
+        @Before
+        public void setUp() {
+        }
+
+        @Test
+        public void inherited() {
+        }
+    }
+
+    public static class InheritsTests extends AbstractBase {
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses(PlainTest.class)
+    public static class SuiteOfTests {
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses(PlainTest.class)
+    public abstract static class AbstractSuiteOfTests {
+    }
+
+    public abstract static class AbstractSubclassOfSuite extends SuiteOfTests {
+    }
+
+    public static class SubclassOfSuite extends SuiteOfTests {
+    }
+
+    @RunWith(Enclosed.class)
+    public static class EnclosingTests {
+        public static class MemberTest {
+            @Test
+            public void test() {
+            }
+        }
+    }
+
+    public static class TestWithFixture {
+        public static class Fixture {
+            @Test
+            public void test() {
+            }
+        }
+
+        @Test
+        public void test() {
+        }
+    }
+
+    public static class HolderOfTests {
+        public static class HeldTest {
+            @Test
+            public void test() {
+            }
+        }
+    }
+
+    public static class OldStyleTest extends TestCase {
+        public void testSomething() {
+        }
+    }
+
+    public static class WithSuiteMethod {
+        public static junit.framework.Test suite() {
+            return new TestSuite(OldStyleTest.class);
+        }
+    }
+
+    public interface Slow {
+    }
+
+    public interface Fast {
+    }
+
+    @Ignore
+    @Category({Slow.class, Fast.class})
+    public static class IgnoredSlowTest {
+        @Test
+        public void test() {
+        }
+    }
+
+    public static class InheritsCategory extends IgnoredSlowTest {
+    }
+
+    public class NonStaticInnerTest {
+        @Test
+        public void test() {
+        }
+    }
+
+    public static class WithStaticInitializer {
+        static {
+            initializerRan = true;
+        }
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void findsTestClassesInDirectory() throws IOException {
+        File directory = copyClassFiles(PlainTest.class, NotATest.class, AbstractBase.class,
+                InheritsTests.class, SuiteOfTests.class, OldStyleTest.class, WithSuiteMethod.class,
+                Slow.class, NonStaticInnerTest.class);
+
+        assertEquals(Arrays.asList(InheritsTests.class.getName(), OldStyleTest.class.getName(),
+                PlainTest.class.getName(), SuiteOfTests.class.getName(),
+                WithSuiteMethod.class.getName()), namesOf(scanner.scan(directory)));
+    }
+
+    @Test
+    public void findsAbstractClassesOnlyIfTheyDeclareRunWith() throws IOException {
+        File directory = copyClassFiles(SuiteOfTests.class, AbstractSuiteOfTests.class,
+                AbstractSubclassOfSuite.class, SubclassOfSuite.class);
+
+        assertEquals(Arrays.asList(AbstractSuiteOfTests.class.getName(),
+                SubclassOfSuite.class.getName(), SuiteOfTests.class.getName()),
+                namesOf(scanner.scan(directory)));
+    }
+
+    @Test
+    public void findsMemberClassesOnlyIfTheirEnclosingClassIsNoTestClass() throws IOException {
+        File directory = copyClassFiles(EnclosingTests.class, EnclosingTests.MemberTest.class,
+                TestWithFixture.class, TestWithFixture.Fixture.class,
+                HolderOfTests.class, HolderOfTests.HeldTest.class);
+
+        assertEquals(Arrays.asList(EnclosingTests.class.getName(),
+                HolderOfTests.HeldTest.class.getName(), TestWithFixture.class.getName()),
+                namesOf(scanner.scan(directory)));
+    }
+
+    @Test
+    public void findsTestClassesInJar() throws IOException {
+        File jar = temporaryFolder.newFile("tests.jar");
+        JarOutputStream out = new JarOutputStream(new FileOutputStream(jar));
+        try {
+            for (Class<?> each : Arrays.asList(PlainTest.class, NotATest.class)) {
+                out.putNextEntry(new ZipEntry(classFileName(each)));
+                copyClassFile(each, out);
+                out.closeEntry();
+            }
+        } finally {
+            out.close();
+        }
+
+        assertEquals(Arrays.asList(PlainTest.class.getName()), namesOf(scanner.scan(jar)));
+    }
+
+    @Test
+    public void readsSuperclassesThatAreNotScannedFromClassLoader() throws IOException {
+        File directory = copyClassFiles(InheritsTests.class);
+
+        assertEquals(Arrays.asList(InheritsTests.class.getName()), namesOf(scanner.scan(directory)));
+    }
+
+    @Test
+    public void reportsIgnoredClassesAndCategories() throws IOException {
+        File directory = copyClassFiles(IgnoredSlowTest.class, InheritsCategory.class);
+
+        List<DiscoveredTestClass> testClasses = scanner.scan(directory);
+
+        assertEquals(2, testClasses.size());
+        assertTrue(testClasses.get(0).isIgnored());
+        assertEquals(Arrays.asList(Slow.class.getName(), Fast.class.getName()),
+                testClasses.get(0).getCategoryNames());
+        assertFalse(testClasses.get(1).isIgnored());
+        assertEquals(Arrays.asList(Slow.class.getName(), Fast.class.getName()),
+                testClasses.get(1).getCategoryNames());
+    }
+
+    @Test
+    public void doesNotInitializeClasses() throws Exception {
+        File directory = copyClassFiles(WithStaticInitializer.class);
+
+        List<DiscoveredTestClass> testClasses = scanner.scan(directory);
+
+        assertEquals(1, testClasses.size());
+        assertFalse(initializerRan);
+        assertEquals(WithStaticInitializer.class, testClasses.get(0).load());
+        assertTrue(initializerRan);
+    }
+
+    @Test
+    public void failsForInvalidClassFile() throws IOException {
+        File directory = temporaryFolder.newFolder();
+        OutputStream out = new FileOutputStream(new File(directory, "Broken.class"));
+        try {
+            out.write(new byte[]{(byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0});
+        } finally {
+            out.close();
+        }
+
+        try {
+            scanner.scan(directory);
+            fail("expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("Broken.class"));
+        }
+    }
+
+    @Test(expected = FileNotFoundException.class)
+    public void failsForMissingRoot() throws IOException {
+        scanner.scan(new File(temporaryFolder.getRoot(), "missing"));
+    }
+
+    private File copyClassFiles(Class<?>... classes) throws IOException {
+        File directory = temporaryFolder.newFolder();
+        for (Class<?> each : classes) {
+            File file = new File(directory, classFileName(each));
+            file.getParentFile().mkdirs();
+            OutputStream out = new FileOutputStream(file);
+            try {
+                copyClassFile(each, out);
+            } finally {
+                out.close();
+            }
+        }
+        return directory;
+    }
+
+    private static String classFileName(Class<?> clazz) {
+        return clazz.getName().replace('.', '/') + ".class";
+    }
+
+    private static void copyClassFile(Class<?> clazz, OutputStream out) throws IOException {
+        InputStream in = TestClassScannerTest.class.getClassLoader()
+                .getResourceAsStream(classFileName(clazz));
+        try {
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    private static List<String> namesOf(List<DiscoveredTestClass> testClasses) {
+        List<String> names = new ArrayList<String>();
+        for (DiscoveredTestClass each : testClasses) {
+            names.add(each.getName());
+        }
+        return names;
+    }
+}
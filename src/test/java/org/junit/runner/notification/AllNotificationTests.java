@@ -6,6 +6,7 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({
+        AsynchronousRunListenerTest.class,
         ConcurrentRunNotifierTest.class,
         RunNotifierTest.class,
         SynchronizedRunListenerTest.class
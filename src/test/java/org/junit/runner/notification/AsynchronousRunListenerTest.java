@@ -0,0 +1,133 @@
+package org.junit.runner.notification;
+
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+
+/**
+ * Tests for listeners annotated with {@link RunListener.Async}.
+ */
+public class AsynchronousRunListenerTest {
+
+    public static class Example {
+        @Test
+        public void one() {
+        }
+
+        @Test
+        public void two() {
+        }
+    }
+
+    @RunListener.Async
+    public static class RecordingListener extends RunListener {
+        final List<String> events = new ArrayList<String>();
+        volatile Thread thread;
+
+        @Override
+        public void testRunStarted(Description description) {
+            thread = Thread.currentThread();
+            events.add("runStarted");
+        }
+
+        @Override
+        public void testStarted(Description description) throws Exception {
+            events.add("started " + description.getMethodName());
+        }
+
+        @Override
+        public void testFinished(Description description) throws Exception {
+            Thread.sleep(10);
+            events.add("finished " + description.getMethodName());
+        }
+
+        @Override
+        public void testRunFinished(Result result) {
+            events.add("runFinished");
+        }
+    }
+
+    @RunListener.Async(bufferSize = 1)
+    public static class TinyBufferListener extends RecordingListener {
+    }
+
+    @RunListener.Async
+    public static class CorruptListener extends RunListener {
+        @Override
+        public void testStarted(Description description) throws Exception {
+            throw new RuntimeException("corrupt");
+        }
+    }
+
+    private static class FailureCountingListener extends RunListener {
+        int failures;
+
+        @Override
+        public void testFailure(Failure failure) {
+            if (failure.getDescription() == Description.TEST_MECHANISM) {
+                failures++;
+            }
+        }
+    }
+
+    private static Result runWith(RunListener listener) {
+        JUnitCore core = new JUnitCore();
+        core.addListener(listener);
+        return core.run(Example.class);
+    }
+
+    @Test
+    public void deliversAllEventsInOrderBeforeRunReturns() {
+        RecordingListener listener = new RecordingListener();
+        runWith(listener);
+        assertThat(listener.thread, is(not(Thread.currentThread())));
+        assertEquals(6, listener.events.size());
+        assertEquals("runStarted", listener.events.get(0));
+        assertEquals("runFinished", listener.events.get(5));
+    }
+
+    @Test
+    public void waitsForListenerWhenBufferIsFull() {
+        TinyBufferListener listener = new TinyBufferListener();
+        Result result = runWith(listener);
+        assertTrue(result.wasSuccessful());
+        assertEquals(6, listener.events.size());
+    }
+
+    @Test
+    public void reportsFailuresOfListenerToOtherListeners() {
+        JUnitCore core = new JUnitCore();
+        FailureCountingListener failureCounter = new FailureCountingListener();
+        core.addListener(failureCounter);
+        core.addListener(new CorruptListener());
+        core.run(Example.class);
+        assertEquals(2, failureCounter.failures);
+    }
+
+    @Test
+    public void removeListenerDeliversPendingEvents() {
+        RunNotifier notifier = new RunNotifier();
+        RecordingListener listener = new RecordingListener();
+        notifier.addListener(listener);
+        notifier.fireTestStarted(Description.createTestDescription(Example.class, "one"));
+        notifier.fireTestFinished(Description.createTestDescription(Example.class, "one"));
+        notifier.removeListener(listener);
+        assertEquals(2, listener.events.size());
+    }
+
+    @Test
+    public void wrapIfNotThreadSafeWrapsAsyncListeners() {
+        RunListener wrapped = new RunNotifier().wrapIfNotThreadSafe(new RecordingListener());
+        assertTrue(wrapped instanceof AsynchronousRunListener);
+    }
+}
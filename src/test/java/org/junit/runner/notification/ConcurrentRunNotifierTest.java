@@ -15,6 +15,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -140,6 +141,47 @@ public final class ConcurrentRunNotifierTest {
         }
     }
 
+    @Test
+    public void nonThreadSafeListenersDoNotSynchronizeOnTheNotifier() throws Exception {
+        final ConcurrentRunListener listener = new ConcurrentRunListener();
+        fNotifier.addListener(listener);
+
+        Thread firing = new Thread() {
+            @Override
+            public void run() {
+                fNotifier.fireTestStarted(null);
+            }
+        };
+        synchronized (fNotifier) {
+            firing.start();
+            firing.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+            assertFalse(firing.isAlive());
+        }
+        assertThat(listener.fTestStarted.get(), is(1));
+    }
+
+    @Test
+    public void nonThreadSafeListenersAreSynchronizedOnThemselves() throws Exception {
+        final ConcurrentRunListener listener = new ConcurrentRunListener();
+        fNotifier.addListener(listener);
+
+        Thread firing = new Thread() {
+            @Override
+            public void run() {
+                fNotifier.fireTestStarted(null);
+            }
+        };
+        synchronized (listener) {
+            firing.start();
+            firing.join(100);
+            assertTrue(firing.isAlive());
+            assertThat(listener.fTestStarted.get(), is(0));
+        }
+        firing.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+        assertFalse(firing.isAlive());
+        assertThat(listener.fTestStarted.get(), is(1));
+    }
+
     /**
      * Verifies that listeners added while tests are run concurrently are
      * notified about test failures.
@@ -33,6 +33,18 @@ public class RunNotifierTest {
         fNotifier.fireTestRunFinished(new Result());
     }
 
+    @Test
+    public void notifiesListenersBeforeAndAfterAThrowingListenerAboutItsFailure() {
+        FailureListener before = new FailureListener();
+        FailureListener after = new FailureListener();
+        fNotifier.addListener(before);
+        fNotifier.addListener(new CorruptListener());
+        fNotifier.addListener(after);
+        fNotifier.fireTestRunFinished(new Result());
+        assertSame(Description.TEST_MECHANISM, before.failure.getDescription());
+        assertSame(Description.TEST_MECHANISM, after.failure.getDescription());
+    }
+
     private static class CorruptListener extends RunListener {
         @Override
         public void testRunFinished(Result result) throws Exception {
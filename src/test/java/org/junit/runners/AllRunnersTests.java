@@ -9,6 +9,7 @@ import org.junit.runners.parameterized.AllParameterizedTests;
 @SuiteClasses({
         AllModelTests.class,
         AllParameterizedTests.class,
+        ParameterizedNameTemplateTest.class,
         RuleContainerTest.class,
         CustomBlockJUnit4ClassRunnerTest.class
 })
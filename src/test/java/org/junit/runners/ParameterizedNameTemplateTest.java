@@ -0,0 +1,47 @@
+package org.junit.runners;
+
+import static org.junit.Assert.assertEquals;
+
+import java.text.MessageFormat;
+import java.util.Date;
+
+import org.junit.Test;
+import org.junit.runners.Parameterized.NameTemplate;
+
+public class ParameterizedNameTemplateTest {
+    private static final Object[] PARAMETERS = {
+            "text", 1234567, 2.5, null, new Date(0), new int[0].getClass(), 'c'};
+
+    private static final String[] PATTERNS = {
+            "{index}", "{index}: {0}", "{0} + {1} = {2}", "{3}", "{4}", "{5} {6}",
+            "{index}{index}", "", "no arguments", "{7} is missing", "{1,number,#}",
+            "'{0}'", "it''s {0}", "{ 0 }", "{01}", "{index}: {0", "{0}}", "{a}"};
+
+    @Test
+    public void createsSameNamesAsMessageFormat() {
+        for (String pattern : PATTERNS) {
+            NameTemplate template = NameTemplate.compile(pattern);
+            for (int index = 0; index < 3; index++) {
+                assertEquals(pattern, formatWithMessageFormat(pattern, index),
+                        formatWithTemplate(template, index));
+            }
+        }
+    }
+
+    private static String formatWithMessageFormat(String pattern, int index) {
+        try {
+            String finalPattern = pattern.replaceAll("\\{index\\}", Integer.toString(index));
+            return MessageFormat.format(finalPattern, PARAMETERS);
+        } catch (IllegalArgumentException e) {
+            return e.toString();
+        }
+    }
+
+    private static String formatWithTemplate(NameTemplate template, int index) {
+        try {
+            return template.format(index, PARAMETERS);
+        } catch (IllegalArgumentException e) {
+            return e.toString();
+        }
+    }
+}
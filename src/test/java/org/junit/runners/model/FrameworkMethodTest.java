@@ -48,6 +48,15 @@ public class FrameworkMethodTest {
         assertThat(annotation, is(nullValue()));
     }
 
+    @Test
+    public void invokeExplosivelyRethrowsExceptionOfMethodUnwrapped() throws Throwable {
+        Method method = ClassWithDummyMethod.class.getMethod("throwingDummyMethod", String.class);
+        FrameworkMethod frameworkMethod = new FrameworkMethod(method);
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("thrown by dummy");
+        frameworkMethod.invokeExplosively(new ClassWithDummyMethod(), "thrown by dummy");
+    }
+
     private static class ClassWithDummyMethod {
         @SuppressWarnings("unused")
         public void dummyMethod() {
@@ -56,5 +65,9 @@ public class FrameworkMethodTest {
         @Rule
         public void annotatedDummyMethod() {
         }
+
+        public void throwingDummyMethod(String message) {
+            throw new IllegalStateException(message);
+        }
     }
 }
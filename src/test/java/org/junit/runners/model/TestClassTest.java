@@ -4,12 +4,21 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Rule;
 import org.junit.Test;
@@ -260,4 +269,144 @@ public class TestClassTest {
         Annotation annotation = tc.getAnnotation(RunWith.class);
         assertThat(annotation, is(nullValue()));
     }
+
+    public abstract static class SharedBase {
+        @Before
+        public void setUp() {
+        }
+    }
+
+    public static class FirstSubclass extends SharedBase {
+        @Test
+        public void first() {
+        }
+    }
+
+    public static class SecondSubclass extends SharedBase {
+        @Test
+        public void second() {
+        }
+    }
+
+    @Test
+    public void sharesAnnotatedMembersOfSameClass() {
+        TestClass first = new TestClass(FirstSubclass.class);
+        TestClass second = new TestClass(FirstSubclass.class);
+        assertNotSame(first, second);
+        assertSame(first.getAnnotatedMethods(Test.class).get(0),
+                second.getAnnotatedMethods(Test.class).get(0));
+    }
+
+    @Test
+    public void sharesMembersOfSuperclassBetweenSubclasses() {
+        FrameworkMethod first = new TestClass(FirstSubclass.class)
+                .getAnnotatedMethods(Before.class).get(0);
+        FrameworkMethod second = new TestClass(SecondSubclass.class)
+                .getAnnotatedMethods(Before.class).get(0);
+        assertEquals("setUp", first.getName());
+        assertSame(first, second);
+    }
+
+    private static class TestClassWithoutMethods extends TestClass {
+        TestClassWithoutMethods(Class<?> clazz) {
+            super(clazz);
+        }
+
+        @Override
+        protected void scanAnnotatedMembers(
+                Map<Class<? extends Annotation>, List<FrameworkMethod>> methodsForAnnotations,
+                Map<Class<? extends Annotation>, List<FrameworkField>> fieldsForAnnotations) {
+        }
+    }
+
+    @Test
+    public void subclassesThatScanThemselvesAreNotShared() {
+        new TestClass(FirstSubclass.class);
+        assertTrue(new TestClassWithoutMethods(FirstSubclass.class).getAnnotatedMethods().isEmpty());
+        assertEquals(1, new TestClass(FirstSubclass.class).getAnnotatedMethods(Test.class).size());
+    }
+
+    public static class DefinedByOtherLoader {
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void doesNotKeepClassLoaderOfTestClass() throws Exception {
+        WeakReference<ClassLoader> loader = wrapClassOfOtherLoader();
+        for (int i = 0; i < 50 && loader.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(loader.get());
+    }
+
+    @Test
+    public void sharesMembersOfClassOfOtherLoaderWhileInUse() throws Exception {
+        Class<?> clazz = new DefiningClassLoader(DefinedByOtherLoader.class.getName())
+                .loadClass(DefinedByOtherLoader.class.getName());
+        TestClass first = new TestClass(clazz);
+        System.gc();
+        TestClass second = new TestClass(clazz);
+
+        assertSame(first.getAnnotatedMethods(Test.class).get(0),
+                second.getAnnotatedMethods(Test.class).get(0));
+    }
+
+    private static WeakReference<ClassLoader> wrapClassOfOtherLoader() throws Exception {
+        ClassLoader loader = new DefiningClassLoader(DefinedByOtherLoader.class.getName());
+        Class<?> clazz = loader.loadClass(DefinedByOtherLoader.class.getName());
+        assertNotSame(DefinedByOtherLoader.class, clazz);
+        assertEquals(1, new TestClass(clazz).getAnnotatedMethods(Test.class).size());
+        return new WeakReference<ClassLoader>(loader);
+    }
+
+    /**
+     * Defines a single class itself and delegates all others to its parent.
+     */
+    private static class DefiningClassLoader extends ClassLoader {
+        private final String className;
+
+        DefiningClassLoader(String className) {
+            super(TestClassTest.class.getClassLoader());
+            this.className = className;
+        }
+
+        @Override
+        protected synchronized Class<?> loadClass(String name, boolean resolve)
+                throws ClassNotFoundException {
+            if (!name.equals(className)) {
+                return super.loadClass(name, resolve);
+            }
+            Class<?> clazz = findLoadedClass(name);
+            if (clazz == null) {
+                byte[] bytes = readClassFile(name);
+                clazz = defineClass(name, bytes, 0, bytes.length);
+            }
+            return clazz;
+        }
+
+        private byte[] readClassFile(String name) throws ClassNotFoundException {
+            InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class");
+            if (in == null) {
+                throw new ClassNotFoundException(name);
+            }
+            try {
+                try {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    byte[] buffer = new byte[4096];
+                    int read;
+                    while ((read = in.read(buffer)) >= 0) {
+                        out.write(buffer, 0, read);
+                    }
+                    return out.toByteArray();
+                } finally {
+                    in.close();
+                }
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
 }
@@ -3,6 +3,7 @@ package org.junit.runners.parameterized;
 import static java.util.Collections.emptyList;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 import static org.junit.rules.ExpectedException.none;
 
 import java.lang.annotation.Annotation;
@@ -10,6 +11,7 @@ import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -18,6 +20,7 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
+import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.TestClass;
 
 public class BlockJUnit4ClassRunnerWithParametersTest {
@@ -77,4 +80,67 @@ public class BlockJUnit4ClassRunnerWithParametersTest {
 
         runner.createTest();
     }
-}
\ No newline at end of file
+
+    private static class CountingRunner extends BlockJUnit4ClassRunnerWithParameters {
+        static int validations;
+
+        CountingRunner(TestWithParameters test) throws InitializationError {
+            super(test);
+        }
+
+        @Override
+        protected void validateFields(List<Throwable> errors) {
+            validations++;
+            super.validateFields(errors);
+        }
+    }
+
+    public static class ClassWithParameterFields {
+        @Parameterized.Parameter(1)
+        public int second;
+
+        @Parameterized.Parameter(0)
+        public String first;
+
+        @Test
+        public void dummyTest() {
+        }
+    }
+
+    @Test
+    public void validatesClassOnlyForFirstSetOfParameters() throws Exception {
+        CountingRunner.validations = 0;
+        TestClass testClass = new TestClass(ClassWithParameterFields.class);
+        for (int i = 0; i < 10; i++) {
+            CountingRunner runner = new CountingRunner(new TestWithParameters(
+                    "[" + i + "]", testClass, Arrays.<Object>asList("row " + i, i)));
+            ClassWithParameterFields test = (ClassWithParameterFields) runner.createTest();
+            assertEquals("row " + i, test.first);
+            assertEquals(i, test.second);
+        }
+        assertEquals(1, CountingRunner.validations);
+    }
+
+    public static class ClassWithUnusedParameterIndex {
+        @Parameterized.Parameter(1)
+        public String parameter;
+
+        @Test
+        public void dummyTest() {
+        }
+    }
+
+    @Test
+    public void reportsValidationErrorsForEverySetOfParameters() throws Exception {
+        TestClass testClass = new TestClass(ClassWithUnusedParameterIndex.class);
+        for (int i = 0; i < 2; i++) {
+            try {
+                new BlockJUnit4ClassRunnerWithParameters(new TestWithParameters(
+                        "[" + i + "]", testClass, Collections.<Object>singletonList("dummy")));
+                fail("runner created for invalid class");
+            } catch (InitializationError e) {
+                assertEquals(2, e.getCauses().size());
+            }
+        }
+    }
+}
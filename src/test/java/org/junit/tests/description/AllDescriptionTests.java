@@ -7,6 +7,7 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         AnnotatedDescriptionTest.class,
+        DescriptionBuilderTest.class,
         SuiteDescriptionTest.class,
         TestDescriptionMethodNameTest.class,
         TestDescriptionTest.class
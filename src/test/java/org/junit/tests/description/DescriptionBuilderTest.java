@@ -0,0 +1,153 @@
+package org.junit.tests.description;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+
+public class DescriptionBuilderTest {
+    private final Description testA = Description.createTestDescription("Example", "a");
+    private final Description testB = Description.createTestDescription("Example", "b");
+    private final Description testC = Description.createTestDescription("Other", "c");
+
+    private Description createTree(boolean indexTests) {
+        Description inner = Description.builder(Description.createSuiteDescription("Example"))
+                .addChild(testA)
+                .addChild(testB)
+                .build();
+        Description.Builder builder = Description.builder(Description.createSuiteDescription("all"))
+                .addChild(inner)
+                .addChild(testC);
+        if (indexTests) {
+            builder.indexTests();
+        }
+        return builder.build();
+    }
+
+    @Test
+    public void builtDescriptionHasNameAndChildren() {
+        Description root = createTree(false);
+        assertEquals("all", root.getDisplayName());
+        assertEquals(2, root.getChildren().size());
+        assertEquals(3, root.testCount());
+        assertTrue(root.isSuite());
+    }
+
+    @Test
+    public void builtDescriptionWithoutChildrenIsATest() {
+        Description test = Description.builder(testA).build();
+        assertEquals(testA, test);
+        assertEquals("a", test.getMethodName());
+        assertTrue(test.isTest());
+        assertEquals(1, test.testCount());
+    }
+
+    @Test
+    public void builtSuiteWithoutChildrenIsNotATest() {
+        Description suite = Description.builder(Description.createSuiteDescription("suite"))
+                .suite()
+                .build();
+        assertTrue(suite.isSuite());
+        assertEquals(0, suite.testCount());
+        assertTrue(Description.builder(suite).immutable().build().isSuite());
+        assertEquals(0, Description.builder(suite).immutable().build().testCount());
+    }
+
+    @Test
+    public void builderStartsWithChildrenOfDescription() {
+        Description suite = Description.createSuiteDescription("suite");
+        suite.addChild(testA);
+        Description built = Description.builder(suite).addChild(testB).build();
+        assertEquals(2, built.testCount());
+    }
+
+    @Test
+    public void childrenCanBeAddedToBuiltDescription() {
+        Description root = createTree(false);
+        Description testD = Description.createTestDescription("Other", "d");
+        root.addChild(testD);
+        assertEquals(3, root.getChildren().size());
+        assertEquals(4, root.testCount());
+        assertSame(testD, root.findTest(testD));
+    }
+
+    @Test
+    public void childCanBeAddedToBuiltTest() {
+        Description suite = Description.builder(Description.createSuiteDescription("suite")).build();
+        suite.addChild(testA);
+        assertTrue(suite.isSuite());
+        assertEquals(1, suite.testCount());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void immutableDescriptionCannotBeModified() {
+        Description.builder(Description.createSuiteDescription("all"))
+                .addChild(testA)
+                .immutable()
+                .build()
+                .addChild(testC);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void indexedDescriptionCannotBeModified() {
+        createTree(true).addChild(testC);
+    }
+
+    @Test
+    public void findTestWithIndex() {
+        Description root = createTree(true);
+        assertSame(testB, root.findTest(Description.createTestDescription("Example", "b")));
+        assertNull(root.findTest(Description.createTestDescription("Example", "z")));
+    }
+
+    @Test
+    public void findTestWithoutIndex() {
+        Description root = createTree(false);
+        assertSame(testC, root.findTest(Description.createTestDescription("Other", "c")));
+        assertNull(root.findTest(Description.createTestDescription("Example", "z")));
+    }
+
+    @Test
+    public void builtDescriptionCanBeSerialized() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(createTree(true));
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Description root = (Description) in.readObject();
+
+        assertEquals(3, root.testCount());
+        assertEquals(testB, root.findTest(testB));
+    }
+
+    @Test
+    public void builtDescriptionHasSameSerializedFormAsOtherDescriptions() throws Exception {
+        Description built = Description.builder(Description.createSuiteDescription("all"))
+                .addChild(testA)
+                .addChild(testB)
+                .immutable()
+                .build();
+        Description created = Description.createSuiteDescription("all");
+        created.addChild(testA);
+        created.addChild(testB);
+
+        assertArrayEquals(serialize(created), serialize(built));
+    }
+
+    private static byte[] serialize(Description description) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(description);
+        out.close();
+        return bytes.toByteArray();
+    }
+}
@@ -1,8 +1,15 @@
 package org.junit.tests.description;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import org.junit.Test;
 import org.junit.runner.Description;
 
@@ -21,4 +28,50 @@ public class TestDescriptionTest {
     public void equalsIsFalseForSameNameAndDifferentUniqueId() {
         assertFalse(Description.createSuiteDescription("Hello", 2).equals(Description.createSuiteDescription("Hello", 3)));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void namesOfTestDescriptionCreatedFromClassAndMethodName() {
+        Description description = Description.createTestDescription("a.Class", "method", 42);
+        assertEquals("method(a.Class)", description.getDisplayName());
+        assertEquals("a.Class", description.getClassName());
+        assertEquals("method", description.getMethodName());
+    }
+
+    @Test
+    public void namesOfSuiteDescriptionCreatedFromDisplayName() {
+        Description description = Description.createSuiteDescription("method(a.Class)");
+        assertEquals("a.Class", description.getClassName());
+        assertEquals("method", description.getMethodName());
+
+        Description suite = Description.createSuiteDescription("a suite");
+        assertEquals("a suite", suite.getClassName());
+        assertNull(suite.getMethodName());
+    }
+
+    @Test
+    public void namesOfSuiteDescriptionCreatedFromClass() {
+        Description description = Description.createSuiteDescription(getClass());
+        assertEquals(getClass().getName(), description.getClassName());
+        assertNull(description.getMethodName());
+    }
+
+    @Test
+    public void namesOfChildlessCopy() {
+        Description copy = Description.createTestDescription(getClass(), "method").childlessCopy();
+        assertEquals(getClass().getName(), copy.getClassName());
+        assertEquals("method", copy.getMethodName());
+    }
+
+    @Test
+    public void namesOfDeserializedDescription() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(Description.createTestDescription("a.Class", "method"));
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        Description description = (Description) in.readObject();
+
+        assertEquals("a.Class", description.getClassName());
+        assertEquals("method", description.getMethodName());
+    }
+}
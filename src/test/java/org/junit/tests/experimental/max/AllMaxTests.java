@@ -1,13 +1,18 @@
 package org.junit.tests.experimental.max;
 
+import org.junit.experimental.max.AppendOnlyHistoryLogTest;
+import org.junit.experimental.max.DurationSketchTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({
+        AppendOnlyHistoryLogTest.class,
         DescriptionTest.class,
+        DurationSketchTest.class,
         JUnit38SortingTest.class,
+        MaxHistoryTest.class,
         MaxStarterTest.class
 })
 public class AllMaxTests {
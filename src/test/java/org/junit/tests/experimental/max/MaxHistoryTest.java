@@ -0,0 +1,245 @@
+package org.junit.tests.experimental.max;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.max.HistoryStore;
+import org.junit.experimental.max.MaxHistory;
+import org.junit.experimental.max.SchedulingStrategy;
+import org.junit.experimental.max.TestStatistics;
+import org.junit.runner.Description;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.manipulation.Filter;
+import org.junit.runner.manipulation.ShardStrategy;
+
+public class MaxHistoryTest {
+    private static final long MILLIS = 1000L * 1000L;
+
+    private static class InMemoryStore implements HistoryStore {
+        final List<Object[]> records = new ArrayList<Object[]>();
+
+        public void read(Visitor visitor) {
+            for (Object[] each : records) {
+                if (each[0] == "duration") {
+                    visitor.testDuration((String) each[1], (Long) each[2]);
+                } else {
+                    visitor.testFailure((String) each[1], (Long) each[2]);
+                }
+            }
+        }
+
+        public void recordTestDuration(String test, long duration) {
+            records.add(new Object[] {"duration", test, duration});
+        }
+
+        public void recordTestFailure(String test, long timestamp) {
+            records.add(new Object[] {"failure", test, timestamp});
+        }
+
+        public void flush() {
+        }
+    }
+
+    private final InMemoryStore store = new InMemoryStore();
+
+    private final Description fast = Description.createTestDescription(MaxHistoryTest.class, "fast");
+
+    private final Description slow = Description.createTestDescription(MaxHistoryTest.class, "slow");
+
+    private final Description flaky = Description.createTestDescription(MaxHistoryTest.class, "flaky");
+
+    private final Description fresh = Description.createTestDescription(MaxHistoryTest.class, "fresh");
+
+    private void executed(Description test, long duration) {
+        store.recordTestDuration(test.toString(), duration);
+    }
+
+    private void failed(Description test, long timestamp) {
+        store.recordTestFailure(test.toString(), timestamp);
+    }
+
+    @Test
+    public void newTestHasNoExecutions() {
+        TestStatistics statistics = MaxHistory.forStore(store).getStatistics(fresh);
+        assertEquals(0, statistics.getExecutionCount());
+        assertEquals(0, statistics.getMeanDuration());
+    }
+
+    @Test
+    public void singleSlowExecutionHasLimitedEffectOnMeanDuration() {
+        for (int i = 0; i < 10; i++) {
+            executed(fast, 10 * MILLIS);
+        }
+        executed(fast, 1000 * MILLIS);
+        executed(fast, 10 * MILLIS);
+
+        TestStatistics statistics = MaxHistory.forStore(store).getStatistics(fast);
+        assertEquals(12, statistics.getExecutionCount());
+        assertEquals(10 * MILLIS, statistics.getLastDuration());
+        assertTrue(statistics.getMeanDuration() < 200 * MILLIS);
+        assertEquals(10 * MILLIS, statistics.getDurationQuantile(0.5), MILLIS);
+    }
+
+    @Test
+    public void tracksFailureRate() {
+        for (int i = 0; i < 4; i++) {
+            failed(flaky, i);
+            executed(flaky, MILLIS);
+            executed(flaky, MILLIS);
+        }
+
+        TestStatistics statistics = MaxHistory.forStore(store).getStatistics(flaky);
+        assertEquals(8, statistics.getExecutionCount());
+        assertEquals(4, statistics.getFailureCount());
+        assertEquals(3, statistics.getLastFailureTimestamp());
+        assertTrue(statistics.getFailureRate() > 0.2);
+        assertTrue(statistics.getFailureRate() < 0.8);
+    }
+
+    @Test
+    public void longestFirstPutsNewTestsFirstAndThenLongestPredictedDuration() {
+        executed(fast, 10 * MILLIS);
+        executed(slow, 500 * MILLIS);
+        executed(flaky, 100 * MILLIS);
+        List<Description> tests = new ArrayList<Description>(Arrays.asList(fast, slow, fresh, flaky));
+
+        Collections.sort(tests, SchedulingStrategy.LONGEST_FIRST.comparator(MaxHistory.forStore(store)));
+
+        assertEquals(Arrays.asList(fresh, slow, flaky, fast), tests);
+    }
+
+    @Test
+    public void frequentFailuresFirstPrefersTestsThatFailOften() {
+        failed(fast, 1);
+        executed(fast, MILLIS);
+        for (int i = 0; i < 5; i++) {
+            executed(fast, MILLIS);
+            failed(flaky, 1);
+            executed(flaky, MILLIS);
+        }
+        executed(slow, MILLIS);
+        failed(slow, 2);
+        executed(slow, 2 * MILLIS);
+        List<Description> tests = new ArrayList<Description>(Arrays.asList(fast, slow, flaky));
+
+        Collections.sort(tests,
+                SchedulingStrategy.FREQUENT_FAILURES_FIRST.comparator(MaxHistory.forStore(store)));
+
+        assertEquals(Arrays.asList(flaky, slow, fast), tests);
+    }
+
+    @Test
+    public void failuresFirstPutsMostRecentFailureFirst() {
+        failed(fast, 2);
+        executed(fast, MILLIS);
+        failed(slow, 1);
+        executed(slow, 2 * MILLIS);
+        executed(flaky, MILLIS);
+        List<Description> tests = new ArrayList<Description>(Arrays.asList(flaky, slow, fast));
+
+        Collections.sort(tests, MaxHistory.forStore(store).testComparator());
+
+        assertEquals(Arrays.asList(fast, slow, flaky), tests);
+    }
+
+    @Test
+    public void deserializedHistoryKeepsLatestExecutionAndFailure() throws Exception {
+        executed(fast, MILLIS);
+        executed(fast, 2 * MILLIS);
+        failed(flaky, 3);
+        executed(flaky, MILLIS);
+
+        MaxHistory history = roundTrip(MaxHistory.forStore(store));
+
+        assertEquals(2 * MILLIS, history.getStatistics(fast).getLastDuration());
+        assertEquals(3, history.getStatistics(flaky).getLastFailureTimestamp());
+        assertEquals(1, history.getStatistics(flaky).getFailureCount());
+        RunListener listener = history.listener();
+        listener.testStarted(fresh);
+        listener.testFailure(new Failure(fresh, new AssertionError()));
+        listener.testFinished(fresh);
+        listener.testRunFinished(new Result());
+        assertEquals(1, history.getStatistics(fresh).getExecutionCount());
+        assertEquals(1, history.getStatistics(fresh).getFailureCount());
+    }
+
+    private static MaxHistory roundTrip(MaxHistory history) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(history);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        try {
+            return (MaxHistory) in.readObject();
+        } finally {
+            in.close();
+        }
+    }
+
+    public static class SlowClass {
+        @Test
+        public void test() {
+        }
+    }
+
+    public static class MediumClass {
+        @Test
+        public void first() {
+        }
+
+        @Test
+        public void second() {
+        }
+    }
+
+    public static class FastClass {
+        @Test
+        public void test() {
+        }
+    }
+
+    public static class NewClass {
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void shardStrategyBalancesPredictedDurations() {
+        executed(Description.createTestDescription(SlowClass.class, "test"), 400 * MILLIS);
+        executed(Description.createTestDescription(MediumClass.class, "first"), 150 * MILLIS);
+        executed(Description.createTestDescription(MediumClass.class, "second"), 150 * MILLIS);
+        executed(Description.createTestDescription(FastClass.class, "test"), 100 * MILLIS);
+        Description suite = Request.classes(SlowClass.class, MediumClass.class, FastClass.class, NewClass.class)
+                .getRunner().getDescription();
+        ShardStrategy strategy = MaxHistory.forStore(store).shardStrategy();
+
+        Filter first = strategy.createFilter(suite, 0, 2);
+        Filter second = strategy.createFilter(suite, 1, 2);
+
+        // slow (400) and fast (100) vs. medium (300) and new (mean: 200)
+        assertEquals(Arrays.asList(true, false, true, false), shouldRun(first, suite));
+        assertEquals(Arrays.asList(false, true, false, true), shouldRun(second, suite));
+    }
+
+    private static List<Boolean> shouldRun(Filter filter, Description suite) {
+        List<Boolean> result = new ArrayList<Boolean>();
+        for (Description each : suite.getChildren()) {
+            result.add(filter.shouldRun(each));
+        }
+        return result;
+    }
+}
@@ -7,7 +7,8 @@ import org.junit.runners.Suite.SuiteClasses;
 @RunWith(Suite.class)
 @SuiteClasses({
         ParallelClassTest.class,
-        ParallelMethodTest.class
+        ParallelMethodTest.class,
+        WorkStealingComputerTest.class
 })
 public class AllParallelTests {
 }
@@ -0,0 +1,202 @@
+package org.junit.tests.experimental.parallel;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.WorkStealingComputer;
+import org.junit.runner.Computer;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.Failure;
+import org.junit.runners.BlockJUnit4ClassRunner;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+import org.junit.runners.model.InitializationError;
+
+public class WorkStealingComputerTest {
+    private static final long TIMEOUT = 15;
+    private static volatile Thread fExample1 = null;
+    private static volatile Thread fExample2 = null;
+    private static volatile CountDownLatch fSynchronizer;
+    private static final Map<Thread, Boolean> fThreads = new ConcurrentHashMap<Thread, Boolean>();
+
+    public static class Example1 {
+        @Test
+        public void one() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+            fExample1 = Thread.currentThread();
+        }
+    }
+
+    public static class Example2 {
+        @Test
+        public void one() throws InterruptedException {
+            fSynchronizer.countDown();
+            assertTrue(fSynchronizer.await(TIMEOUT, TimeUnit.SECONDS));
+            fExample2 = Thread.currentThread();
+        }
+    }
+
+    public static class RecordsThread {
+        @Test
+        public void one() {
+            fThreads.put(Thread.currentThread(), true);
+        }
+
+        @Test
+        public void two() {
+            fThreads.put(Thread.currentThread(), true);
+        }
+
+        @Test
+        public void three() {
+            fThreads.put(Thread.currentThread(), true);
+        }
+    }
+
+    public static class RecordsThreadToo extends RecordsThread {
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({RecordsThread.class, RecordsThreadToo.class})
+    public static class NestedSuite {
+    }
+
+    public static class RecordsConstructingThread extends BlockJUnit4ClassRunner {
+        public RecordsConstructingThread(Class<?> testClass) throws InitializationError, InterruptedException {
+            super(testClass);
+            fThreads.put(Thread.currentThread(), true);
+            Thread.sleep(5);
+        }
+    }
+
+    @RunWith(RecordsConstructingThread.class)
+    public static class ConstructedByRecordingRunner {
+        @Test
+        public void one() {
+        }
+    }
+
+    public static class NoTests {
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({NestedSuite.class, RecordsThread.class})
+    public static class SuiteSharingNestedSuite {
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({NestedSuite.class})
+    public static class OtherSuiteSharingNestedSuite {
+    }
+
+    @RunWith(Suite.class)
+    @SuiteClasses({ContainsItself.class})
+    public static class ContainsItself {
+    }
+
+    @Before
+    public void init() {
+        fExample1 = null;
+        fExample2 = null;
+        fSynchronizer = new CountDownLatch(2);
+        fThreads.clear();
+    }
+
+    @Test
+    public void classesRunInParallel() {
+        Result result = JUnitCore.runClasses(WorkStealingComputer.classes(), Example1.class, Example2.class);
+        assertTrue(result.wasSuccessful());
+        assertNotNull(fExample1);
+        assertNotNull(fExample2);
+        assertThat(fExample1, is(not(fExample2)));
+    }
+
+    @Test
+    public void numberOfThreadsIsBoundedByParallelism() {
+        Class<?>[] classes = new Class<?>[20];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = i % 2 == 0 ? RecordsThread.class : RecordsThreadToo.class;
+        }
+        Result result = JUnitCore.runClasses(new WorkStealingComputer(true, true, 2), classes);
+        assertTrue(result.wasSuccessful());
+        assertEquals(60, result.getRunCount());
+        // two workers plus the calling thread, which helps while it waits
+        assertTrue("used " + fThreads.size() + " threads", fThreads.size() <= 3);
+    }
+
+    @Test
+    public void nestedSuitesDoNotDeadlockOnASingleWorker() {
+        Result result = JUnitCore.runClasses(new WorkStealingComputer(true, true, 1),
+                NestedSuite.class, NestedSuite.class, NestedSuite.class);
+        assertTrue(result.wasSuccessful());
+        assertEquals(18, result.getRunCount());
+    }
+
+    @Test
+    public void constructsRunnersOnSeveralThreads() {
+        Class<?>[] classes = new Class<?>[20];
+        Arrays.fill(classes, ConstructedByRecordingRunner.class);
+        Request.classes(new WorkStealingComputer(false, false, 2).withParallelConstruction(), classes)
+                .getRunner();
+        assertTrue("used " + fThreads.size() + " threads", fThreads.size() > 1);
+        assertTrue("used " + fThreads.size() + " threads", fThreads.size() <= 3);
+    }
+
+    @Test
+    public void parallelConstructionKeepsOrderAndErrorsOfClasses() {
+        Class<?>[] classes = new Class<?>[] {
+                RecordsThread.class, NoTests.class, SuiteSharingNestedSuite.class, ContainsItself.class,
+                OtherSuiteSharingNestedSuite.class, NestedSuite.class, NoTests.class
+        };
+        Computer parallel = new WorkStealingComputer(false, false, 4).withParallelConstruction();
+
+        Description expected = Request.classes(Computer.serial(), classes).getRunner().getDescription();
+        Description actual = Request.classes(parallel, classes).getRunner().getDescription();
+
+        assertEquals(describeTree(expected), describeTree(actual));
+        Result expectedResult = new JUnitCore().run(Request.classes(Computer.serial(), classes));
+        Result actualResult = new JUnitCore().run(Request.classes(parallel, classes));
+        assertEquals(failureMessages(expectedResult), failureMessages(actualResult));
+    }
+
+    private static String describeTree(Description description) {
+        StringBuilder builder = new StringBuilder(description.getDisplayName());
+        builder.append('[');
+        for (Description each : description.getChildren()) {
+            builder.append(describeTree(each));
+        }
+        return builder.append(']').toString();
+    }
+
+    private static List<String> failureMessages(Result result) {
+        List<String> messages = new ArrayList<String>();
+        for (Failure each : result.getFailures()) {
+            messages.add(each.getTestHeader() + ": " + each.getMessage());
+        }
+        return messages;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parallelismMustBePositive() {
+        new WorkStealingComputer(true, true, 0);
+    }
+}
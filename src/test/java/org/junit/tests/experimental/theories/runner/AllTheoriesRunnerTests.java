@@ -17,7 +17,9 @@ import org.junit.runners.Suite.SuiteClasses;
         WithExtendedParameterSources.class,
         WithNamedDataPoints.class,
         WithOnlyTestAnnotations.class,
+        WithParallelExploration.class,
         WithParameterSupplier.class,
+        WithSampledAssignments.class,
         WithUnresolvedGenericTypeVariablesOnTheoryParms.class
 })
 public class AllTheoriesRunnerTests {
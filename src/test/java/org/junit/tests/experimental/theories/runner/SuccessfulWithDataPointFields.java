@@ -12,12 +12,16 @@ import java.util.List;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.experimental.theories.DataPoint;
 import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
 import org.junit.runner.RunWith;
+import org.junit.runners.model.Statement;
 
 @RunWith(Enclosed.class)
 public class SuccessfulWithDataPointFields {
@@ -170,6 +174,40 @@ public class SuccessfulWithDataPointFields {
         }
     }
 
+    @RunWith(Theories.class)
+    public static class RuleOfNewObjectAppliedEachTime {
+        public static List<TestRule> appliedRules = new ArrayList<TestRule>();
+
+        @DataPoint
+        public static String A = "A";
+
+        @DataPoint
+        public static String B = "B";
+
+        @Rule
+        public final TestRule rule = new TestRule() {
+            public Statement apply(Statement base, Description description) {
+                appliedRules.add(this);
+                return base;
+            }
+        };
+
+        @BeforeClass
+        public static void resetRules() {
+            appliedRules.clear();
+        }
+
+        @Theory
+        public void ruleOfThisObjectIsApplied(String string) {
+            assertThat(appliedRules.get(appliedRules.size() - 1), is(rule));
+        }
+
+        @AfterClass
+        public static void appliedTwice() {
+            assertEquals(2, appliedRules.size());
+        }
+    }
+
     @RunWith(Theories.class)
     public static class OneTestTwoAnnotations {
         public static int tests = 0;
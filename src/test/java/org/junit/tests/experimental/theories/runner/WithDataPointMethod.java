@@ -17,6 +17,7 @@ import java.util.List;
 import org.hamcrest.Matcher;
 import org.junit.Test;
 import org.junit.experimental.theories.DataPoint;
+import org.junit.experimental.theories.DataPoints;
 import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
 import org.junit.runner.JUnitCore;
@@ -104,6 +105,34 @@ public class WithDataPointMethod {
                 .size(), is(0));
     }
 
+    @RunWith(Theories.class)
+    public static class CountsDataPointsInvocations {
+        static int invocations = 0;
+
+        static int runs = 0;
+
+        @DataPoints
+        public static int[] ints() {
+            invocations++;
+            return new int[] {1, 2, 3, 4, 5};
+        }
+
+        @Theory
+        public void allCombinationsOk(int a, int b, int c, int d) {
+            runs++;
+        }
+    }
+
+    @Test
+    public void dataPointsMethodsAreInvokedOncePerTheory() {
+        CountsDataPointsInvocations.invocations = 0;
+        CountsDataPointsInvocations.runs = 0;
+
+        assertThat(testResult(CountsDataPointsInvocations.class), isSuccessful());
+        assertThat(CountsDataPointsInvocations.runs, is(625));
+        assertThat(CountsDataPointsInvocations.invocations, is(1));
+    }
+
     private List<Failure> failures(Class<?> type) {
         return JUnitCore.runClasses(type).getFailures();
     }
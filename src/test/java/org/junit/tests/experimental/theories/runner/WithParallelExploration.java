@@ -0,0 +1,113 @@
+package org.junit.tests.experimental.theories.runner;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.junit.experimental.results.PrintableResult.testResult;
+import static org.junit.experimental.results.ResultMatchers.hasSingleFailureContaining;
+import static org.junit.experimental.results.ResultMatchers.isSuccessful;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+public class WithParallelExploration {
+    @RunWith(Theories.class)
+    public static class TriesAllCombinations {
+        static final AtomicInteger runs = new AtomicInteger();
+
+        static final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5};
+
+        @Theory(parallel = true)
+        public void allCombinations(int a, int b, int c) throws InterruptedException {
+            runs.incrementAndGet();
+            threads.add(Thread.currentThread());
+            Thread.sleep(1);
+        }
+    }
+
+    @Test
+    public void triesAllCombinationsOnSeveralThreads() {
+        TriesAllCombinations.runs.set(0);
+        TriesAllCombinations.threads.clear();
+
+        assertThat(testResult(TriesAllCombinations.class), isSuccessful());
+        assertEquals(216, TriesAllCombinations.runs.get());
+        assertTrue(TriesAllCombinations.threads.size() > 1);
+    }
+
+    @RunWith(Theories.class)
+    public static class FailsForFirstValue {
+        static final AtomicInteger runs = new AtomicInteger();
+
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        @Theory(parallel = true)
+        public void firstValueIsNotZero(int a, int b, int c) {
+            runs.incrementAndGet();
+            assertTrue(a != 0);
+        }
+    }
+
+    @Test
+    public void firstFailureCancelsRemainingCombinations() {
+        FailsForFirstValue.runs.set(0);
+
+        assertThat(testResult(FailsForFirstValue.class),
+                hasSingleFailureContaining("firstValueIsNotZero(\"0\" <from ints[0]>"));
+        assertTrue(FailsForFirstValue.runs.get() < 1000);
+    }
+
+    @RunWith(Theories.class)
+    public static class AssumesOddValues {
+        static final AtomicInteger runs = new AtomicInteger();
+
+        @DataPoints
+        public static int[] ints = {1, 2, 3, 4, 5, 6, 7, 8};
+
+        @Theory(parallel = true)
+        public void sumOfOddValuesIsEven(int a, int b) {
+            assumeTrue(a % 2 == 1 && b % 2 == 1);
+            runs.incrementAndGet();
+            assertThat((a + b) % 2, is(0));
+        }
+    }
+
+    @Test
+    public void countsSuccessesAndViolatedAssumptionsOfAllThreads() {
+        AssumesOddValues.runs.set(0);
+
+        assertThat(testResult(AssumesOddValues.class), isSuccessful());
+        assertEquals(16, AssumesOddValues.runs.get());
+    }
+
+    @RunWith(Theories.class)
+    public static class NeverSatisfiesAssumptions {
+        @DataPoints
+        public static int[] ints = {1, 2, 3, 4, 5, 6, 7, 8};
+
+        @Theory(parallel = true)
+        public void nothingIsAccepted(int a, int b) {
+            assumeTrue(false);
+        }
+    }
+
+    @Test
+    public void failsIfNoCombinationSatisfiesAssumptions() {
+        assertThat(testResult(NeverSatisfiesAssumptions.class),
+                hasSingleFailureContaining("Never found parameters that satisfied method assumptions"));
+    }
+}
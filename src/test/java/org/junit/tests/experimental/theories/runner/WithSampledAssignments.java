@@ -0,0 +1,131 @@
+package org.junit.tests.experimental.theories.runner;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.experimental.results.PrintableResult.testResult;
+import static org.junit.experimental.results.ResultMatchers.hasSingleFailureContaining;
+import static org.junit.experimental.results.ResultMatchers.isSuccessful;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.experimental.theories.internal.ParameterizedAssertionError;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+
+public class WithSampledAssignments {
+    @RunWith(Theories.class)
+    public static class DrawsSamples {
+        static final List<String> combinations = new ArrayList<String>();
+
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        @Theory(samples = 50, seed = 42)
+        public void sampled(int a, int b, int c) {
+            combinations.add(a + "" + b + "" + c);
+        }
+    }
+
+    @Test
+    public void triesOnlyTheNumberOfSamples() {
+        DrawsSamples.combinations.clear();
+
+        assertThat(testResult(DrawsSamples.class), isSuccessful());
+        assertEquals(50, DrawsSamples.combinations.size());
+    }
+
+    @Test
+    public void drawsTheSameSamplesForTheSameSeed() {
+        DrawsSamples.combinations.clear();
+        JUnitCore.runClasses(DrawsSamples.class);
+        List<String> first = new ArrayList<String>(DrawsSamples.combinations);
+
+        DrawsSamples.combinations.clear();
+        JUnitCore.runClasses(DrawsSamples.class);
+
+        assertEquals(first, DrawsSamples.combinations);
+        assertTrue(new HashSet<String>(first).size() > 1);
+    }
+
+    @RunWith(Theories.class)
+    public static class FailsForSomeSample {
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        @Theory(samples = 1000, seed = 42)
+        public void sumIsNotZero(int a, int b) {
+            assertTrue(a + b != 0);
+        }
+    }
+
+    @Test
+    public void failureReportsSeed() {
+        Result result = JUnitCore.runClasses(FailsForSomeSample.class);
+
+        assertEquals(1, result.getFailureCount());
+        Throwable failure = result.getFailures().get(0).getException();
+        assertTrue(failure instanceof ParameterizedAssertionError);
+        assertEquals(Long.valueOf(42), ((ParameterizedAssertionError) failure).getSeed());
+        assertTrue(failure.getMessage().endsWith(" with seed 42"));
+    }
+
+    @RunWith(Theories.class)
+    public static class SamplesForLimitedTime {
+        static int runs = 0;
+
+        @DataPoints
+        public static int[] ints = {0, 1, 2, 3, 4, 5, 6, 7, 8, 9};
+
+        @Theory(sampleMillis = 100)
+        public void slow(int a, int b, int c) throws InterruptedException {
+            runs++;
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void stopsDrawingSamplesWhenTimeIsUp() {
+        SamplesForLimitedTime.runs = 0;
+
+        assertThat(testResult(SamplesForLimitedTime.class), isSuccessful());
+        assertTrue(SamplesForLimitedTime.runs > 0);
+        assertTrue(SamplesForLimitedTime.runs < 1000);
+    }
+
+    @RunWith(Theories.class)
+    public static class NegativeSamples {
+        @DataPoints
+        public static int[] ints = {0, 1};
+
+        @Theory(samples = -1)
+        public void sampled(int a) {
+        }
+    }
+
+    @Test
+    public void negativeNumberOfSamplesIsRejected() {
+        assertThat(testResult(NegativeSamples.class),
+                hasSingleFailureContaining("must not draw a negative number of samples"));
+    }
+
+    @RunWith(Theories.class)
+    public static class NoValues {
+        @Theory(samples = 10)
+        public void sampled(Object a) {
+        }
+    }
+
+    @Test
+    public void failsIfThereAreNoValuesToDraw() {
+        assertThat(testResult(NoValues.class).failureCount(), is(1));
+    }
+}
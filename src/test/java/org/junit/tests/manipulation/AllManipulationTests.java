@@ -10,6 +10,7 @@ import org.junit.runners.Suite.SuiteClasses;
         FilterTest.class,
         OrderableTest.class,
         OrderWithTest.class,
+        ShardingTest.class,
         SingleMethodTest.class,
         SortableTest.class
 })
@@ -1,10 +1,17 @@
 package org.junit.tests.manipulation;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
 
 import org.junit.Test;
 import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
 import org.junit.runner.manipulation.Filter;
 
 public class FilterTest {
@@ -47,4 +54,45 @@ public class FilterTest {
         assertSame(a, Filter.ALL.intersect(a));
         assertSame(Filter.ALL, Filter.ALL.intersect(Filter.ALL));
     }
+
+    public static class Example {
+        @Test
+        public void a() {
+        }
+
+        @Test
+        public void b() {
+        }
+
+        @Test
+        public void c() {
+        }
+    }
+
+    @Test
+    public void matchAnyOfRunsOnlySelectedTests() {
+        Filter filter = Filter.matchAnyOf(Arrays.asList(
+                Description.createTestDescription(Example.class, "a"),
+                Description.createTestDescription(Example.class, "c")));
+        Result result = new JUnitCore().run(Request.aClass(Example.class).filterWith(filter));
+        assertEquals(2, result.getRunCount());
+    }
+
+    @Test
+    public void matchAnyOfDecidesSuitesByTheirChildren() {
+        Description suite = Description.createSuiteDescription("suite");
+        suite.addChild(Description.createTestDescription(Example.class, "a"));
+        Filter filter = Filter.matchAnyOf(Arrays.asList(
+                Description.createTestDescription(Example.class, "b")));
+        assertFalse(filter.shouldRun(suite));
+        assertTrue(Filter.matchAnyOf(Arrays.asList(
+                Description.createTestDescription(Example.class, "a"))).shouldRun(suite));
+    }
+
+    @Test
+    public void matchMethodDescriptionText() {
+        Description method = Description.createTestDescription(Example.class, "a");
+        assertEquals("Method " + method.getDisplayName(),
+                Filter.matchMethodDescription(method).describe());
+    }
 }
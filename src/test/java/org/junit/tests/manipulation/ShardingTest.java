@@ -0,0 +1,131 @@
+package org.junit.tests.manipulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.JUnitCore;
+import org.junit.runner.Request;
+import org.junit.runner.Result;
+import org.junit.runner.RunWith;
+import org.junit.runner.manipulation.ShardStrategy;
+import org.junit.runner.notification.RunListener;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+public class ShardingTest {
+    public static class A {
+        @Test
+        public void a1() {
+        }
+
+        @Test
+        public void a2() {
+        }
+    }
+
+    public static class B {
+        @Test
+        public void b() {
+        }
+    }
+
+    public static class C {
+        @Test
+        public void c() {
+        }
+    }
+
+    @RunWith(Parameterized.class)
+    public static class P {
+        @Parameters
+        public static Object[] data() {
+            return new Object[] {1, 2};
+        }
+
+        public P(int value) {
+        }
+
+        @Test
+        public void p() {
+        }
+    }
+
+    private static final Class<?>[] CLASSES = {A.class, B.class, C.class, P.class};
+
+    private static List<Description> testsOfShard(int index, int total) {
+        final List<Description> tests = new ArrayList<Description>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                tests.add(description);
+            }
+        });
+        core.run(Request.classes(CLASSES).shard(index, total, ShardStrategy.byHash()));
+        return tests;
+    }
+
+    @Test
+    public void everyTestRunsInExactlyOneShard() {
+        Set<Description> all = new HashSet<Description>();
+        int runCount = 0;
+        for (int i = 0; i < 3; i++) {
+            List<Description> tests = testsOfShard(i, 3);
+            all.addAll(tests);
+            runCount += tests.size();
+        }
+        assertEquals(6, runCount);
+        assertEquals(6, all.size());
+    }
+
+    @Test
+    public void testsOfAClassRunInTheSameShard() {
+        for (int i = 0; i < 3; i++) {
+            int aTests = 0;
+            int pTests = 0;
+            for (Description each : testsOfShard(i, 3)) {
+                aTests += A.class.equals(each.getTestClass()) ? 1 : 0;
+                pTests += P.class.equals(each.getTestClass()) ? 1 : 0;
+            }
+            assertTrue(aTests == 0 || aTests == 2);
+            assertTrue(pTests == 0 || pTests == 2);
+        }
+    }
+
+    @Test
+    public void assignmentIsDeterministic() {
+        assertEquals(testsOfShard(1, 3), testsOfShard(1, 3));
+    }
+
+    @Test
+    public void emptyShardRunsNothing() {
+        Result result = new JUnitCore().run(
+                Request.aClass(B.class).shard(0, 1, ShardStrategy.byHash()));
+        assertEquals(1, result.getRunCount());
+        int runCount = 0;
+        for (int i = 0; i < 5; i++) {
+            result = new JUnitCore().run(Request.aClass(B.class).shard(i, 5, ShardStrategy.byHash()));
+            assertEquals(0, result.getFailureCount());
+            runCount += result.getRunCount();
+        }
+        assertEquals(1, runCount);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsIndexOutOfRange() {
+        Request.aClass(A.class).shard(2, 2, ShardStrategy.byHash());
+    }
+
+    @Test
+    public void filterDescribesShard() {
+        Description suite = Request.aClass(A.class).getRunner().getDescription();
+        assertEquals("shard 0/2", ShardStrategy.byHash().createFilter(suite, 0, 2).describe());
+    }
+}
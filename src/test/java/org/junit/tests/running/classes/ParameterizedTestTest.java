@@ -5,22 +5,30 @@ import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.junit.Assume.assumeFalse;
 import static org.junit.experimental.results.PrintableResult.testResult;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
+import org.junit.experimental.ParallelComputer;
 import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Request;
@@ -28,8 +36,11 @@ import org.junit.runner.Result;
 import org.junit.runner.RunWith;
 import org.junit.runner.Runner;
 import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
 import org.junit.runners.MethodSorters;
 import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.AfterParam;
+import org.junit.runners.Parameterized.BeforeParam;
 import org.junit.runners.Parameterized.Parameter;
 import org.junit.runners.Parameterized.Parameters;
 import org.junit.runners.Parameterized.UseParametersRunnerFactory;
@@ -806,4 +817,294 @@ public class ParameterizedTestTest {
         assertEquals(0, result.getIgnoreCount());
         assertEquals(0, result.getRunCount());
     }
+
+    @RunWith(Parameterized.class)
+    public static class StreamingParameters {
+        static int pulled;
+        static int tested;
+        static int maxPending;
+        static String log;
+
+        @Parameters(name = "{index}: {0}", streaming = true)
+        public static Iterator<Integer> data() {
+            return new Iterator<Integer>() {
+                public boolean hasNext() {
+                    return pulled < 1000;
+                }
+
+                public Integer next() {
+                    return pulled++;
+                }
+
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @BeforeClass
+        public static void before() {
+            log += "before ";
+        }
+
+        @AfterClass
+        public static void after() {
+            log += "after ";
+        }
+
+        @Parameter
+        public int row;
+
+        @Test
+        public void test() {
+            maxPending = Math.max(maxPending, pulled - tested);
+            assertEquals(tested++, row);
+        }
+
+        static void reset() {
+            pulled = 0;
+            tested = 0;
+            maxPending = 0;
+            log = "";
+        }
+    }
+
+    @Test
+    public void streamingPullsParametersWhenTheyAreTested() {
+        StreamingParameters.reset();
+        Result result = JUnitCore.runClasses(StreamingParameters.class);
+        assertTrue(result.wasSuccessful());
+        assertEquals(1000, result.getRunCount());
+        assertEquals(1, StreamingParameters.maxPending);
+        assertEquals("before after ", StreamingParameters.log);
+    }
+
+    @Test
+    public void streamingDoesNotCreateParametersBeforeRun() {
+        StreamingParameters.reset();
+        Runner runner = Request.aClass(StreamingParameters.class).getRunner();
+        assertEquals(0, runner.getDescription().getChildren().size());
+        assertEquals(0, StreamingParameters.pulled);
+    }
+
+    @Test
+    public void streamingAppliesFilterToEachSetOfParameters() {
+        StreamingParameters.reset();
+        Request request = Request.aClass(StreamingParameters.class).filterWith(
+                Description.createTestDescription(StreamingParameters.class, "test[7: 7]"));
+        Result result = new JUnitCore().run(request);
+        assertEquals(1, result.getRunCount());
+        assertEquals(1000, StreamingParameters.pulled);
+    }
+
+    @Test
+    public void streamingClassIsNotDescribedAsSingleTest() {
+        Description description = Request.aClass(StreamingParameters.class).getRunner()
+                .getDescription();
+        assertTrue(description.isSuite());
+        assertEquals(0, description.testCount());
+    }
+
+    @Test
+    public void streamingAppliesFilterOfEnclosingSuite() {
+        StreamingParameters.reset();
+        Request request = Request.classes(StreamingParameters.class).filterWith(
+                Description.createTestDescription(StreamingParameters.class, "test[7: 7]"));
+        final List<Description> started = new ArrayList<Description>();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                started.add(description);
+            }
+        });
+        core.run(request);
+        assertEquals(asList(Description.createTestDescription(StreamingParameters.class,
+                "test[7: 7]")), started);
+    }
+
+    @RunWith(Parameterized.class)
+    public static class AssumptionInStreamingParametersMethod {
+        @Parameters(streaming = true)
+        public static Iterable<String> data() {
+            assumeFalse(true);
+            return Collections.singletonList("foobar");
+        }
+
+        public AssumptionInStreamingParametersMethod(String parameter) {
+        }
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void streamingTestsAreNotExecutedWhenAssumptionInParametersMethodFails() {
+        Result result = JUnitCore.runClasses(AssumptionInStreamingParametersMethod.class);
+        assertTrue(result.wasSuccessful());
+        assertEquals(1, result.getAssumptionFailureCount());
+        assertEquals(0, result.getRunCount());
+    }
+
+    @RunWith(Parameterized.class)
+    @Parameterized.Parallel(threads = 4)
+    public static class ParallelParameters {
+        static final Map<Integer, Thread> beforeParamThreads = new ConcurrentHashMap<Integer, Thread>();
+        static final Map<Integer, Thread> afterParamThreads = new ConcurrentHashMap<Integer, Thread>();
+        static final Map<Integer, Thread> testThreads = new ConcurrentHashMap<Integer, Thread>();
+        static final AtomicInteger running = new AtomicInteger();
+        static final AtomicInteger maxRunning = new AtomicInteger();
+
+        @Parameters
+        public static Collection<Integer> data() {
+            List<Integer> rows = new ArrayList<Integer>();
+            for (int i = 0; i < 20; i++) {
+                rows.add(i);
+            }
+            return rows;
+        }
+
+        @BeforeParam
+        public static void beforeParam(int row) {
+            beforeParamThreads.put(row, Thread.currentThread());
+        }
+
+        @AfterParam
+        public static void afterParam(int row) {
+            afterParamThreads.put(row, Thread.currentThread());
+        }
+
+        @Parameter
+        public int row;
+
+        @Test
+        public void test() throws InterruptedException {
+            int now = running.incrementAndGet();
+            while (true) {
+                int max = maxRunning.get();
+                if (now <= max || maxRunning.compareAndSet(max, now)) {
+                    break;
+                }
+            }
+            testThreads.put(row, Thread.currentThread());
+            // later rows finish first
+            Thread.sleep(5 * (20 - row));
+            running.decrementAndGet();
+            fail("row " + row);
+        }
+    }
+
+    @Test
+    public void runsSetsOfParametersInParallelAndReportsThemInOrder() {
+        final List<String> started = Collections.synchronizedList(new ArrayList<String>());
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                started.add(description.getMethodName());
+            }
+        });
+        Result result = core.run(ParallelParameters.class);
+
+        assertEquals(20, result.getRunCount());
+        for (int i = 0; i < 20; i++) {
+            assertEquals("row " + i, result.getFailures().get(i).getMessage());
+            assertEquals("test[" + i + "]", started.get(i));
+            Thread thread = ParallelParameters.testThreads.get(i);
+            assertSame(thread, ParallelParameters.beforeParamThreads.get(i));
+            assertSame(thread, ParallelParameters.afterParamThreads.get(i));
+        }
+        assertTrue("max running " + ParallelParameters.maxRunning,
+                ParallelParameters.maxRunning.get() > 1 && ParallelParameters.maxRunning.get() <= 4);
+    }
+
+    @RunWith(Parameterized.class)
+    @Parameterized.Parallel(threads = 2)
+    public static class ManyParallelParameters {
+        @Parameters
+        public static Collection<Integer> data() {
+            List<Integer> rows = new ArrayList<Integer>();
+            for (int i = 0; i < 1000; i++) {
+                rows.add(i);
+            }
+            return rows;
+        }
+
+        @Parameter
+        public int row;
+
+        @Test
+        public void test() {
+        }
+    }
+
+    @Test
+    public void runsSetsOfParametersInParallelWithParallelScheduler() {
+        Result result = new JUnitCore().run(new ParallelComputer(false, true),
+                ManyParallelParameters.class);
+
+        assertTrue(result.wasSuccessful());
+        assertEquals(1000, result.getRunCount());
+    }
+
+    @RunWith(Parameterized.class)
+    @Parameterized.Parallel(threads = 3)
+    @FixMethodOrder(MethodSorters.NAME_ASCENDING)
+    public static class RowsThatProceedWhileListenerIsBusy {
+        static final CountDownLatch row1Done = new CountDownLatch(1);
+        static final CountDownLatch listenerBusy = new CountDownLatch(1);
+        static final CountDownLatch row2Proceeded = new CountDownLatch(1);
+
+        @Parameters
+        public static Collection<Integer> data() {
+            return asList(0, 1, 2);
+        }
+
+        @Parameter
+        public int row;
+
+        @Test
+        public void a() throws InterruptedException {
+            if (row == 0) {
+                // let row 1 finish first, so that its events are buffered
+                row1Done.await(5, TimeUnit.SECONDS);
+                Thread.sleep(50);
+            } else if (row == 2) {
+                listenerBusy.await(5, TimeUnit.SECONDS);
+            }
+        }
+
+        @Test
+        public void b() {
+            if (row == 1) {
+                row1Done.countDown();
+            } else if (row == 2) {
+                row2Proceeded.countDown();
+            }
+        }
+    }
+
+    @Test
+    public void rowsProceedWhileListenerIsBusy() {
+        final List<String> started = Collections.synchronizedList(new ArrayList<String>());
+        final AtomicBoolean row2ProceededWhileListenerWasBusy = new AtomicBoolean();
+        JUnitCore core = new JUnitCore();
+        core.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) throws InterruptedException {
+                started.add(description.getMethodName());
+                if (description.getMethodName().equals("a[1]")) {
+                    RowsThatProceedWhileListenerIsBusy.listenerBusy.countDown();
+                    row2ProceededWhileListenerWasBusy.set(
+                            RowsThatProceedWhileListenerIsBusy.row2Proceeded.await(5, TimeUnit.SECONDS));
+                }
+            }
+        });
+        Result result = core.run(RowsThatProceedWhileListenerIsBusy.class);
+
+        assertTrue(result.wasSuccessful());
+        assertTrue(row2ProceededWhileListenerWasBusy.get());
+        assertEquals(asList("a[0]", "b[0]", "a[1]", "b[1]", "a[2]", "b[2]"), started);
+    }
 }
@@ -4,7 +4,10 @@ import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
+import java.util.Collections;
 import java.util.List;
 
 import org.hamcrest.Matcher;
@@ -18,12 +21,14 @@ import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Request;
 import org.junit.runner.Result;
+import org.junit.runner.Runner;
 import org.junit.runner.manipulation.Filter;
 import org.junit.runner.notification.Failure;
 import org.junit.runner.notification.RunListener;
 import org.junit.runner.notification.RunNotifier;
 import org.junit.runners.BlockJUnit4ClassRunner;
 import org.junit.runners.ParentRunner;
+import org.junit.runners.Suite;
 import org.junit.runners.model.InitializationError;
 import org.junit.runners.model.RunnerScheduler;
 import org.junit.rules.RuleMemberValidatorTest.TestWithNonStaticClassRule;
@@ -76,6 +81,52 @@ public class ParentRunnerTest {
         assertEquals(1, result.getRunCount());
     }
 
+    @Test
+    public void descriptionIsCachedUntilChildrenChange() throws Exception {
+        ParentRunner<?> runner = new BlockJUnit4ClassRunner(ExampleTest.class);
+        Description description = runner.getDescription();
+        assertSame(description, runner.getDescription());
+        assertEquals(3, description.testCount());
+
+        runner.filter(new Exclude("test1"));
+        Description filtered = runner.getDescription();
+        assertNotSame(description, filtered);
+        assertEquals(2, filtered.testCount());
+        assertSame(filtered, runner.getDescription());
+    }
+
+    @Test
+    public void descriptionIsNotCachedWhenChildRunnerIsFilteredThroughSuite() throws Exception {
+        ParentRunner<?> child = new BlockJUnit4ClassRunner(ExampleTest.class);
+        ParentRunner<?> suite = new Suite((Class<?>) null,
+                Collections.<Runner>singletonList(child)) {
+        };
+        assertEquals(3, suite.getDescription().testCount());
+        assertEquals(3, child.getDescription().testCount());
+
+        suite.filter(new Exclude("test1"));
+        assertEquals(2, suite.getDescription().testCount());
+        assertEquals(2, child.getDescription().testCount());
+    }
+
+    @Test
+    public void descriptionIsCachedWhenOtherRunnerChanges() throws Exception {
+        ParentRunner<?> runner = new BlockJUnit4ClassRunner(ExampleTest.class);
+        ParentRunner<?> other = new BlockJUnit4ClassRunner(ExampleTest.class);
+        Description description = runner.getDescription();
+
+        other.filter(new Exclude("test1"));
+        assertSame(description, runner.getDescription());
+    }
+
+    @Test
+    public void childrenCanBeAddedToDescription() throws Exception {
+        ParentRunner<?> runner = new BlockJUnit4ClassRunner(ExampleTest.class);
+        Description description = runner.getDescription();
+        description.addChild(Description.createTestDescription(ExampleTest.class, "added"));
+        assertEquals(4, description.testCount());
+    }
+
     private Matcher<List<?>> isEmpty() {
         return new TypeSafeMatcher<List<?>>() {
             public void describeTo(org.hamcrest.Description description) {
@@ -98,7 +149,7 @@ public class ParentRunnerTest {
 
         @Override
         public boolean shouldRun(Description description) {
-            return !description.getMethodName().equals(methodName);
+            return !methodName.equals(description.getMethodName());
         }
 
         @Override